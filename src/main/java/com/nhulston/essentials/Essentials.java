@@ -3,7 +3,9 @@ package com.nhulston.essentials;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
 import com.hypixel.hytale.server.core.universe.world.events.AllWorldsLoadedEvent;
+import com.nhulston.essentials.commands.audit.AuditCommand;
 import com.nhulston.essentials.commands.back.BackCommand;
+import com.nhulston.essentials.commands.channel.ChannelCommand;
 import com.nhulston.essentials.commands.essentials.EssentialsCommand;
 import com.nhulston.essentials.commands.freecam.FreecamCommand;
 import com.nhulston.essentials.commands.god.GodCommand;
@@ -11,7 +13,10 @@ import com.nhulston.essentials.commands.heal.HealCommand;
 import com.nhulston.essentials.commands.home.DelHomeCommand;
 import com.nhulston.essentials.commands.home.HomeCommand;
 import com.nhulston.essentials.commands.home.SetHomeCommand;
+import com.nhulston.essentials.commands.ignore.IgnoreCommand;
+import com.nhulston.essentials.commands.mail.MailCommand;
 import com.nhulston.essentials.commands.kit.KitCommand;
+import com.nhulston.essentials.commands.language.LanguageCommand;
 import com.nhulston.essentials.commands.list.ListCommand;
 import com.nhulston.essentials.commands.msg.MsgCommand;
 import com.nhulston.essentials.commands.msg.ReplyCommand;
@@ -19,25 +24,34 @@ import com.nhulston.essentials.commands.repair.RepairCommand;
 import com.nhulston.essentials.commands.rtp.RtpCommand;
 import com.nhulston.essentials.commands.rules.RulesCommand;
 import com.nhulston.essentials.commands.shout.ShoutCommand;
+import com.nhulston.essentials.commands.socialspy.SocialSpyCommand;
 import com.nhulston.essentials.commands.top.TopCommand;
+import com.nhulston.essentials.commands.tphere.TpallCommand;
 import com.nhulston.essentials.commands.tphere.TphereCommand;
 import com.nhulston.essentials.commands.trash.TrashCommand;
 import com.nhulston.essentials.commands.spawn.SetSpawnCommand;
 import com.nhulston.essentials.commands.spawn.SpawnCommand;
 import com.nhulston.essentials.commands.tpa.TpaCommand;
+import com.nhulston.essentials.commands.tpa.TpacancelCommand;
 import com.nhulston.essentials.commands.tpa.TpacceptCommand;
+import com.nhulston.essentials.commands.tpa.TpahereCommand;
+import com.nhulston.essentials.commands.tpa.TpdenyCommand;
 import com.nhulston.essentials.commands.warp.DelWarpCommand;
 import com.nhulston.essentials.commands.warp.SetWarpCommand;
 import com.nhulston.essentials.commands.warp.WarpCommand;
+import com.nhulston.essentials.commands.warp.WarpallCommand;
 import com.nhulston.essentials.events.BuildProtectionEvent;
 import com.nhulston.essentials.events.ChatEvent;
 import com.nhulston.essentials.events.CreativeOnlyBreakingEvent;
 import com.nhulston.essentials.events.DeathLocationEvent;
 import com.nhulston.essentials.events.GameModeChangeEvent;
+import com.nhulston.essentials.events.HeightmapUpdateEvent;
 import com.nhulston.essentials.events.ItemPickupProtectionEvent;
 import com.nhulston.essentials.events.JoinLeaveEvent;
+import com.nhulston.essentials.events.MailNotifyEvent;
 import com.nhulston.essentials.events.MotdEvent;
 import com.nhulston.essentials.events.PlayerQuitEvent;
+import com.nhulston.essentials.events.PlayerTrackingEvent;
 import com.nhulston.essentials.events.SpawnProtectionEvent;
 import com.nhulston.essentials.events.SpawnRegionTitleEvent;
 import com.nhulston.essentials.events.SpawnTeleportEvent;
@@ -45,11 +59,26 @@ import com.nhulston.essentials.events.TeleportMovementEvent;
 import com.nhulston.essentials.events.SleepPercentageEvent;
 import com.nhulston.essentials.events.StarterKitEvent;
 import com.nhulston.essentials.events.UpdateNotifyEvent;
+import com.nhulston.essentials.managers.AnnouncementManager;
+import com.nhulston.essentials.managers.AuditJournal;
 import com.nhulston.essentials.managers.BackManager;
+import com.nhulston.essentials.managers.ChannelManager;
+import com.nhulston.essentials.managers.ChatFilterManager;
 import com.nhulston.essentials.managers.ChatManager;
+import com.nhulston.essentials.managers.ChatPipeline;
 import com.nhulston.essentials.managers.CreativeItemTracker;
+import com.nhulston.essentials.managers.FloodLimiter;
+import com.nhulston.essentials.managers.HeightmapCache;
 import com.nhulston.essentials.managers.HomeManager;
+import com.nhulston.essentials.managers.IgnoreManager;
+import com.nhulston.essentials.managers.MailManager;
+import com.nhulston.essentials.managers.SocialSpyManager;
 import com.nhulston.essentials.managers.KitManager;
+import com.nhulston.essentials.managers.MentionManager;
+import com.nhulston.essentials.managers.PlayerSpatialIndex;
+import com.nhulston.essentials.managers.RtpLocationPool;
+import com.nhulston.essentials.managers.RtpProber;
+import com.nhulston.essentials.managers.RtpQueue;
 import com.nhulston.essentials.managers.SpawnManager;
 import com.nhulston.essentials.managers.SpawnProtectionManager;
 import com.nhulston.essentials.managers.TeleportManager;
@@ -59,9 +88,12 @@ import com.nhulston.essentials.util.ConfigManager;
 import com.nhulston.essentials.util.Log;
 import com.nhulston.essentials.util.MessageManager;
 import com.nhulston.essentials.util.StorageManager;
+import com.nhulston.essentials.util.TimerWheel;
 import com.nhulston.essentials.util.VersionChecker;
 
 import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public class Essentials extends JavaPlugin {
     public static final String VERSION = "1.7.0";
@@ -74,7 +106,23 @@ public class Essentials extends JavaPlugin {
     private WarpManager warpManager;
     private SpawnManager spawnManager;
     private ChatManager chatManager;
+    private ChatPipeline chatPipeline;
+    private ChatFilterManager chatFilterManager;
+    private FloodLimiter floodLimiter;
+    private PlayerSpatialIndex spatialIndex;
+    private ChannelManager channelManager;
+    private MentionManager mentionManager;
+    private AuditJournal auditJournal;
+    private IgnoreManager ignoreManager;
+    private MailManager mailManager;
+    private SocialSpyManager socialSpyManager;
+    private AnnouncementManager announcementManager;
     private SpawnProtectionManager spawnProtectionManager;
+    private TimerWheel timerWheel;
+    private HeightmapCache heightmapCache;
+    private RtpLocationPool rtpLocationPool;
+    private RtpProber rtpProber;
+    private RtpQueue rtpQueue;
     private TpaManager tpaManager;
     private TeleportManager teleportManager;
     private KitManager kitManager;
@@ -93,21 +141,67 @@ public class Essentials extends JavaPlugin {
         Log.init(getLogger());
         Log.info("Essentials is starting...");
 
-        configManager = new ConfigManager(getDataDirectory());
-        messageManager = new MessageManager(getDataDirectory());
-        storageManager = new StorageManager(getDataDirectory());
+        long setupStart = System.nanoTime();
+
+        // Config, messages and storage only touch their own files, so load them in parallel.
+        // Kits read player data for cooldowns and are chained after storage.
+        CompletableFuture<ConfigManager> configFuture =
+                CompletableFuture.supplyAsync(() -> timed("config", () -> new ConfigManager(getDataDirectory())));
+        CompletableFuture<MessageManager> messagesFuture =
+                CompletableFuture.supplyAsync(() -> timed("messages", () -> new MessageManager(getDataDirectory())));
+        CompletableFuture<StorageManager> storageFuture =
+                CompletableFuture.supplyAsync(() -> timed("storage", () -> new StorageManager(getDataDirectory())));
+        CompletableFuture<KitManager> kitsFuture = storageFuture.thenApplyAsync(
+                storage -> timed("kits", () -> new KitManager(getDataDirectory(), storage)));
+
+        configManager = configFuture.join();
+        messageManager = messagesFuture.join();
+        storageManager = storageFuture.join();
+        kitManager = kitsFuture.join();
+
+        // Players' saved languages live in their player data
+        messageManager.setLanguageSource(uuid -> storageManager.getPlayerData(uuid).getLanguage());
 
         homeManager = new HomeManager(storageManager, configManager);
         warpManager = new WarpManager(storageManager);
         spawnManager = new SpawnManager(storageManager);
+        auditJournal = new AuditJournal(getDataDirectory(), configManager);
         chatManager = new ChatManager(configManager);
+        chatFilterManager = new ChatFilterManager(getDataDirectory());
+        spatialIndex = new PlayerSpatialIndex();
+        channelManager = new ChannelManager(configManager, spatialIndex);
+        chatPipeline = new ChatPipeline(chatManager, chatFilterManager, channelManager, auditJournal);
+        mentionManager = new MentionManager(configManager, chatManager);
+        chatPipeline.addView(mentionManager);
+        ignoreManager = new IgnoreManager(storageManager);
+        chatPipeline.addFilter(ignoreManager);
+        mailManager = new MailManager(getDataDirectory(), configManager);
+        socialSpyManager = new SocialSpyManager(messageManager);
+        announcementManager = new AnnouncementManager(configManager, spatialIndex);
+        floodLimiter = new FloodLimiter(configManager);
         spawnProtectionManager = new SpawnProtectionManager(configManager, storageManager);
-        tpaManager = new TpaManager(configManager);
-        teleportManager = new TeleportManager(configManager);
-        kitManager = new KitManager(getDataDirectory(), storageManager);
+        timerWheel = new TimerWheel();
+        heightmapCache = new HeightmapCache();
+        rtpLocationPool = new RtpLocationPool(configManager);
+        rtpProber = new RtpProber(configManager);
+        rtpQueue = new RtpQueue(configManager, rtpProber, timerWheel);
+        tpaManager = new TpaManager(configManager, timerWheel);
+        teleportManager = new TeleportManager(configManager, auditJournal, timerWheel);
         backManager = new BackManager();
         creativeItemTracker = new CreativeItemTracker();
         versionChecker = new VersionChecker(VERSION);
+
+        Log.info("Setup finished in " + (System.nanoTime() - setupStart) / 1_000_000 + "ms");
+    }
+
+    /**
+     * Runs a startup phase and logs how long it took.
+     */
+    private static <T> T timed(@Nonnull String phase, @Nonnull Supplier<T> task) {
+        long start = System.nanoTime();
+        T result = task.get();
+        Log.info("Loaded " + phase + " in " + (System.nanoTime() - start) / 1_000_000 + "ms");
+        return result;
     }
 
     @Override
@@ -137,6 +231,32 @@ public class Essentials extends JavaPlugin {
             teleportManager.shutdown();
         }
 
+        // After the managers that schedule on it
+        if (timerWheel != null) {
+            timerWheel.shutdown();
+        }
+
+        if (chatPipeline != null) {
+            chatPipeline.shutdown();
+        }
+
+        if (announcementManager != null) {
+            announcementManager.shutdown();
+        }
+
+        if (rtpLocationPool != null) {
+            rtpLocationPool.shutdown();
+        }
+
+        if (mailManager != null) {
+            mailManager.shutdown();
+        }
+
+        // After the chat pipeline, so its last messages are still journaled
+        if (auditJournal != null) {
+            auditJournal.shutdown();
+        }
+
         Log.info("Essentials shut down.");
     }
 
@@ -149,6 +269,7 @@ public class Essentials extends JavaPlugin {
         // Warp commands
         getCommandRegistry().registerCommand(new SetWarpCommand(warpManager));
         getCommandRegistry().registerCommand(new WarpCommand(warpManager, teleportManager, backManager));
+        getCommandRegistry().registerCommand(new WarpallCommand(warpManager, backManager));
         getCommandRegistry().registerCommand(new DelWarpCommand(warpManager));
 
         // Spawn commands
@@ -156,8 +277,11 @@ public class Essentials extends JavaPlugin {
         getCommandRegistry().registerCommand(new SpawnCommand(spawnManager, teleportManager, backManager, creativeItemTracker));
 
         // TPA commands
-        getCommandRegistry().registerCommand(new TpaCommand(tpaManager));
+        getCommandRegistry().registerCommand(new TpaCommand(tpaManager, ignoreManager));
+        getCommandRegistry().registerCommand(new TpahereCommand(tpaManager, ignoreManager));
         getCommandRegistry().registerCommand(new TpacceptCommand(tpaManager, teleportManager, backManager));
+        getCommandRegistry().registerCommand(new TpdenyCommand(tpaManager));
+        getCommandRegistry().registerCommand(new TpacancelCommand(tpaManager));
 
         // Kit command
         getCommandRegistry().registerCommand(new KitCommand(kitManager, configManager));
@@ -166,7 +290,7 @@ public class Essentials extends JavaPlugin {
         getCommandRegistry().registerCommand(new BackCommand(backManager, teleportManager));
 
         // RTP command
-        getCommandRegistry().registerCommand(new RtpCommand(configManager, storageManager, teleportManager, backManager));
+        getCommandRegistry().registerCommand(new RtpCommand(configManager, storageManager, teleportManager, backManager, rtpLocationPool, rtpQueue));
 
         // List command
         getCommandRegistry().registerCommand(new ListCommand());
@@ -181,22 +305,41 @@ public class Essentials extends JavaPlugin {
         getCommandRegistry().registerCommand(new GodCommand());
 
         // Msg command (with aliases: m, message, whisper, pm)
-        getCommandRegistry().registerCommand(new MsgCommand());
+        getCommandRegistry().registerCommand(new MsgCommand(floodLimiter));
+
+        // Channel command (with alias: ch)
+        getCommandRegistry().registerCommand(new ChannelCommand(channelManager));
 
         // Reply command (with alias: reply)
-        getCommandRegistry().registerCommand(new ReplyCommand());
+        getCommandRegistry().registerCommand(new ReplyCommand(floodLimiter));
 
         // Tphere command
         getCommandRegistry().registerCommand(new TphereCommand());
+        getCommandRegistry().registerCommand(new TpallCommand(backManager));
 
         // Top command
-        getCommandRegistry().registerCommand(new TopCommand());
+        getCommandRegistry().registerCommand(new TopCommand(heightmapCache));
 
         // Essentials info command
         getCommandRegistry().registerCommand(new EssentialsCommand());
 
         // Shout/broadcast command
-        getCommandRegistry().registerCommand(new ShoutCommand(configManager));
+        getCommandRegistry().registerCommand(new ShoutCommand(configManager, floodLimiter, auditJournal, ignoreManager));
+
+        // Ignore command (with alias: unignore)
+        getCommandRegistry().registerCommand(new IgnoreCommand(ignoreManager, storageManager));
+
+        // Social spy command
+        getCommandRegistry().registerCommand(new SocialSpyCommand(socialSpyManager));
+
+        // Language command (with alias: lang)
+        getCommandRegistry().registerCommand(new LanguageCommand(storageManager));
+
+        // Mail command
+        getCommandRegistry().registerCommand(new MailCommand(mailManager, storageManager, floodLimiter));
+
+        // Audit journal search
+        getCommandRegistry().registerCommand(new AuditCommand(auditJournal, configManager, storageManager));
 
         // Repair command
         getCommandRegistry().registerCommand(new RepairCommand(configManager, storageManager));
@@ -209,25 +352,35 @@ public class Essentials extends JavaPlugin {
     }
 
     private void registerEvents() {
-        new ChatEvent(chatManager).register(getEventRegistry());
+        new ChatEvent(chatManager, chatPipeline, floodLimiter, channelManager, mentionManager, ignoreManager)
+                .register(getEventRegistry());
         new BuildProtectionEvent(configManager).register(getEntityStoreRegistry());
         new CreativeOnlyBreakingEvent(configManager).register(getEntityStoreRegistry());
         new ItemPickupProtectionEvent(configManager).register(getEntityStoreRegistry());
         new SpawnProtectionEvent(spawnProtectionManager).register(getEntityStoreRegistry());
         new SpawnRegionTitleEvent(spawnProtectionManager, configManager).register(getEntityStoreRegistry());
         new TeleportMovementEvent(teleportManager).register(getEntityStoreRegistry());
+        new HeightmapUpdateEvent(heightmapCache).register(getEntityStoreRegistry());
         new GameModeChangeEvent(creativeItemTracker).register(getEntityStoreRegistry());
 
         SpawnTeleportEvent spawnTeleportEvent = new SpawnTeleportEvent(spawnManager, configManager, storageManager);
         spawnTeleportEvent.registerEvents(getEventRegistry());
         spawnTeleportEvent.registerSystems(getEntityStoreRegistry());
 
+        // Player positions for local chat
+        PlayerTrackingEvent playerTrackingEvent = new PlayerTrackingEvent(spatialIndex);
+        playerTrackingEvent.registerEvents(getEventRegistry());
+        playerTrackingEvent.registerSystems(getEntityStoreRegistry());
+
         // Death location tracking for /back
         new DeathLocationEvent(backManager).register(getEntityStoreRegistry());
 
         // MOTD on join
         new MotdEvent(configManager).register(getEventRegistry());
 
+        // Unread mail notification on join
+        new MailNotifyEvent(mailManager, messageManager).register(getEventRegistry());
+
         // Join/leave broadcast messages
         new JoinLeaveEvent(configManager, storageManager).register(getEventRegistry());
 
@@ -238,10 +391,12 @@ public class Essentials extends JavaPlugin {
         new StarterKitEvent(kitManager, configManager, storageManager).register(getEventRegistry());
 
         // Sleep percentage system
-        new SleepPercentageEvent(configManager, messageManager).register(getEntityStoreRegistry());
+        new SleepPercentageEvent(configManager, messageManager, spatialIndex).register(getEntityStoreRegistry());
 
         // Player disconnect cleanup
-        new PlayerQuitEvent(storageManager, tpaManager, teleportManager, backManager, creativeItemTracker).register(getEventRegistry());
+        new PlayerQuitEvent(storageManager, tpaManager, teleportManager, backManager, creativeItemTracker,
+                chatManager, floodLimiter, channelManager, mentionManager, ignoreManager, socialSpyManager,
+                messageManager, rtpQueue).register(getEventRegistry());
 
         // Sync spawn provider with world config after all worlds are loaded
         // This updates the spawn marker on the map
@@ -265,6 +420,13 @@ public class Essentials extends JavaPlugin {
         configManager.reload();
         messageManager.reload();
         kitManager.reload();
+        chatManager.invalidateAll();
+        floodLimiter.reload();
+        chatFilterManager.reload();
+        channelManager.reload();
+        mentionManager.reload();
+        announcementManager.reload();
+        rtpLocationPool.reload();
         Log.info("All configurations reloaded.");
     }
 
@@ -284,6 +446,54 @@ public class Essentials extends JavaPlugin {
         return storageManager;
     }
 
+    /**
+     * Gets the ignore manager.
+     */
+    @Nonnull
+    public IgnoreManager getIgnoreManager() {
+        return ignoreManager;
+    }
+
+    /**
+     * Gets the social spy manager.
+     */
+    @Nonnull
+    public SocialSpyManager getSocialSpyManager() {
+        return socialSpyManager;
+    }
+
+    /**
+     * Gets the audit journal.
+     */
+    @Nonnull
+    public AuditJournal getAuditJournal() {
+        return auditJournal;
+    }
+
+    /**
+     * Gets the chat filter manager.
+     */
+    @Nonnull
+    public ChatFilterManager getChatFilterManager() {
+        return chatFilterManager;
+    }
+
+    /**
+     * Gets the timer wheel shared by the plugin's short timers.
+     */
+    @Nonnull
+    public TimerWheel getTimerWheel() {
+        return timerWheel;
+    }
+
+    /**
+     * Gets the per-world surface heightmap cache.
+     */
+    @Nonnull
+    public HeightmapCache getHeightmapCache() {
+        return heightmapCache;
+    }
+
     /**
      * Gets the config manager.
      */
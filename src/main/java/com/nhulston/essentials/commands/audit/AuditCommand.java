@@ -0,0 +1,116 @@
+package com.nhulston.essentials.commands.audit;
+
+import com.hypixel.hytale.server.core.command.system.AbstractCommand;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.managers.AuditJournal;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.MessageManager;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.StorageManager;
+
+import javax.annotation.Nonnull;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command to search the audit journal.
+ * Usage: /audit <player|*> [hours]
+ * Can be executed by console or players.
+ */
+public class AuditCommand extends AbstractCommand {
+    private static final int DEFAULT_HOURS = 24;
+    private static final int MAX_RESULTS = 20;
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private final AuditJournal auditJournal;
+    private final ConfigManager configManager;
+    private final StorageManager storageManager;
+    private final MessageManager messages;
+
+    public AuditCommand(@Nonnull AuditJournal auditJournal, @Nonnull ConfigManager configManager,
+                        @Nonnull StorageManager storageManager) {
+        super("audit", "Search the chat, message and teleport audit log");
+        this.auditJournal = auditJournal;
+        this.configManager = configManager;
+        this.storageManager = storageManager;
+        this.messages = Essentials.getInstance().getMessageManager();
+
+        requirePermission("essentials.audit");
+
+        // Allow extra arguments since we parse them manually
+        setAllowsExtraArguments(true);
+    }
+
+    @Override
+    protected CompletableFuture<Void> execute(@Nonnull CommandContext context) {
+        if (!configManager.isAuditEnabled()) {
+            Msg.send(context, messages.get(context, "commands.audit.disabled"));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Parse from raw input: "/audit <player|*> [hours]"
+        String[] parts = context.getInputString().trim().split("\\s+");
+        if (parts.length < 2) {
+            Msg.send(context, messages.get(context, "commands.audit.usage"));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String playerName = parts[1];
+        UUID playerUuid = null;
+        if (!playerName.equals("*")) {
+            playerUuid = storageManager.getUuidByUsername(playerName);
+            if (playerUuid == null) {
+                Msg.send(context, messages.get(context, "commands.audit.player-not-found", Map.of("player", playerName)));
+                return CompletableFuture.completedFuture(null);
+            }
+        }
+
+        int hours = DEFAULT_HOURS;
+        if (parts.length >= 3) {
+            try {
+                hours = Integer.parseInt(parts[2]);
+            } catch (NumberFormatException e) {
+                hours = -1;
+            }
+            if (hours <= 0) {
+                Msg.send(context, messages.get(context, "commands.audit.usage"));
+                return CompletableFuture.completedFuture(null);
+            }
+        }
+
+        long to = System.currentTimeMillis();
+        long from = to - TimeUnit.HOURS.toMillis(hours);
+        UUID filter = playerUuid;
+        String hoursText = String.valueOf(hours);
+
+        // Reading segment files can take a while, keep it off the calling thread
+        return CompletableFuture.runAsync(() -> {
+            List<AuditJournal.Entry> entries = auditJournal.query(filter, from, to, MAX_RESULTS);
+            if (entries.isEmpty()) {
+                Msg.send(context, messages.get(context, "commands.audit.none",
+                        Map.of("player", playerName, "hours", hoursText)));
+                return;
+            }
+
+            Msg.send(context, messages.get(context, "commands.audit.header",
+                    Map.of("player", playerName, "hours", hoursText, "count", String.valueOf(entries.size()))));
+            for (AuditJournal.Entry entry : entries) {
+                String target = entry.targetName() != null ? " -> " + entry.targetName() : "";
+                Msg.send(context, messages.get(context, "commands.audit.entry", Map.of(
+                        "time", TIME_FORMAT.format(Instant.ofEpochMilli(entry.timestamp())),
+                        "type", entry.type().name(),
+                        "actor", entry.actorName(),
+                        "target", target,
+                        "detail", entry.detail())));
+            }
+        });
+    }
+}
@@ -42,7 +42,7 @@ public class BackCommand extends AbstractPlayerCommand {
         BackManager.BackLocation backLocation = backManager.getBackLocation(playerUuid);
 
         if (backLocation == null) {
-            Msg.send(context, messages.get("commands.back.no-location"));
+            Msg.send(context, messages.get(context, "commands.back.no-location"));
             return;
         }
 
@@ -63,7 +63,7 @@ public class BackCommand extends AbstractPlayerCommand {
             backLocation.getZ(),
             backLocation.getYaw(),
             backLocation.getPitch(),
-            messages.get("commands.back.teleported"),
+            messages.get(playerRef, "commands.back.teleported"),
             () -> backManager.clearBackLocation(playerUuid)
         );
     }
@@ -0,0 +1,90 @@
+package com.nhulston.essentials.commands.channel;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.managers.ChannelManager;
+import com.nhulston.essentials.managers.ChannelManager.Channel;
+import com.nhulston.essentials.util.MessageManager;
+import com.nhulston.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Command to show or switch the chat channel you talk in.
+ * Usage: /channel [global|local|world|staff]
+ * Aliases: /ch
+ */
+public class ChannelCommand extends AbstractPlayerCommand {
+    private final ChannelManager channelManager;
+    private final MessageManager messages;
+
+    public ChannelCommand(@Nonnull ChannelManager channelManager) {
+        super("channel", "Show or switch your chat channel");
+        this.channelManager = channelManager;
+        this.messages = Essentials.getInstance().getMessageManager();
+
+        // Channel name is optional, parsed from raw input
+        setAllowsExtraArguments(true);
+
+        addAliases("ch");
+        requirePermission("essentials.channel");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        if (!channelManager.isEnabled()) {
+            Msg.send(context, messages.get(context, "commands.channel.disabled"));
+            return;
+        }
+
+        UUID playerUuid = playerRef.getUuid();
+        String available = String.join(", ", getAvailableChannels(playerUuid));
+
+        // Parse from raw input: "/channel [name]"
+        String[] parts = context.getInputString().trim().split("\\s+");
+        if (parts.length < 2) {
+            Msg.send(context, messages.get(context, "commands.channel.current", Map.of(
+                    "channel", channelManager.getChannel(playerUuid).id(),
+                    "channels", available)));
+            return;
+        }
+
+        Channel channel = Channel.fromId(parts[1]);
+        if (channel == null) {
+            Msg.send(context, messages.get(context, "commands.channel.unknown", Map.of(
+                    "channel", parts[1],
+                    "channels", available)));
+            return;
+        }
+
+        if (!channelManager.canUse(playerUuid, channel)) {
+            Msg.send(context, messages.get(context, "commands.channel.no-permission", Map.of("channel", channel.id())));
+            return;
+        }
+
+        channelManager.setChannel(playerUuid, channel);
+        Msg.send(context, messages.get(context, "commands.channel.switched", Map.of("channel", channel.id())));
+    }
+
+    @Nonnull
+    private List<String> getAvailableChannels(@Nonnull UUID playerUuid) {
+        List<String> available = new ArrayList<>();
+        for (Channel channel : Channel.values()) {
+            if (channelManager.canUse(playerUuid, channel)) {
+                available.add(channel.id());
+            }
+        }
+        return available;
+    }
+}
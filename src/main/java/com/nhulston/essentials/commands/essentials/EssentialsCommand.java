@@ -13,6 +13,7 @@ import java.util.concurrent.CompletableFuture;
  * Main essentials command.
  * Usage: /essentials - Shows version info with clickable link
  * Usage: /essentials reload - Reloads configuration (requires essentials.reload permission)
+ * Usage: /essentials stats - Shows runtime metrics (requires essentials.stats permission)
  * Can be executed by console or players.
  */
 public class EssentialsCommand extends AbstractCommand {
@@ -27,6 +28,9 @@ public class EssentialsCommand extends AbstractCommand {
 
         // Add reload subcommand
         addSubCommand(new EssentialsReloadCommand());
+
+        // Add stats subcommand
+        addSubCommand(new EssentialsStatsCommand());
     }
 
     @Override
@@ -0,0 +1,44 @@
+package com.nhulston.essentials.commands.essentials;
+
+import com.hypixel.hytale.server.core.command.system.AbstractCommand;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.util.Diagnostics;
+import com.nhulston.essentials.util.MessageManager;
+import com.nhulston.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Subcommand to show EssentialsCore runtime metrics.
+ * Usage: /essentials stats
+ * Requires: essentials.stats permission
+ * Can be executed by console or players.
+ */
+public class EssentialsStatsCommand extends AbstractCommand {
+
+    public EssentialsStatsCommand() {
+        super("stats", "Show EssentialsCore runtime metrics");
+        requirePermission("essentials.stats");
+    }
+
+    @Override
+    protected CompletableFuture<Void> execute(@Nonnull CommandContext context) {
+        MessageManager messages = Essentials.getInstance().getMessageManager();
+        Map<String, String> stats = Diagnostics.snapshot();
+
+        if (stats.isEmpty()) {
+            Msg.send(context, messages.get(context, "commands.essentials.stats.empty"));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Msg.send(context, messages.get(context, "commands.essentials.stats.header"));
+        for (Map.Entry<String, String> entry : stats.entrySet()) {
+            Msg.send(context, messages.get(context, "commands.essentials.stats.entry",
+                    Map.of("name", entry.getKey(), "value", entry.getValue())));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -44,10 +44,10 @@ public class FreecamCommand extends AbstractPlayerCommand {
 
         if (enabling) {
             freecamPlayers.add(uuid);
-            Msg.send(context, messages.get("commands.freecam.enabled"));
+            Msg.send(context, messages.get(context, "commands.freecam.enabled"));
         } else {
             freecamPlayers.remove(uuid);
-            Msg.send(context, messages.get("commands.freecam.disabled"));
+            Msg.send(context, messages.get(context, "commands.freecam.disabled"));
         }
     }
 
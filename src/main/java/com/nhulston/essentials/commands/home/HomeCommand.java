@@ -51,7 +51,7 @@ public class HomeCommand extends AbstractPlayerCommand {
         Map<String, Home> homes = homeManager.getHomes(playerUuid);
 
         if (homes.isEmpty()) {
-            Msg.send(context, messages.get("commands.home.no-homes"));
+            Msg.send(context, messages.get(context, "commands.home.no-homes"));
             return;
         }
 
@@ -59,7 +59,7 @@ public class HomeCommand extends AbstractPlayerCommand {
             String homeName = homes.keySet().iterator().next();
             doTeleportToHome(context, store, ref, playerRef, currentWorld, homeName, homeManager, teleportManager, backManager, messages);
         } else {
-            Msg.send(context, messages.get("commands.home.list-prefix") + ": " + String.join(", ", homes.keySet()));
+            Msg.send(context, messages.get(context, "commands.home.list-prefix") + ": " + String.join(", ", homes.keySet()));
         }
     }
 
@@ -70,7 +70,7 @@ public class HomeCommand extends AbstractPlayerCommand {
                                  @Nonnull BackManager backManager, @Nonnull MessageManager messages) {
         Home home = homeManager.getHome(playerRef.getUuid(), homeName);
         if (home == null) {
-            Msg.send(context, messages.get("commands.home.not-found", Map.of("home", homeName)));
+            Msg.send(context, messages.get(context, "commands.home.not-found", Map.of("home", homeName)));
             return;
         }
 
@@ -86,7 +86,7 @@ public class HomeCommand extends AbstractPlayerCommand {
         teleportManager.queueTeleport(
             playerRef, ref, store, startPosition,
             home.getWorld(), home.getX(), home.getY(), home.getZ(), home.getYaw(), home.getPitch(),
-            messages.get("commands.home.teleported", Map.of("home", homeName))
+            messages.get(playerRef, "commands.home.teleported", Map.of("home", homeName))
         );
     }
 
@@ -144,7 +144,7 @@ public class HomeCommand extends AbstractPlayerCommand {
                                            @Nonnull MessageManager messages, @Nonnull StorageManager storageManager) {
             // Check permission
             if (!PermissionsModule.get().hasPermission(playerRef.getUuid(), OTHERS_PERMISSION)) {
-                Msg.send(context, messages.get("no-permission"));
+                Msg.send(context, messages.get(context, "no-permission"));
                 return;
             }
             
@@ -154,14 +154,14 @@ public class HomeCommand extends AbstractPlayerCommand {
             String homeName = parts.length > 1 ? parts[1] : "";
             
             if (targetName.isEmpty()) {
-                Msg.send(context, messages.get("commands.home.player-not-found", Map.of("player", "")));
+                Msg.send(context, messages.get(context, "commands.home.player-not-found", Map.of("player", "")));
                 return;
             }
             
             // Look up target player UUID
             UUID targetUuid = storageManager.getUuidByUsername(targetName);
             if (targetUuid == null) {
-                Msg.send(context, messages.get("commands.home.player-not-found", Map.of("player", targetName)));
+                Msg.send(context, messages.get(context, "commands.home.player-not-found", Map.of("player", targetName)));
                 return;
             }
             
@@ -174,7 +174,7 @@ public class HomeCommand extends AbstractPlayerCommand {
             // Get the home
             Home home = homeManager.getHome(targetUuid, homeName);
             if (home == null) {
-                Msg.send(context, messages.get("commands.home.other-not-found", 
+                Msg.send(context, messages.get(context, "commands.home.other-not-found", 
                     Map.of("player", targetName, "home", homeName)));
                 return;
             }
@@ -191,7 +191,7 @@ public class HomeCommand extends AbstractPlayerCommand {
             teleportManager.queueTeleport(
                 playerRef, ref, store, startPosition,
                 home.getWorld(), home.getX(), home.getY(), home.getZ(), home.getYaw(), home.getPitch(),
-                messages.get("commands.home.other-teleported", Map.of("player", targetName, "home", homeName))
+                messages.get(playerRef, "commands.home.other-teleported", Map.of("player", targetName, "home", homeName))
             );
         }
         
@@ -200,11 +200,11 @@ public class HomeCommand extends AbstractPlayerCommand {
             Map<String, Home> homes = homeManager.getHomes(targetUuid);
             
             if (homes.isEmpty()) {
-                Msg.send(context, messages.get("commands.home.other-no-homes", Map.of("player", targetName)));
+                Msg.send(context, messages.get(context, "commands.home.other-no-homes", Map.of("player", targetName)));
                 return;
             }
             
-            Msg.send(context, messages.get("commands.home.other-list-prefix", Map.of("player", targetName)) 
+            Msg.send(context, messages.get(context, "commands.home.other-list-prefix", Map.of("player", targetName)) 
                 + ": " + String.join(", ", homes.keySet()));
         }
     }
@@ -0,0 +1,98 @@
+package com.nhulston.essentials.commands.ignore;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.commands.msg.MsgCommand;
+import com.nhulston.essentials.managers.IgnoreManager;
+import com.nhulston.essentials.util.MessageManager;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.StorageManager;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Command to ignore or stop ignoring a player's chat, messages, teleport requests and shouts.
+ * Usage: /ignore [player]
+ * Without a player, lists ignored players.
+ */
+public class IgnoreCommand extends AbstractPlayerCommand {
+    private final IgnoreManager ignoreManager;
+    private final StorageManager storageManager;
+    private final MessageManager messages;
+
+    public IgnoreCommand(@Nonnull IgnoreManager ignoreManager, @Nonnull StorageManager storageManager) {
+        super("ignore", "Ignore or stop ignoring a player");
+        this.ignoreManager = ignoreManager;
+        this.storageManager = storageManager;
+        this.messages = Essentials.getInstance().getMessageManager();
+
+        // Player name is optional, parsed from raw input
+        setAllowsExtraArguments(true);
+
+        addAliases("unignore");
+        requirePermission("essentials.ignore");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        UUID playerUuid = playerRef.getUuid();
+
+        // Parse from raw input: "/ignore [player]"
+        String[] parts = context.getInputString().trim().split("\\s+");
+        if (parts.length < 2) {
+            List<String> ignored = ignoreManager.getIgnoredNames(playerUuid);
+            if (ignored.isEmpty()) {
+                Msg.send(context, messages.get(context, "commands.ignore.none"));
+            } else {
+                Msg.send(context, messages.get(context, "commands.ignore.list",
+                        Map.of("players", String.join(", ", ignored))));
+            }
+            return;
+        }
+
+        // Online players first for the exact name, then anyone who has joined before
+        String targetName = parts[1];
+        UUID targetUuid;
+        PlayerRef target = MsgCommand.findPlayer(targetName);
+        if (target != null) {
+            targetUuid = target.getUuid();
+            targetName = target.getUsername();
+        } else {
+            targetUuid = storageManager.getUuidByUsername(targetName);
+        }
+
+        if (targetUuid == null) {
+            Msg.send(context, messages.get(context, "commands.ignore.player-not-found", Map.of("player", targetName)));
+            return;
+        }
+
+        if (targetUuid.equals(playerUuid)) {
+            Msg.send(context, messages.get(context, "commands.ignore.cannot-self"));
+            return;
+        }
+
+        if (ignoreManager.isIgnoring(playerUuid, targetUuid)) {
+            ignoreManager.unignore(playerUuid, targetUuid);
+            Msg.send(context, messages.get(context, "commands.ignore.removed", Map.of("player", targetName)));
+            return;
+        }
+
+        if (ignoreManager.isExempt(targetUuid)) {
+            Msg.send(context, messages.get(context, "commands.ignore.exempt", Map.of("player", targetName)));
+            return;
+        }
+
+        ignoreManager.ignore(playerUuid, targetUuid, targetName);
+        Msg.send(context, messages.get(context, "commands.ignore.added", Map.of("player", targetName)));
+    }
+}
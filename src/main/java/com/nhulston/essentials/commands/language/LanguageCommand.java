@@ -0,0 +1,81 @@
+package com.nhulston.essentials.commands.language;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.models.PlayerData;
+import com.nhulston.essentials.util.MessageManager;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.StorageManager;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Command to choose the language of Essentials messages.
+ * Usage: /language [language|default]
+ * Without a language, shows the current one and the ones available.
+ */
+public class LanguageCommand extends AbstractPlayerCommand {
+    private static final String DEFAULT = "default";
+
+    private final StorageManager storageManager;
+    private final MessageManager messages;
+
+    public LanguageCommand(@Nonnull StorageManager storageManager) {
+        super("language", "Choose your message language");
+        this.storageManager = storageManager;
+        this.messages = Essentials.getInstance().getMessageManager();
+
+        // Language is optional, parsed from raw input
+        setAllowsExtraArguments(true);
+
+        addAliases("lang");
+        requirePermission("essentials.language");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        UUID playerUuid = playerRef.getUuid();
+        PlayerData data = storageManager.getPlayerData(playerUuid);
+        Set<String> available = messages.getAvailableLanguages();
+
+        // Parse from raw input: "/language [language]"
+        String[] parts = context.getInputString().trim().split("\\s+");
+        if (parts.length < 2) {
+            String current = data.getLanguage() != null ? data.getLanguage() : DEFAULT;
+            String list = available.isEmpty() ? DEFAULT : DEFAULT + ", " + String.join(", ", available);
+            Msg.send(context, messages.get(context, "commands.language.current",
+                    Map.of("language", current, "languages", list)));
+            return;
+        }
+
+        String language = parts[1].toLowerCase();
+        if (language.equals(DEFAULT)) {
+            data.setLanguage(null);
+            storageManager.savePlayerData(playerUuid);
+            messages.setPlayerLanguage(playerUuid, null);
+            Msg.send(context, messages.get(context, "commands.language.reset"));
+            return;
+        }
+
+        if (!available.contains(language)) {
+            Msg.send(context, messages.get(context, "commands.language.not-found", Map.of("language", parts[1])));
+            return;
+        }
+
+        data.setLanguage(language);
+        storageManager.savePlayerData(playerUuid);
+        messages.setPlayerLanguage(playerUuid, language);
+        // Sent after switching, so it already uses the new language
+        Msg.send(context, messages.get(context, "commands.language.set", Map.of("language", language)));
+    }
+}
@@ -39,7 +39,7 @@ public class ListCommand extends AbstractCommand {
             playerNames = "None";
         }
         
-        Msg.send(context, messages.get("commands.list.prefix", Map.of("count", String.valueOf(players.size()))) + ": " + playerNames);
+        Msg.send(context, messages.get(context, "commands.list.prefix", Map.of("count", String.valueOf(players.size()))) + ": " + playerNames);
         return CompletableFuture.completedFuture(null);
     }
 }
@@ -0,0 +1,191 @@
+package com.nhulston.essentials.commands.mail;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.commands.msg.MsgCommand;
+import com.nhulston.essentials.managers.FloodLimiter;
+import com.nhulston.essentials.managers.MailManager;
+import com.nhulston.essentials.models.Mail;
+import com.nhulston.essentials.util.MessageManager;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.StorageManager;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Command to send and read mail, including to offline players.
+ * Usage: /mail read | /mail clear | /mail send <player> <message> | /mail sendall <message>
+ */
+public class MailCommand extends AbstractPlayerCommand {
+    private static final String SENDALL_PERMISSION = "essentials.mail.sendall";
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm").withZone(ZoneId.systemDefault());
+
+    private final MailManager mailManager;
+    private final StorageManager storageManager;
+    private final FloodLimiter floodLimiter;
+    private final MessageManager messages;
+
+    public MailCommand(@Nonnull MailManager mailManager, @Nonnull StorageManager storageManager,
+                       @Nonnull FloodLimiter floodLimiter) {
+        super("mail", "Send and read mail");
+        this.mailManager = mailManager;
+        this.storageManager = storageManager;
+        this.floodLimiter = floodLimiter;
+        this.messages = Essentials.getInstance().getMessageManager();
+
+        // Subcommand and message are parsed from raw input
+        setAllowsExtraArguments(true);
+
+        requirePermission("essentials.mail");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        String[] parts = context.getInputString().trim().split("\\s+", 3);
+        if (parts.length < 2) {
+            Msg.send(context, messages.get(context, "commands.mail.usage"));
+            return;
+        }
+
+        switch (parts[1].toLowerCase()) {
+            case "read" -> read(playerRef);
+            case "clear" -> mailManager.clear(playerRef.getUuid())
+                    .thenRun(() -> Msg.send(playerRef, messages.get(playerRef, "commands.mail.cleared")));
+            case "send" -> send(context, playerRef, parts);
+            case "sendall" -> sendAll(context, playerRef, parts);
+            default -> Msg.send(context, messages.get(context, "commands.mail.usage"));
+        }
+    }
+
+    private void read(@Nonnull PlayerRef playerRef) {
+        // Mailbox is read on the mail thread; reply from there once loaded
+        mailManager.read(playerRef.getUuid()).thenAccept(mails -> {
+            if (mails.isEmpty()) {
+                Msg.send(playerRef, messages.get(playerRef, "commands.mail.empty"));
+                return;
+            }
+
+            Msg.send(playerRef, messages.get(playerRef, "commands.mail.header", Map.of("count", String.valueOf(mails.size()))));
+            for (Mail mail : mails) {
+                Msg.send(playerRef, messages.get(playerRef, "commands.mail.entry", Map.of(
+                        "date", DATE_FORMAT.format(Instant.ofEpochMilli(mail.getSentAt())),
+                        "player", mail.getSenderName(),
+                        "message", mail.getMessage())));
+            }
+        });
+    }
+
+    private void send(@Nonnull CommandContext context, @Nonnull PlayerRef playerRef, @Nonnull String[] parts) {
+        if (parts.length < 3) {
+            Msg.send(context, messages.get(context, "commands.mail.usage"));
+            return;
+        }
+
+        // "<player> <message>"
+        String[] targetParts = parts[2].split("\\s+", 2);
+        if (targetParts.length < 2) {
+            Msg.send(context, messages.get(context, "commands.mail.usage"));
+            return;
+        }
+
+        // Online players first for the exact name, then anyone who has joined before
+        String targetName = targetParts[0];
+        UUID targetUuid;
+        PlayerRef target = MsgCommand.findPlayer(targetName);
+        if (target != null) {
+            targetUuid = target.getUuid();
+            targetName = target.getUsername();
+        } else {
+            targetUuid = storageManager.getUuidByUsername(targetName);
+        }
+
+        if (targetUuid == null) {
+            Msg.send(context, messages.get(context, "commands.mail.player-not-found", Map.of("player", targetName)));
+            return;
+        }
+
+        if (targetUuid.equals(playerRef.getUuid())) {
+            Msg.send(context, messages.get(context, "commands.mail.cannot-self"));
+            return;
+        }
+
+        String message = checkMessage(context, playerRef, targetParts[1]);
+        if (message == null) {
+            return;
+        }
+
+        mailManager.send(playerRef.getUuid(), playerRef.getUsername(), targetUuid, message);
+        Msg.send(context, messages.get(context, "commands.mail.sent", Map.of("player", targetName)));
+
+        if (target != null) {
+            Msg.send(target, messages.get(target, "commands.mail.received", Map.of("player", playerRef.getUsername())));
+        }
+    }
+
+    private void sendAll(@Nonnull CommandContext context, @Nonnull PlayerRef playerRef, @Nonnull String[] parts) {
+        if (!PermissionsModule.get().hasPermission(playerRef.getUuid(), SENDALL_PERMISSION)) {
+            Msg.send(context, messages.get(context, "commands.mail.no-permission"));
+            return;
+        }
+
+        if (parts.length < 3) {
+            Msg.send(context, messages.get(context, "commands.mail.usage"));
+            return;
+        }
+
+        String message = checkMessage(context, playerRef, parts[2]);
+        if (message == null) {
+            return;
+        }
+
+        // Everyone who has ever joined
+        int count = 0;
+        Map<String, String> placeholders = Map.of("player", playerRef.getUsername());
+        for (UUID targetUuid : storageManager.getKnownPlayers()) {
+            if (targetUuid.equals(playerRef.getUuid())) {
+                continue;
+            }
+            mailManager.send(playerRef.getUuid(), playerRef.getUsername(), targetUuid, message);
+            count++;
+
+            PlayerRef target = Universe.get().getPlayer(targetUuid);
+            if (target != null) {
+                Msg.send(target, messages.get(target, "commands.mail.received", placeholders));
+            }
+        }
+
+        Msg.send(context, messages.get(context, "commands.mail.sent-all", Map.of("count", String.valueOf(count))));
+    }
+
+    /**
+     * Runs a message through the flood limiter and chat filter.
+     *
+     * @return The message to send, or null if blocked (the sender was told why)
+     */
+    @Nullable
+    private String checkMessage(@Nonnull CommandContext context, @Nonnull PlayerRef playerRef,
+                                @Nonnull String message) {
+        String floodError = floodLimiter.checkMessage(playerRef.getUuid(), message);
+        if (floodError != null) {
+            Msg.send(context, floodError);
+            return null;
+        }
+        return Essentials.getInstance().getChatFilterManager().filterPlayerMessage(playerRef, message);
+    }
+}
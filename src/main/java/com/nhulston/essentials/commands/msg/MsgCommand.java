@@ -9,6 +9,8 @@ import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.managers.AuditJournal;
+import com.nhulston.essentials.managers.FloodLimiter;
 import com.nhulston.essentials.util.MessageManager;
 import com.nhulston.essentials.util.Msg;
 
@@ -28,12 +30,14 @@ public class MsgCommand extends AbstractPlayerCommand {
     // Track last conversation partner for /reply
     private static final Map<UUID, UUID> lastMessagePartner = new ConcurrentHashMap<>();
     private final MessageManager messages;
+    private final FloodLimiter floodLimiter;
 
-    public MsgCommand() {
+    public MsgCommand(@Nonnull FloodLimiter floodLimiter) {
         // Don't register any args - we'll parse everything from raw input
         // This allows multi-word messages without quotes
         super("msg", "Send a private message to a player");
         this.messages = Essentials.getInstance().getMessageManager();
+        this.floodLimiter = floodLimiter;
         
         // Allow extra arguments since we parse them manually
         setAllowsExtraArguments(true);
@@ -50,7 +54,7 @@ public class MsgCommand extends AbstractPlayerCommand {
         String[] parts = rawInput.split("\\s+", 3); // Split into [command, player, message]
         
         if (parts.length < 3) {
-            Msg.send(context, messages.get("commands.msg.usage"));
+            Msg.send(context, messages.get(context, "commands.msg.usage"));
             return;
         }
         
@@ -61,12 +65,18 @@ public class MsgCommand extends AbstractPlayerCommand {
         PlayerRef target = findPlayer(targetName);
         
         if (target == null) {
-            Msg.send(context, messages.get("commands.msg.player-not-found", Map.of("player", targetName)));
+            Msg.send(context, messages.get(context, "commands.msg.player-not-found", Map.of("player", targetName)));
             return;
         }
 
         if (target.getUuid().equals(playerRef.getUuid())) {
-            Msg.send(context, messages.get("commands.msg.cannot-self"));
+            Msg.send(context, messages.get(context, "commands.msg.cannot-self"));
+            return;
+        }
+
+        String floodError = floodLimiter.checkMessage(playerRef.getUuid(), message);
+        if (floodError != null) {
+            Msg.send(context, floodError);
             return;
         }
 
@@ -79,17 +89,38 @@ public class MsgCommand extends AbstractPlayerCommand {
     public static void sendMessage(@Nonnull PlayerRef sender, @Nonnull PlayerRef target, 
                                    @Nonnull String message, @Nullable CommandContext context,
                                    @Nonnull MessageManager messages) {
+        // Players who ignore the sender don't get the message
+        if (Essentials.getInstance().getIgnoreManager().isIgnoring(target.getUuid(), sender.getUuid())) {
+            String blocked = messages.get(sender, "commands.ignore.blocked", Map.of("player", target.getUsername()));
+            if (context != null) {
+                Msg.send(context, blocked);
+            } else {
+                Msg.send(sender, blocked);
+            }
+            return;
+        }
+
+        // Run through the chat filter; null means blocked and the sender was told why
+        String filtered = Essentials.getInstance().getChatFilterManager().filterPlayerMessage(sender, message);
+        if (filtered == null) {
+            return;
+        }
+        message = filtered;
+
         // Send to target: [From PlayerName] message
-        Msg.send(target, messages.get("commands.msg.format-from", Map.of("player", sender.getUsername(), "message", message)));
+        Msg.send(target, messages.get(target, "commands.msg.format-from", Map.of("player", sender.getUsername(), "message", message)));
         
         // Confirm to sender: [To PlayerName] message
-        String toMessage = messages.get("commands.msg.format-to", Map.of("player", target.getUsername(), "message", message));
+        String toMessage = messages.get(sender, "commands.msg.format-to", Map.of("player", target.getUsername(), "message", message));
         if (context != null) {
             Msg.send(context, toMessage);
         } else {
             Msg.send(sender, toMessage);
         }
 
+        Essentials.getInstance().getAuditJournal().record(AuditJournal.Type.MSG, sender, target, message);
+        Essentials.getInstance().getSocialSpyManager().relay(sender, target, message);
+
         // Track last message partner for both players (for /reply)
         lastMessagePartner.put(sender.getUuid(), target.getUuid());
         lastMessagePartner.put(target.getUuid(), sender.getUuid());
@@ -9,6 +9,7 @@ import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.managers.FloodLimiter;
 import com.nhulston.essentials.util.MessageManager;
 import com.nhulston.essentials.util.Msg;
 
@@ -22,10 +23,12 @@ import java.util.UUID;
  */
 public class ReplyCommand extends AbstractPlayerCommand {
     private final MessageManager messages;
+    private final FloodLimiter floodLimiter;
 
-    public ReplyCommand() {
+    public ReplyCommand(@Nonnull FloodLimiter floodLimiter) {
         super("r", "Reply to your last message");
         this.messages = Essentials.getInstance().getMessageManager();
+        this.floodLimiter = floodLimiter;
         
         // Allow extra arguments since we parse them manually
         setAllowsExtraArguments(true);
@@ -42,7 +45,7 @@ public class ReplyCommand extends AbstractPlayerCommand {
         String[] parts = rawInput.split("\\s+", 2); // Split into [command, message]
         
         if (parts.length < 2) {
-            Msg.send(context, messages.get("commands.reply.usage"));
+            Msg.send(context, messages.get(context, "commands.reply.usage"));
             return;
         }
         
@@ -51,14 +54,20 @@ public class ReplyCommand extends AbstractPlayerCommand {
         // Get last message partner
         UUID targetUuid = MsgCommand.getLastMessagePartner(playerRef.getUuid());
         if (targetUuid == null) {
-            Msg.send(context, messages.get("commands.reply.no-one"));
+            Msg.send(context, messages.get(context, "commands.reply.no-one"));
             return;
         }
 
         // Find target player
         PlayerRef target = Universe.get().getPlayer(targetUuid);
         if (target == null) {
-            Msg.send(context, messages.get("commands.reply.player-offline"));
+            Msg.send(context, messages.get(context, "commands.reply.player-offline"));
+            return;
+        }
+
+        String floodError = floodLimiter.checkMessage(playerRef.getUuid(), message);
+        if (floodError != null) {
+            Msg.send(context, floodError);
             return;
         }
 
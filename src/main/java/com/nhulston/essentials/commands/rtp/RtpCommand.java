@@ -13,6 +13,8 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.nhulston.essentials.Essentials;
 import com.nhulston.essentials.managers.BackManager;
+import com.nhulston.essentials.managers.RtpLocationPool;
+import com.nhulston.essentials.managers.RtpQueue;
 import com.nhulston.essentials.managers.TeleportManager;
 import com.nhulston.essentials.models.PlayerData;
 import com.nhulston.essentials.util.ConfigManager;
@@ -20,16 +22,17 @@ import com.nhulston.essentials.util.CooldownUtil;
 import com.nhulston.essentials.util.MessageManager;
 import com.nhulston.essentials.util.Msg;
 import com.nhulston.essentials.util.StorageManager;
-import com.nhulston.essentials.util.TeleportUtil;
 
 import javax.annotation.Nonnull;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Command to randomly teleport a player within a configured radius.
+ * Locations come from the pre-searched {@link RtpLocationPool} when it has one; otherwise they are searched on demand
+ * through the world's {@link RtpQueue}, which limits how many searches load chunks at once.
  * Usage: /rtp
  */
 public class RtpCommand extends AbstractPlayerCommand {
@@ -40,15 +43,20 @@ public class RtpCommand extends AbstractPlayerCommand {
     private final StorageManager storageManager;
     private final TeleportManager teleportManager;
     private final BackManager backManager;
+    private final RtpLocationPool locationPool;
+    private final RtpQueue rtpQueue;
     private final MessageManager messages;
 
     public RtpCommand(@Nonnull ConfigManager configManager, @Nonnull StorageManager storageManager,
-                      @Nonnull TeleportManager teleportManager, @Nonnull BackManager backManager) {
+                      @Nonnull TeleportManager teleportManager, @Nonnull BackManager backManager,
+                      @Nonnull RtpLocationPool locationPool, @Nonnull RtpQueue rtpQueue) {
         super("rtp", "Randomly teleport to a location");
         this.configManager = configManager;
         this.storageManager = storageManager;
         this.teleportManager = teleportManager;
         this.backManager = backManager;
+        this.locationPool = locationPool;
+        this.rtpQueue = rtpQueue;
         this.messages = Essentials.getInstance().getMessageManager();
 
         requirePermission("essentials.rtp");
@@ -69,12 +77,18 @@ public class RtpCommand extends AbstractPlayerCommand {
                 long elapsed = (System.currentTimeMillis() - lastUse) / 1000;
                 long remaining = cooldownSeconds - elapsed;
                 if (remaining > 0) {
-                    Msg.send(context, messages.get("commands.rtp.cooldown", Map.of("time", CooldownUtil.formatCooldown(remaining))));
+                    Msg.send(context, messages.get(context, "commands.rtp.cooldown", Map.of("time", CooldownUtil.formatCooldown(remaining))));
                     return;
                 }
             }
         }
 
+        // One search per player; the cooldown only starts once they arrive
+        if (rtpQueue.isQueued(playerUuid)) {
+            Msg.send(context, messages.get(context, "commands.rtp.queue.already-queued"));
+            return;
+        }
+
         // Determine which world to RTP in
         String currentWorldName = world.getName();
         String rtpWorldName;
@@ -89,7 +103,7 @@ public class RtpCommand extends AbstractPlayerCommand {
             radius = configManager.getRtpRadius(rtpWorldName);
             
             if (radius == null) {
-                Msg.send(context, messages.get("commands.rtp.not-enabled"));
+                Msg.send(context, messages.get(context, "commands.rtp.not-enabled"));
                 return;
             }
         }
@@ -97,7 +111,7 @@ public class RtpCommand extends AbstractPlayerCommand {
         // Verify the world exists
         World rtpWorld = Universe.get().getWorld(rtpWorldName);
         if (rtpWorld == null) {
-            Msg.send(context, messages.get("commands.rtp.world-not-loaded", Map.of("world", rtpWorldName)));
+            Msg.send(context, messages.get(context, "commands.rtp.world-not-loaded", Map.of("world", rtpWorldName)));
             return;
         }
 
@@ -110,109 +124,65 @@ public class RtpCommand extends AbstractPlayerCommand {
             currentPos.getX(), currentPos.getY(), currentPos.getZ(),
             currentRot.getY(), currentRot.getX());
 
+        CompletableFuture<RtpLocationPool.Location> pooled;
         if (isCrossWorld) {
-            // Cross-world RTP - use async chunk loading
-            // Capture start position now, on the correct thread
-            Vector3d startPosition = playerRef.getTransform().getPosition().clone();
-
-            findSafeLocationAsync(rtpWorld, radius, 0)
-                .thenAccept(result -> {
-                    if (result == null) {
-                        Msg.send(playerRef, messages.get("commands.rtp.no-safe-location", Map.of("attempts", String.valueOf(MAX_ATTEMPTS))));
-                        return;
-                    }
-                    
-                    // Execute teleport back on the player's current world thread
-                    world.execute(() -> {
-                        teleportManager.queueTeleport(
-                            playerRef, ref, store, startPosition,
-                                rtpWorldName, result.x, result.y, result.z,
-                            0.0f, 0.0f,
-                            messages.get("commands.rtp.teleported"),
-                            () -> {
-                                data.setLastRtpTime(System.currentTimeMillis());
-                                storageManager.savePlayerData(playerUuid);
-                            }
-                        );
-                    });
-                })
-                .exceptionally(ex -> {
-                    Msg.send(playerRef, messages.get("commands.rtp.failed"));
-                    return null;
-                });
+            pooled = locationPool.take(rtpWorld);
         } else {
-            // Same-world RTP - use sync chunk access
-            findSafeLocationSync(rtpWorld, radius, playerRef, ref, store, rtpWorldName, data, playerUuid);
-        }
-    }
-
-    /**
-     * Synchronously finds a safe RTP location (for same-world teleports).
-     */
-    private void findSafeLocationSync(World rtpWorld, int radius, PlayerRef playerRef, 
-                                       Ref<EntityStore> ref, Store<EntityStore> store,
-                                       String rtpWorldName, PlayerData data, UUID playerUuid) {
-        ThreadLocalRandom random = ThreadLocalRandom.current();
-        
-        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
-            double x = random.nextDouble(-radius, radius);
-            double z = random.nextDouble(-radius, radius);
-
-            Double safeY = TeleportUtil.findSafeRtpY(rtpWorld, x, z);
-            
-            if (safeY != null) {
-                Vector3d startPosition = playerRef.getTransform().getPosition();
-
-                teleportManager.queueTeleport(
-                    playerRef, ref, store, startPosition,
-                    rtpWorldName, x, safeY, z,
-                    0.0f, 0.0f,
-                    messages.get("commands.rtp.teleported"),
-                    () -> {
-                        data.setLastRtpTime(System.currentTimeMillis());
-                        storageManager.savePlayerData(playerUuid);
-                    }
-                );
+            // Same-world RTP - we're on the world thread, so a pooled location can be taken directly
+            RtpLocationPool.Location location = locationPool.poll(rtpWorld);
+            if (location != null) {
+                queueRtp(playerRef, ref, store, rtpWorldName, location, data, playerUuid);
                 return;
             }
+            pooled = CompletableFuture.completedFuture(null);
         }
 
-        Msg.send(playerRef, messages.get("commands.rtp.no-safe-location", Map.of("attempts", String.valueOf(MAX_ATTEMPTS))));
-    }
-
-    /**
-     * Asynchronously finds a safe RTP location (for cross-world teleports).
-     * Recursively tries up to MAX_ATTEMPTS locations.
-     */
-    private CompletableFuture<RtpLocation> findSafeLocationAsync(World rtpWorld, int radius, int attempt) {
-        if (attempt >= MAX_ATTEMPTS) {
-            return CompletableFuture.completedFuture(null);
-        }
-
-        ThreadLocalRandom random = ThreadLocalRandom.current();
-        double x = random.nextDouble(-radius, radius);
-        double z = random.nextDouble(-radius, radius);
+        // Pool empty - wait for a search slot in the RTP world, then load candidate chunks off the world thread
+        int searchRadius = radius;
+        pooled
+            .thenCompose(location -> location != null
+                ? CompletableFuture.completedFuture(location)
+                : rtpQueue.search(rtpWorld, playerRef, searchRadius, MAX_ATTEMPTS))
+            .thenAccept(result -> {
+                if (result == null) {
+                    Msg.send(playerRef, messages.get(playerRef, "commands.rtp.no-safe-location", Map.of("attempts", String.valueOf(MAX_ATTEMPTS))));
+                    return;
+                }
 
-        return TeleportUtil.findSafeRtpYAsync(rtpWorld, x, z)
-            .thenCompose(safeY -> {
-                if (safeY != null) {
-                    return CompletableFuture.completedFuture(new RtpLocation(x, safeY, z));
+                // Execute teleport back on the player's current world thread
+                world.execute(() -> {
+                    if (!ref.isValid()) {
+                        return;
+                    }
+                    queueRtp(playerRef, ref, store, rtpWorldName, result, data, playerUuid);
+                });
+            })
+            .exceptionally(ex -> {
+                // Cancelled: the player left while waiting, so there is no one to tell
+                if (!(ex instanceof CancellationException) && !(ex.getCause() instanceof CancellationException)) {
+                    Msg.send(playerRef, messages.get(playerRef, "commands.rtp.failed"));
                 }
-                // Try next attempt
-                return findSafeLocationAsync(rtpWorld, radius, attempt + 1);
+                return null;
             });
     }
 
     /**
-     * Simple data class to hold RTP coordinates.
+     * Queues the teleport to a safe location. Must be called on the player's world thread.
+     * The start position is taken now, since the player may have moved while waiting for a location.
      */
-    private static class RtpLocation {
-        final double x, y, z;
-        
-        RtpLocation(double x, double y, double z) {
-            this.x = x;
-            this.y = y;
-            this.z = z;
-        }
+    private void queueRtp(PlayerRef playerRef, Ref<EntityStore> ref, Store<EntityStore> store,
+                          String rtpWorldName, RtpLocationPool.Location location, PlayerData data, UUID playerUuid) {
+        Vector3d startPosition = playerRef.getTransform().getPosition().clone();
+
+        teleportManager.queueTeleport(
+            playerRef, ref, store, startPosition,
+            rtpWorldName, location.x(), location.y(), location.z(),
+            0.0f, 0.0f,
+            messages.get(playerRef, "commands.rtp.teleported"),
+            () -> {
+                data.setLastRtpTime(System.currentTimeMillis());
+                storageManager.savePlayerData(playerUuid);
+            }
+        );
     }
 }
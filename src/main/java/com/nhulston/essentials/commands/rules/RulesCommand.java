@@ -9,6 +9,7 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.nhulston.essentials.util.ColorUtil;
 import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.PlaceholderEngine;
 
 import javax.annotation.Nonnull;
 
@@ -39,8 +40,8 @@ public class RulesCommand extends AbstractPlayerCommand {
             return;
         }
         
-        // Replace placeholder
-        rulesMessage = rulesMessage.replace("%player%", playerRef.getUsername());
+        // Resolve placeholders
+        rulesMessage = PlaceholderEngine.render(rulesMessage, playerRef);
         
         // Normalize line endings
         rulesMessage = rulesMessage.replace("\r", "");
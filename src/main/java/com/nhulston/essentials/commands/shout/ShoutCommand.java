@@ -1,11 +1,17 @@
 package com.nhulston.essentials.commands.shout;
 
 import com.hypixel.hytale.server.core.command.system.AbstractCommand;
+import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.managers.AuditJournal;
+import com.nhulston.essentials.managers.FloodLimiter;
+import com.nhulston.essentials.managers.IgnoreManager;
 import com.nhulston.essentials.util.ColorUtil;
 import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Log;
 import com.nhulston.essentials.util.MessageManager;
 import com.nhulston.essentials.util.Msg;
 
@@ -21,10 +27,17 @@ import java.util.concurrent.CompletableFuture;
 public class ShoutCommand extends AbstractCommand {
     private final ConfigManager configManager;
     private final MessageManager messages;
+    private final FloodLimiter floodLimiter;
+    private final AuditJournal auditJournal;
+    private final IgnoreManager ignoreManager;
 
-    public ShoutCommand(@Nonnull ConfigManager configManager) {
+    public ShoutCommand(@Nonnull ConfigManager configManager, @Nonnull FloodLimiter floodLimiter,
+                        @Nonnull AuditJournal auditJournal, @Nonnull IgnoreManager ignoreManager) {
         super("shout", "Broadcast a message to all players");
         this.configManager = configManager;
+        this.floodLimiter = floodLimiter;
+        this.auditJournal = auditJournal;
+        this.ignoreManager = ignoreManager;
         this.messages = Essentials.getInstance().getMessageManager();
 
         addAliases("broadcast");
@@ -41,12 +54,37 @@ public class ShoutCommand extends AbstractCommand {
         String[] parts = rawInput.split("\\s+", 2); // Split into [command, message]
         
         if (parts.length < 2) {
-            Msg.send(context, messages.get("commands.shout.usage"));
+            Msg.send(context, messages.get(context, "commands.shout.usage"));
             return CompletableFuture.completedFuture(null);
         }
         
+        // Console is never limited
+        if (context.isPlayer()) {
+            String floodError = floodLimiter.checkMessage(context.sender().getUuid(), parts[1]);
+            if (floodError != null) {
+                Msg.send(context, floodError);
+                return CompletableFuture.completedFuture(null);
+            }
+        }
+
         String message = configManager.getShoutPrefix() + parts[1];
-        Universe.get().sendMessage(ColorUtil.colorize(message));
+        Message colorized = ColorUtil.colorize(message);
+
+        PlayerRef sender = context.isPlayer() ? Universe.get().getPlayer(context.sender().getUuid()) : null;
+        if (sender == null) {
+            Universe.get().sendMessage(colorized);
+            auditJournal.record(AuditJournal.Type.SHOUT, AuditJournal.CONSOLE_UUID, AuditJournal.CONSOLE_NAME,
+                    null, null, parts[1]);
+        } else {
+            // Skip players who ignore the sender
+            for (PlayerRef player : Universe.get().getPlayers()) {
+                if (!ignoreManager.isIgnoring(player.getUuid(), sender.getUuid())) {
+                    player.sendMessage(colorized);
+                }
+            }
+            Log.info("[Shout] " + sender.getUsername() + ": " + parts[1]);
+            auditJournal.record(AuditJournal.Type.SHOUT, sender, null, parts[1]);
+        }
         return CompletableFuture.completedFuture(null);
     }
 }
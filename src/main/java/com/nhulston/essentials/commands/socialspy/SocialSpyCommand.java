@@ -0,0 +1,41 @@
+package com.nhulston.essentials.commands.socialspy;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.managers.SocialSpyManager;
+import com.nhulston.essentials.util.MessageManager;
+import com.nhulston.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Command to toggle seeing other players' private messages.
+ * Usage: /socialspy
+ */
+public class SocialSpyCommand extends AbstractPlayerCommand {
+    private final SocialSpyManager socialSpyManager;
+    private final MessageManager messages;
+
+    public SocialSpyCommand(@Nonnull SocialSpyManager socialSpyManager) {
+        super("socialspy", "Toggle seeing private messages");
+        this.socialSpyManager = socialSpyManager;
+        this.messages = Essentials.getInstance().getMessageManager();
+        requirePermission("essentials.socialspy");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        if (socialSpyManager.toggle(playerRef)) {
+            Msg.send(context, messages.get(context, "commands.socialspy.enabled"));
+        } else {
+            Msg.send(context, messages.get(context, "commands.socialspy.disabled"));
+        }
+    }
+}
@@ -67,46 +67,39 @@ public class SpawnCommand extends AbstractPlayerCommand {
             boolean hasCreativeItems = creativeItemTracker.hasCreativeItems(playerRef.getUuid(), store, ref);
 
             if (hasCreativeItems) {
-                Msg.send(context, messages.get("commands.spawn.blocked-creative-items"));
+                Msg.send(context, messages.get(context, "commands.spawn.blocked-creative-items"));
                 com.nhulston.essentials.util.Log.info("BLOCKED spawn command for player with Creative mode items");
                 return;
             }
         }
 
-        // Check if creative mode spawn blocking is enabled
+        // Check if creative mode spawn blocking is enabled in this world
+        // (global setting plus any [worlds.<name>] override)
         ConfigManager configManager = Essentials.getInstance().getConfigManager();
+        boolean spawnBlockEnabled = configManager != null
+            && configManager.getWorldSettings(world.getName()).creativeModeSpawnBlocked();
 
-        com.nhulston.essentials.util.Log.info("Creative mode spawn block enabled: " +
-            (configManager != null && configManager.isCreativeModeSpawnBlockEnabled()));
+        com.nhulston.essentials.util.Log.info("Creative mode spawn block enabled in world " + world.getName() + ": " + spawnBlockEnabled);
 
-        if (configManager != null && configManager.isCreativeModeSpawnBlockEnabled()) {
+        if (spawnBlockEnabled) {
             com.nhulston.essentials.util.Log.info("Player has bypass permission: " + hasBypass);
 
             if (!hasBypass) {
-                // Check if we're in a blocked world
-                java.util.List<String> blockedWorlds = configManager.getCreativeModeSpawnBlockWorlds();
-                boolean shouldBlock = blockedWorlds.isEmpty() || blockedWorlds.contains(world.getName());
-
-                com.nhulston.essentials.util.Log.info("Should block in world " + world.getName() + ": " + shouldBlock);
-                com.nhulston.essentials.util.Log.info("Blocked worlds: " + blockedWorlds);
-
-                if (shouldBlock) {
-                    // Check player's game mode
-                    com.hypixel.hytale.server.core.entity.entities.Player player =
-                        store.getComponent(ref, com.hypixel.hytale.server.core.entity.entities.Player.getComponentType());
-
-                    if (player != null) {
-                        com.hypixel.hytale.protocol.GameMode gameMode = player.getGameMode();
-                        com.nhulston.essentials.util.Log.info("Player game mode: " + gameMode);
-
-                        if (gameMode == com.hypixel.hytale.protocol.GameMode.Creative) {
-                            Msg.send(context, messages.get("commands.spawn.blocked-creative"));
-                            com.nhulston.essentials.util.Log.info("BLOCKED spawn command for creative mode player");
-                            return;
-                        }
-                    } else {
-                        com.nhulston.essentials.util.Log.warning("Could not get Player component");
+                // Check player's game mode
+                com.hypixel.hytale.server.core.entity.entities.Player player =
+                    store.getComponent(ref, com.hypixel.hytale.server.core.entity.entities.Player.getComponentType());
+
+                if (player != null) {
+                    com.hypixel.hytale.protocol.GameMode gameMode = player.getGameMode();
+                    com.nhulston.essentials.util.Log.info("Player game mode: " + gameMode);
+
+                    if (gameMode == com.hypixel.hytale.protocol.GameMode.Creative) {
+                        Msg.send(context, messages.get(context, "commands.spawn.blocked-creative"));
+                        com.nhulston.essentials.util.Log.info("BLOCKED spawn command for creative mode player");
+                        return;
                     }
+                } else {
+                    com.nhulston.essentials.util.Log.warning("Could not get Player component");
                 }
             }
         }
@@ -114,7 +107,7 @@ public class SpawnCommand extends AbstractPlayerCommand {
         Spawn spawn = spawnManager.getSpawn();
 
         if (spawn == null) {
-            Msg.send(context, messages.get("commands.spawn.not-set"));
+            Msg.send(context, messages.get(context, "commands.spawn.not-set"));
             return;
         }
 
@@ -130,7 +123,7 @@ public class SpawnCommand extends AbstractPlayerCommand {
         teleportManager.queueTeleport(
             playerRef, ref, store, startPosition,
             spawn.getWorld(), spawn.getX(), spawn.getY(), spawn.getZ(), spawn.getYaw(), spawn.getPitch(),
-            messages.get("commands.spawn.teleported")
+            messages.get(playerRef, "commands.spawn.teleported")
         );
     }
 
@@ -157,7 +150,7 @@ public class SpawnCommand extends AbstractPlayerCommand {
             Spawn spawn = spawnManager.getSpawn();
 
             if (spawn == null) {
-                Msg.send(context, messages.get("commands.spawn.not-set"));
+                Msg.send(context, messages.get(context, "commands.spawn.not-set"));
                 return CompletableFuture.completedFuture(null);
             }
 
@@ -168,8 +161,8 @@ public class SpawnCommand extends AbstractPlayerCommand {
                 TeleportUtil.saveLocationAndTeleportToSpawn(targetPlayer, backManager, spawn);
 
                 String senderName = "Console";
-                Msg.send(context, messages.get("commands.spawn.teleported-other", Map.of("player", targetPlayer.getUsername())));
-                Msg.send(targetPlayer, messages.get("commands.spawn.teleported-by", Map.of("sender", senderName)));
+                Msg.send(context, messages.get(context, "commands.spawn.teleported-other", Map.of("player", targetPlayer.getUsername())));
+                Msg.send(targetPlayer, messages.get(targetPlayer, "commands.spawn.teleported-by", Map.of("sender", senderName)));
             });
 
             return CompletableFuture.completedFuture(null);
@@ -5,8 +5,6 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.util.ChunkUtil;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.math.vector.Vector3f;
-import com.hypixel.hytale.protocol.BlockMaterial;
-import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
@@ -16,6 +14,7 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.managers.HeightmapCache;
 import com.nhulston.essentials.util.MessageManager;
 import com.nhulston.essentials.util.Msg;
 import com.nhulston.essentials.util.TeleportUtil;
@@ -27,11 +26,12 @@ import javax.annotation.Nonnull;
  * Usage: /top
  */
 public class TopCommand extends AbstractPlayerCommand {
-    private static final int MAX_HEIGHT = 256;
+    private final HeightmapCache heightmapCache;
     private final MessageManager messages;
 
-    public TopCommand() {
+    public TopCommand(@Nonnull HeightmapCache heightmapCache) {
         super("top", "Teleport to the highest block");
+        this.heightmapCache = heightmapCache;
         this.messages = Essentials.getInstance().getMessageManager();
         requirePermission("essentials.top");
     }
@@ -42,7 +42,7 @@ public class TopCommand extends AbstractPlayerCommand {
         // Get player's current position
         TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
         if (transform == null) {
-            Msg.send(context, messages.get("commands.top.position-error"));
+            Msg.send(context, messages.get(context, "commands.top.position-error"));
             return;
         }
 
@@ -54,14 +54,14 @@ public class TopCommand extends AbstractPlayerCommand {
         long chunkIndex = ChunkUtil.indexChunkFromBlock(blockX, blockZ);
         WorldChunk chunk = world.getChunk(chunkIndex);
         if (chunk == null) {
-            Msg.send(context, messages.get("commands.top.chunk-not-loaded"));
+            Msg.send(context, messages.get(context, "commands.top.chunk-not-loaded"));
             return;
         }
 
-        // Find highest solid block from top down
-        Integer topY = findHighestSolidBlock(chunk, blockX, blockZ);
-        if (topY == null) {
-            Msg.send(context, messages.get("commands.top.no-ground"));
+        // Find highest solid block
+        int topY = heightmapCache.getTopSolidY(world, chunk, blockX, blockZ);
+        if (topY == HeightmapCache.NO_GROUND) {
+            Msg.send(context, messages.get(context, "commands.top.no-ground"));
             return;
         }
 
@@ -79,20 +79,6 @@ public class TopCommand extends AbstractPlayerCommand {
         Teleport teleport = new Teleport(world, targetPos, rotation);
         store.putComponent(ref, Teleport.getComponentType(), teleport);
 
-        Msg.send(context, messages.get("commands.top.teleported"));
-    }
-
-    /**
-     * Finds the highest solid block at the given X/Z position.
-     * @return Y coordinate of highest solid block, or null if none found
-     */
-    private Integer findHighestSolidBlock(WorldChunk chunk, int x, int z) {
-        for (int y = MAX_HEIGHT; y >= 0; y--) {
-            BlockType blockType = chunk.getBlockType(x, y, z);
-            if (blockType != null && blockType.getMaterial() == BlockMaterial.Solid) {
-                return y;
-            }
-        }
-        return null;
+        Msg.send(context, messages.get(context, "commands.top.teleported"));
     }
 }
@@ -10,6 +10,7 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.managers.IgnoreManager;
 import com.nhulston.essentials.managers.TpaManager;
 import com.nhulston.essentials.util.MessageManager;
 import com.nhulston.essentials.util.Msg;
@@ -24,12 +25,14 @@ import java.util.Map;
  */
 public class TpaCommand extends AbstractPlayerCommand {
     private final TpaManager tpaManager;
+    private final IgnoreManager ignoreManager;
     private final MessageManager messages;
     private final RequiredArg<PlayerRef> targetArg;
 
-    public TpaCommand(@Nonnull TpaManager tpaManager) {
+    public TpaCommand(@Nonnull TpaManager tpaManager, @Nonnull IgnoreManager ignoreManager) {
         super("tpa", "Request to teleport to a player");
         this.tpaManager = tpaManager;
+        this.ignoreManager = ignoreManager;
         this.messages = Essentials.getInstance().getMessageManager();
         this.targetArg = withRequiredArg("player", "Player to teleport to", ArgTypes.PLAYER_REF);
 
@@ -42,33 +45,38 @@ public class TpaCommand extends AbstractPlayerCommand {
         PlayerRef target = context.get(targetArg);
 
         if (target == null) {
-            Msg.send(context, messages.get("commands.tpa.player-not-found"));
+            Msg.send(context, messages.get(context, "commands.tpa.player-not-found"));
             return;
         }
 
         Ref<EntityStore> targetRef = target.getReference();
         if (targetRef == null || !targetRef.isValid()) {
-            Msg.send(context, messages.get("commands.tpa.player-not-found"));
+            Msg.send(context, messages.get(context, "commands.tpa.player-not-found"));
             return;
         }
 
         if (target.getUuid().equals(playerRef.getUuid())) {
-            Msg.send(context, messages.get("commands.tpa.cannot-self"));
+            Msg.send(context, messages.get(context, "commands.tpa.cannot-self"));
+            return;
+        }
+
+        if (ignoreManager.isIgnoring(target.getUuid(), playerRef.getUuid())) {
+            Msg.send(context, messages.get(context, "commands.ignore.blocked", Map.of("player", target.getUsername())));
             return;
         }
 
         boolean created = tpaManager.createRequest(playerRef, target);
         if (!created) {
-            Msg.send(context, messages.get("commands.tpa.already-pending", Map.of("player", target.getUsername())));
+            Msg.send(context, messages.get(context, "commands.tpa.already-pending", Map.of("player", target.getUsername())));
             return;
         }
 
         // Notify the requester
-        Msg.send(context, messages.get("commands.tpa.request-sent", Map.of("player", target.getUsername())));
+        Msg.send(context, messages.get(context, "commands.tpa.request-sent", Map.of("player", target.getUsername())));
 
         // Notify the target
         SoundUtil.playSound(target, "SFX_Alchemy_Bench_Close");
-        Msg.send(target, messages.get("commands.tpa.request-received", Map.of("player", playerRef.getUsername())));
-        Msg.send(target, messages.get("commands.tpa.accept-instruction", Map.of("player", playerRef.getUsername())));
+        Msg.send(target, messages.get(target, "commands.tpa.request-received", Map.of("player", playerRef.getUsername())));
+        Msg.send(target, messages.get(target, "commands.tpa.accept-instruction", Map.of("player", playerRef.getUsername())));
     }
 }
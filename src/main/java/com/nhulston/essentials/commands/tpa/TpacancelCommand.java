@@ -0,0 +1,101 @@
+package com.nhulston.essentials.commands.tpa;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.managers.TpaManager;
+import com.nhulston.essentials.util.MessageManager;
+import com.nhulston.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command to cancel teleport requests you've sent.
+ * Usage: /tpacancel [player]
+ * If no player is specified, cancels every outgoing request.
+ */
+public class TpacancelCommand extends AbstractPlayerCommand {
+    private final TpaManager tpaManager;
+    private final MessageManager messages;
+
+    public TpacancelCommand(@Nonnull TpaManager tpaManager) {
+        super("tpacancel", "Cancel your teleport requests");
+        this.tpaManager = tpaManager;
+        this.messages = Essentials.getInstance().getMessageManager();
+
+        requirePermission("essentials.tpacancel");
+
+        // Add usage variant for cancelling the request to a specific player
+        addUsageVariant(new TpacancelNamedCommand(tpaManager));
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        List<TpaManager.TpaRequest> cancelled = tpaManager.cancelAllRequests(playerRef);
+        if (cancelled.isEmpty()) {
+            Msg.send(context, messages.get(context, "commands.tpacancel.no-requests"));
+            return;
+        }
+
+        for (TpaManager.TpaRequest request : cancelled) {
+            notifyTarget(playerRef, request);
+        }
+        Msg.send(context, messages.get(context, "commands.tpacancel.cancelled-all", Map.of("count", String.valueOf(cancelled.size()))));
+    }
+
+    /**
+     * Lets the target know the request they had pending is gone.
+     */
+    private static void notifyTarget(@Nonnull PlayerRef playerRef, @Nonnull TpaManager.TpaRequest request) {
+        PlayerRef target = Universe.get().getPlayer(request.getTargetUuid());
+        if (target != null) {
+            MessageManager messages = Essentials.getInstance().getMessageManager();
+            Msg.send(target, messages.get(target, "commands.tpacancel.cancelled-target", Map.of("player", playerRef.getUsername())));
+        }
+    }
+
+    /**
+     * Usage variant for /tpacancel <player>
+     */
+    private static class TpacancelNamedCommand extends AbstractPlayerCommand {
+        private final RequiredArg<String> playerArg;
+        private final TpaManager tpaManager;
+
+        TpacancelNamedCommand(@Nonnull TpaManager tpaManager) {
+            super("Cancel your teleport request to a specific player");
+            this.tpaManager = tpaManager;
+            this.playerArg = withRequiredArg("player", "Player whose request to cancel", ArgTypes.STRING);
+        }
+
+        @Override
+        protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                               @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            MessageManager messages = Essentials.getInstance().getMessageManager();
+            String targetName = context.get(playerArg);
+
+            // Requests to players who left are already gone, so only online players can match
+            PlayerRef target = TpacceptCommand.findPlayer(targetName);
+            TpaManager.TpaRequest request = target != null
+                    ? tpaManager.cancelRequest(playerRef, target.getUuid())
+                    : null;
+            if (request == null) {
+                Msg.send(context, messages.get(context, "commands.tpacancel.no-request-to", Map.of("player", targetName)));
+                return;
+            }
+
+            notifyTarget(playerRef, request);
+            Msg.send(context, messages.get(context, "commands.tpacancel.cancelled", Map.of("player", request.getTargetName())));
+        }
+    }
+}
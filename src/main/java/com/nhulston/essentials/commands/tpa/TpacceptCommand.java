@@ -33,7 +33,7 @@ public class TpacceptCommand extends AbstractPlayerCommand {
     private final TeleportManager teleportManager;
     private final BackManager backManager;
     private final MessageManager messages;
-    
+
     public TpacceptCommand(@Nonnull TpaManager tpaManager, @Nonnull TeleportManager teleportManager,
                           @Nonnull BackManager backManager) {
         super("tpaccept", "Accept a teleport request");
@@ -44,7 +44,7 @@ public class TpacceptCommand extends AbstractPlayerCommand {
 
         addAliases("tpyes");
         requirePermission("essentials.tpaccept");
-        
+
         // Add usage variant for accepting specific player's request
         addUsageVariant(new TpacceptNamedCommand(tpaManager, teleportManager, backManager));
     }
@@ -55,56 +55,90 @@ public class TpacceptCommand extends AbstractPlayerCommand {
         // /tpaccept with no arguments - accept most recent request
         TpaManager.TpaRequest request = tpaManager.acceptMostRecentRequest(playerRef);
         if (request == null) {
-            Msg.send(context, messages.get("commands.tpaccept.no-requests"));
+            Msg.send(context, messages.get(context, "commands.tpaccept.no-requests"));
             return;
         }
-        
-        String requesterName = request.getRequesterName();
-        
+
         // Get the requester's PlayerRef
         PlayerRef requester = Universe.get().getPlayer(request.getRequesterUuid());
         if (requester == null) {
-            Msg.send(context, messages.get("commands.tpaccept.player-offline", Map.of("player", requesterName)));
+            Msg.send(context, messages.get(context, "commands.tpaccept.player-offline", Map.of("player", request.getRequesterName())));
             return;
         }
 
-        // Get the requester's entity ref and store
+        startTeleport(context, playerRef, requester, request, teleportManager, backManager);
+    }
+
+    /**
+     * Starts the teleport for an accepted request.
+     * For /tpa the requester moves to the accepting player; for /tpahere the accepting player moves to the requester.
+     */
+    static void startTeleport(@Nonnull CommandContext context, @Nonnull PlayerRef playerRef,
+                              @Nonnull PlayerRef requester, @Nonnull TpaManager.TpaRequest request,
+                              @Nonnull TeleportManager teleportManager, @Nonnull BackManager backManager) {
+        MessageManager messages = Essentials.getInstance().getMessageManager();
+        boolean here = request.getType() == TpaManager.RequestType.TO_REQUESTER;
+
+        // Get the requester's entity ref
         Ref<EntityStore> requesterRef = requester.getReference();
         if (requesterRef == null || !requesterRef.isValid()) {
-            Msg.send(context, messages.get("commands.tpaccept.player-unavailable", Map.of("player", requesterName)));
+            Msg.send(context, messages.get(context, "commands.tpaccept.player-unavailable", Map.of("player", requester.getUsername())));
             return;
         }
-        Store<EntityStore> requesterStore = requesterRef.getStore();
-        
-        // Get requester's world to execute on their thread
-        World requesterWorld = requesterStore.getExternalData().getWorld();
+
+        PlayerRef mover = here ? playerRef : requester;
+        PlayerRef destination = here ? requester : playerRef;
+        Ref<EntityStore> moverRef = mover.getReference();
+        if (moverRef == null || !moverRef.isValid()) {
+            return;
+        }
+        Store<EntityStore> moverStore = moverRef.getStore();
+
+        // Get the moving player's world to execute on their thread
+        World moverWorld = moverStore.getExternalData().getWorld();
 
         // Notify the target that the request was accepted
-        Msg.send(context, messages.get("commands.tpaccept.accepted", Map.of("player", requesterName)));
+        Msg.send(context, messages.get(context, "commands.tpaccept.accepted", Map.of("player", requester.getUsername())));
+        if (here) {
+            Msg.send(requester, messages.get(requester, "commands.tpahere.accepted", Map.of("player", playerRef.getUsername())));
+        }
 
-        // Save requester's location and queue teleport (must be on their world thread)
-        requesterWorld.execute(() -> {
-            if (!requesterRef.isValid()) {
+        // Save the moving player's location and queue teleport (must be on their world thread)
+        moverWorld.execute(() -> {
+            if (!moverRef.isValid()) {
                 return;
             }
-            
-            Vector3d currentPos = requester.getTransform().getPosition();
-            Vector3f currentRot = requester.getTransform().getRotation();
-            backManager.setTeleportLocation(requester.getUuid(), requesterWorld.getName(),
+
+            Vector3d currentPos = mover.getTransform().getPosition();
+            Vector3f currentRot = mover.getTransform().getRotation();
+            backManager.setTeleportLocation(mover.getUuid(), moverWorld.getName(),
                 currentPos.getX(), currentPos.getY(), currentPos.getZ(),
                 currentRot.getY(), currentRot.getX());
 
-            // Queue the teleport (startPosition must be captured on requester's world thread)
+            // Queue the teleport (startPosition must be captured on the mover's world thread)
             Vector3d startPosition = currentPos.clone();
-            
+
             teleportManager.queueTeleportToPlayer(
-                requester, requesterRef, requesterStore, startPosition,
-                playerRef,  // target player
-                messages.get("commands.tpaccept.teleported", Map.of("player", playerRef.getUsername()))
+                mover, moverRef, moverStore, startPosition,
+                destination,
+                messages.get(mover, "commands.tpaccept.teleported", Map.of("player", destination.getUsername()))
             );
         });
     }
-    
+
+    /**
+     * Find a player by name (case-insensitive).
+     */
+    @Nullable
+    static PlayerRef findPlayer(String name) {
+        for (PlayerRef player : Universe.get().getPlayers()) {
+            if (player.getUsername().equalsIgnoreCase(name)) {
+                return player;
+            }
+        }
+        return null;
+    }
+
     /**
      * Usage variant for /tpaccept <player>
      */
@@ -113,7 +147,7 @@ public class TpacceptCommand extends AbstractPlayerCommand {
         private final TpaManager tpaManager;
         private final TeleportManager teleportManager;
         private final BackManager backManager;
-        
+
         TpacceptNamedCommand(@Nonnull TpaManager tpaManager, @Nonnull TeleportManager teleportManager,
                             @Nonnull BackManager backManager) {
             super("Accept a teleport request from a specific player");
@@ -122,76 +156,29 @@ public class TpacceptCommand extends AbstractPlayerCommand {
             this.backManager = backManager;
             this.playerArg = withRequiredArg("player", "Player whose request to accept", ArgTypes.STRING);
         }
-        
+
         @Override
         protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
                                @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
             MessageManager messages = Essentials.getInstance().getMessageManager();
             String requesterName = context.get(playerArg);
-            
+
             // Player name specified - look them up
             PlayerRef requester = findPlayer(requesterName);
-            
+
             if (requester == null) {
-                Msg.send(context, messages.get("commands.tpaccept.player-offline", Map.of("player", requesterName)));
+                Msg.send(context, messages.get(context, "commands.tpaccept.player-offline", Map.of("player", requesterName)));
                 return;
             }
-            
+
             // Accept request from specific player
-            TpaManager.TpaRequest request = tpaManager.acceptRequest(playerRef, requester.getUsername());
+            TpaManager.TpaRequest request = tpaManager.acceptRequest(playerRef, requester.getUuid());
             if (request == null) {
-                Msg.send(context, messages.get("commands.tpaccept.no-request-from", Map.of("player", requester.getUsername())));
+                Msg.send(context, messages.get(context, "commands.tpaccept.no-request-from", Map.of("player", requester.getUsername())));
                 return;
             }
 
-            // Get the requester's entity ref and store
-            Ref<EntityStore> requesterRef = requester.getReference();
-            if (requesterRef == null || !requesterRef.isValid()) {
-                Msg.send(context, messages.get("commands.tpaccept.player-unavailable", Map.of("player", requester.getUsername())));
-                return;
-            }
-            Store<EntityStore> requesterStore = requesterRef.getStore();
-            
-            // Get requester's world to execute on their thread
-            World requesterWorld = requesterStore.getExternalData().getWorld();
-
-            // Notify the target that the request was accepted
-            Msg.send(context, messages.get("commands.tpaccept.accepted", Map.of("player", requester.getUsername())));
-
-            // Save requester's location and queue teleport (must be on their world thread)
-            requesterWorld.execute(() -> {
-                if (!requesterRef.isValid()) {
-                    return;
-                }
-                
-                Vector3d currentPos = requester.getTransform().getPosition();
-                Vector3f currentRot = requester.getTransform().getRotation();
-                backManager.setTeleportLocation(requester.getUuid(), requesterWorld.getName(),
-                    currentPos.getX(), currentPos.getY(), currentPos.getZ(),
-                    currentRot.getY(), currentRot.getX());
-
-                // Queue the teleport (startPosition must be captured on requester's world thread)
-                Vector3d startPosition = currentPos.clone();
-                
-                teleportManager.queueTeleportToPlayer(
-                    requester, requesterRef, requesterStore, startPosition,
-                    playerRef,  // target player
-                    messages.get("commands.tpaccept.teleported", Map.of("player", playerRef.getUsername()))
-                );
-            });
-        }
-        
-        /**
-         * Find a player by name (case-insensitive).
-         */
-        @Nullable
-        private static PlayerRef findPlayer(String name) {
-            for (PlayerRef player : Universe.get().getPlayers()) {
-                if (player.getUsername().equalsIgnoreCase(name)) {
-                    return player;
-                }
-            }
-            return null;
+            startTeleport(context, playerRef, requester, request, teleportManager, backManager);
         }
     }
 }
@@ -0,0 +1,82 @@
+package com.nhulston.essentials.commands.tpa;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.managers.IgnoreManager;
+import com.nhulston.essentials.managers.TpaManager;
+import com.nhulston.essentials.util.MessageManager;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.SoundUtil;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+
+/**
+ * Command to ask another player to teleport to you.
+ * Usage: /tpahere <player>
+ */
+public class TpahereCommand extends AbstractPlayerCommand {
+    private final TpaManager tpaManager;
+    private final IgnoreManager ignoreManager;
+    private final MessageManager messages;
+    private final RequiredArg<PlayerRef> targetArg;
+
+    public TpahereCommand(@Nonnull TpaManager tpaManager, @Nonnull IgnoreManager ignoreManager) {
+        super("tpahere", "Request a player to teleport to you");
+        this.tpaManager = tpaManager;
+        this.ignoreManager = ignoreManager;
+        this.messages = Essentials.getInstance().getMessageManager();
+        this.targetArg = withRequiredArg("player", "Player to bring to you", ArgTypes.PLAYER_REF);
+
+        requirePermission("essentials.tpahere");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        PlayerRef target = context.get(targetArg);
+
+        if (target == null) {
+            Msg.send(context, messages.get(context, "commands.tpa.player-not-found"));
+            return;
+        }
+
+        Ref<EntityStore> targetRef = target.getReference();
+        if (targetRef == null || !targetRef.isValid()) {
+            Msg.send(context, messages.get(context, "commands.tpa.player-not-found"));
+            return;
+        }
+
+        if (target.getUuid().equals(playerRef.getUuid())) {
+            Msg.send(context, messages.get(context, "commands.tpa.cannot-self"));
+            return;
+        }
+
+        if (ignoreManager.isIgnoring(target.getUuid(), playerRef.getUuid())) {
+            Msg.send(context, messages.get(context, "commands.ignore.blocked", Map.of("player", target.getUsername())));
+            return;
+        }
+
+        boolean created = tpaManager.createRequest(playerRef, target, TpaManager.RequestType.TO_REQUESTER);
+        if (!created) {
+            Msg.send(context, messages.get(context, "commands.tpa.already-pending", Map.of("player", target.getUsername())));
+            return;
+        }
+
+        // Notify the requester
+        Msg.send(context, messages.get(context, "commands.tpa.request-sent", Map.of("player", target.getUsername())));
+
+        // Notify the target
+        SoundUtil.playSound(target, "SFX_Alchemy_Bench_Close");
+        Msg.send(target, messages.get(target, "commands.tpahere.request-received", Map.of("player", playerRef.getUsername())));
+        Msg.send(target, messages.get(target, "commands.tpa.accept-instruction", Map.of("player", playerRef.getUsername())));
+    }
+}
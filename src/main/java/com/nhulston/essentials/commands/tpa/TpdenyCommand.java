@@ -0,0 +1,100 @@
+package com.nhulston.essentials.commands.tpa;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.managers.TpaManager;
+import com.nhulston.essentials.util.MessageManager;
+import com.nhulston.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+
+/**
+ * Command to deny a teleport request from another player.
+ * Usage: /tpdeny [player]
+ * If no player is specified, denies the most recent request.
+ */
+public class TpdenyCommand extends AbstractPlayerCommand {
+    private final TpaManager tpaManager;
+    private final MessageManager messages;
+
+    public TpdenyCommand(@Nonnull TpaManager tpaManager) {
+        super("tpdeny", "Deny a teleport request");
+        this.tpaManager = tpaManager;
+        this.messages = Essentials.getInstance().getMessageManager();
+
+        addAliases("tpno");
+        requirePermission("essentials.tpdeny");
+
+        // Add usage variant for denying specific player's request
+        addUsageVariant(new TpdenyNamedCommand(tpaManager));
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        TpaManager.TpaRequest request = tpaManager.denyMostRecentRequest(playerRef);
+        if (request == null) {
+            Msg.send(context, messages.get(context, "commands.tpaccept.no-requests"));
+            return;
+        }
+
+        notifyDenied(context, playerRef, request);
+    }
+
+    /**
+     * Tells both players that a request was denied.
+     */
+    private static void notifyDenied(@Nonnull CommandContext context, @Nonnull PlayerRef playerRef,
+                                     @Nonnull TpaManager.TpaRequest request) {
+        MessageManager messages = Essentials.getInstance().getMessageManager();
+        Msg.send(context, messages.get(context, "commands.tpdeny.denied", Map.of("player", request.getRequesterName())));
+
+        PlayerRef requester = Universe.get().getPlayer(request.getRequesterUuid());
+        if (requester != null) {
+            Msg.send(requester, messages.get(requester, "commands.tpdeny.denied-requester", Map.of("player", playerRef.getUsername())));
+        }
+    }
+
+    /**
+     * Usage variant for /tpdeny <player>
+     */
+    private static class TpdenyNamedCommand extends AbstractPlayerCommand {
+        private final RequiredArg<String> playerArg;
+        private final TpaManager tpaManager;
+
+        TpdenyNamedCommand(@Nonnull TpaManager tpaManager) {
+            super("Deny a teleport request from a specific player");
+            this.tpaManager = tpaManager;
+            this.playerArg = withRequiredArg("player", "Player whose request to deny", ArgTypes.STRING);
+        }
+
+        @Override
+        protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                               @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            MessageManager messages = Essentials.getInstance().getMessageManager();
+            String requesterName = context.get(playerArg);
+
+            // Requests from players who left are already gone, so only online players can match
+            PlayerRef requester = TpacceptCommand.findPlayer(requesterName);
+            TpaManager.TpaRequest request = requester != null
+                    ? tpaManager.denyRequest(playerRef, requester.getUuid())
+                    : null;
+            if (request == null) {
+                Msg.send(context, messages.get(context, "commands.tpaccept.no-request-from", Map.of("player", requesterName)));
+                return;
+            }
+
+            notifyDenied(context, playerRef, request);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.nhulston.essentials.commands.tphere;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.managers.BackManager;
+import com.nhulston.essentials.util.Diagnostics;
+import com.nhulston.essentials.util.MessageManager;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.TeleportUtil;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command to teleport every other online player to yourself.
+ * Players are moved as one batch and spread around you (see {@link TeleportUtil#teleportBatch}).
+ * Usage: /tpall
+ */
+public class TpallCommand extends AbstractPlayerCommand {
+    private final BackManager backManager;
+    private final MessageManager messages;
+
+    public TpallCommand(@Nonnull BackManager backManager) {
+        super("tpall", "Teleport all players to you");
+        this.backManager = backManager;
+        this.messages = Essentials.getInstance().getMessageManager();
+        requirePermission("essentials.tpall");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        List<PlayerRef> targets = new ArrayList<>();
+        for (PlayerRef player : Universe.get().getPlayers()) {
+            if (!player.getUuid().equals(playerRef.getUuid())) {
+                targets.add(player);
+            }
+        }
+
+        if (targets.isEmpty()) {
+            Msg.send(context, messages.get(context, "commands.tpall.no-players"));
+            return;
+        }
+
+        // Captured on the sender's world thread
+        Vector3d position = playerRef.getTransform().getPosition().clone();
+        float yaw = playerRef.getTransform().getRotation().getY();
+
+        TeleportUtil.teleportBatch(targets, world, position.getX(), position.getY(), position.getZ(), yaw,
+                backManager,
+                target -> Msg.send(target, messages.get(target, "commands.tphere.teleported",
+                        Map.of("player", playerRef.getUsername()))))
+            .thenAccept(result -> Msg.send(context, messages.get(context, "commands.tpall.success", Map.of(
+                    "count", String.valueOf(result.teleported()),
+                    "time", Diagnostics.formatMillis(result.totalNanos())))))
+            .exceptionally(ex -> {
+                Msg.send(context, messages.get(context, "teleport.failed"));
+                return null;
+            });
+    }
+}
@@ -42,7 +42,7 @@ public class SetWarpCommand extends AbstractPlayerCommand {
 
         TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
         if (transform == null) {
-            Msg.send(context, messages.get("commands.setwarp.position-error"));
+            Msg.send(context, messages.get(context, "commands.setwarp.position-error"));
             return;
         }
 
@@ -51,6 +51,7 @@ public class SetWarpCommand extends AbstractPlayerCommand {
         Vector3f rotation = (headRotation != null) ? headRotation.getRotation() : new Vector3f(0.0F, 0.0F, 0.0F);
 
         String error = warpManager.setWarp(
+                playerRef.getUuid(),
                 warpName,
                 world.getName(),
                 position.getX(),
@@ -65,6 +66,6 @@ public class SetWarpCommand extends AbstractPlayerCommand {
             return;
         }
 
-        Msg.send(context, messages.get("commands.setwarp.success", Map.of("warp", warpName, "world", world.getName())));
+        Msg.send(context, messages.get(context, "commands.setwarp.success", Map.of("warp", warpName, "world", world.getName())));
     }
 }
@@ -53,11 +53,11 @@ public class WarpCommand extends AbstractPlayerCommand {
         Map<String, Warp> warps = warpManager.getWarps();
 
         if (warps.isEmpty()) {
-            Msg.send(context, messages.get("commands.warp.no-warps"));
+            Msg.send(context, messages.get(context, "commands.warp.no-warps"));
             return;
         }
 
-        Msg.send(context, messages.get("commands.warp.list-prefix") + ": " + String.join(", ", warps.keySet()));
+        Msg.send(context, messages.get(context, "commands.warp.list-prefix") + ": " + String.join(", ", warps.keySet()));
     }
 
     /**
@@ -87,7 +87,7 @@ public class WarpCommand extends AbstractPlayerCommand {
             MessageManager messages = Essentials.getInstance().getMessageManager();
 
             if (warp == null) {
-                Msg.send(context, messages.get("commands.warp.not-found", Map.of("warp", warpName)));
+                Msg.send(context, messages.get(context, "commands.warp.not-found", Map.of("warp", warpName)));
                 return;
             }
 
@@ -103,7 +103,7 @@ public class WarpCommand extends AbstractPlayerCommand {
             teleportManager.queueTeleport(
                 playerRef, ref, store, startPosition,
                 warp.getWorld(), warp.getX(), warp.getY(), warp.getZ(), warp.getYaw(), warp.getPitch(),
-                messages.get("commands.warp.teleported", Map.of("warp", warpName))
+                messages.get(playerRef, "commands.warp.teleported", Map.of("warp", warpName))
             );
         }
     }
@@ -134,7 +134,7 @@ public class WarpCommand extends AbstractPlayerCommand {
             Warp warp = warpManager.getWarp(warpName);
 
             if (warp == null) {
-                Msg.send(context, messages.get("commands.warp.not-found", Map.of("warp", warpName)));
+                Msg.send(context, messages.get(context, "commands.warp.not-found", Map.of("warp", warpName)));
                 return CompletableFuture.completedFuture(null);
             }
 
@@ -153,9 +153,9 @@ public class WarpCommand extends AbstractPlayerCommand {
                 }
 
                 String senderName = "Console";
-                Msg.send(context, messages.get("commands.warp.teleported-other", 
+                Msg.send(context, messages.get(context, "commands.warp.teleported-other", 
                     Map.of("player", targetPlayer.getUsername(), "warp", warpName)));
-                Msg.send(targetPlayer, messages.get("commands.warp.teleported-by", 
+                Msg.send(targetPlayer, messages.get(targetPlayer, "commands.warp.teleported-by", 
                     Map.of("sender", senderName, "warp", warpName)));
             });
 
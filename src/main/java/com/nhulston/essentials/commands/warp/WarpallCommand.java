@@ -0,0 +1,83 @@
+package com.nhulston.essentials.commands.warp;
+
+import com.hypixel.hytale.server.core.command.system.AbstractCommand;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.managers.BackManager;
+import com.nhulston.essentials.managers.WarpManager;
+import com.nhulston.essentials.models.Warp;
+import com.nhulston.essentials.util.Diagnostics;
+import com.nhulston.essentials.util.MessageManager;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.TeleportUtil;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Command to teleport every online player to a warp (console or admin).
+ * Players are moved as one batch and spread around the warp (see {@link TeleportUtil#teleportBatch}).
+ * Usage: /warpall <name>
+ */
+public class WarpallCommand extends AbstractCommand {
+    private final WarpManager warpManager;
+    private final BackManager backManager;
+    private final RequiredArg<String> nameArg;
+
+    public WarpallCommand(@Nonnull WarpManager warpManager, @Nonnull BackManager backManager) {
+        super("warpall", "Teleport all players to a warp");
+        this.warpManager = warpManager;
+        this.backManager = backManager;
+        this.nameArg = withRequiredArg("name", "Warp name", ArgTypes.STRING);
+        requirePermission("essentials.warpall");
+    }
+
+    @Override
+    protected CompletableFuture<Void> execute(@Nonnull CommandContext context) {
+        MessageManager messages = Essentials.getInstance().getMessageManager();
+        String warpName = context.get(nameArg);
+        Warp warp = warpManager.getWarp(warpName);
+
+        if (warp == null) {
+            Msg.send(context, messages.get(context, "commands.warp.not-found", Map.of("warp", warpName)));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        World world = Universe.get().getWorld(warp.getWorld());
+        if (world == null) {
+            Msg.send(context, messages.get(context, "teleport.world-not-loaded", Map.of("world", warp.getWorld())));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<PlayerRef> players = List.copyOf(Universe.get().getPlayers());
+        if (players.isEmpty()) {
+            Msg.send(context, messages.get(context, "commands.warpall.no-players"));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        PlayerRef sender = context.isPlayer() ? Universe.get().getPlayer(context.sender().getUuid()) : null;
+        String senderName = sender != null ? sender.getUsername() : "Console";
+
+        TeleportUtil.teleportBatch(players, world, warp.getX(), warp.getY(), warp.getZ(), warp.getYaw(),
+                backManager,
+                target -> Msg.send(target, messages.get(target, "commands.warp.teleported-by",
+                        Map.of("sender", senderName, "warp", warpName))))
+            .thenAccept(result -> Msg.send(context, messages.get(context, "commands.warpall.success", Map.of(
+                    "count", String.valueOf(result.teleported()),
+                    "warp", warpName,
+                    "time", Diagnostics.formatMillis(result.totalNanos())))))
+            .exceptionally(ex -> {
+                Msg.send(context, messages.get(context, "teleport.failed"));
+                return null;
+            });
+
+        return CompletableFuture.completedFuture(null);
+    }
+}
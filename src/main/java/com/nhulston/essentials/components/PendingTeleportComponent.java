@@ -0,0 +1,38 @@
+package com.nhulston.essentials.components;
+
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.component.ComponentRegistryProxy;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Marks a player with a pending delayed teleport, so the teleport tick system only visits those players.
+ * The teleport itself is kept by TeleportManager; this is only the tag. Not saved with the entity.
+ */
+public final class PendingTeleportComponent implements Component<EntityStore> {
+    public static final PendingTeleportComponent INSTANCE = new PendingTeleportComponent();
+
+    private static ComponentType<EntityStore, PendingTeleportComponent> componentType;
+
+    private PendingTeleportComponent() {}
+
+    /**
+     * Registers the component type. Must run before any system that queries it is registered.
+     */
+    public static void register(@Nonnull ComponentRegistryProxy<EntityStore> registry) {
+        componentType = registry.registerComponent(PendingTeleportComponent.class, () -> INSTANCE);
+    }
+
+    @Nonnull
+    public static ComponentType<EntityStore, PendingTeleportComponent> getComponentType() {
+        return componentType;
+    }
+
+    @Override
+    public Component<EntityStore> clone() {
+        // Stateless tag: every entity can share the one instance
+        return INSTANCE;
+    }
+}
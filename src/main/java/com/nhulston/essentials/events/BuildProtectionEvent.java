@@ -36,6 +36,11 @@ public class BuildProtectionEvent {
         registry.registerSystem(new DamageBlockProtectionSystem(configManager));
     }
 
+    private static boolean isBuildingDisabled(@Nonnull ConfigManager configManager, @Nonnull Store<EntityStore> store) {
+        String worldName = store.getExternalData().getWorld().getName();
+        return configManager.getWorldSettings(worldName).buildingDisabled();
+    }
+
     private static boolean canBypass(@Nonnull UUID playerUuid) {
         return PermissionsModule.get().hasPermission(playerUuid, BYPASS_PERMISSION);
     }
@@ -47,7 +52,7 @@ public class BuildProtectionEvent {
     }
 
     /**
-     * Prevents block breaking globally.
+     * Prevents block breaking in worlds where building is disabled.
      */
     private static class BreakBlockProtectionSystem
             extends EntityEventSystem<EntityStore, BreakBlockEvent> {
@@ -69,7 +74,7 @@ public class BuildProtectionEvent {
                            @NotNull Store<EntityStore> store,
                            @NotNull CommandBuffer<EntityStore> buffer,
                            @NotNull BreakBlockEvent event) {
-            if (!configManager.isBuildingDisabled() || event.isCancelled()) {
+            if (event.isCancelled() || !isBuildingDisabled(configManager, store)) {
                 return;
             }
 
@@ -84,7 +89,7 @@ public class BuildProtectionEvent {
     }
 
     /**
-     * Prevents block placing globally.
+     * Prevents block placing in worlds where building is disabled.
      */
     private static class PlaceBlockProtectionSystem
             extends EntityEventSystem<EntityStore, PlaceBlockEvent> {
@@ -106,7 +111,7 @@ public class BuildProtectionEvent {
                            @NotNull Store<EntityStore> store,
                            @NotNull CommandBuffer<EntityStore> buffer,
                            @NotNull PlaceBlockEvent event) {
-            if (!configManager.isBuildingDisabled() || event.isCancelled()) {
+            if (event.isCancelled() || !isBuildingDisabled(configManager, store)) {
                 return;
             }
 
@@ -121,7 +126,7 @@ public class BuildProtectionEvent {
     }
 
     /**
-     * Prevents block damage (mining progress) globally.
+     * Prevents block damage (mining progress) in worlds where building is disabled.
      */
     private static class DamageBlockProtectionSystem
             extends EntityEventSystem<EntityStore, DamageBlockEvent> {
@@ -143,7 +148,7 @@ public class BuildProtectionEvent {
                            @NotNull Store<EntityStore> store,
                            @NotNull CommandBuffer<EntityStore> buffer,
                            @NotNull DamageBlockEvent event) {
-            if (!configManager.isBuildingDisabled() || event.isCancelled()) {
+            if (event.isCancelled() || !isBuildingDisabled(configManager, store)) {
                 return;
             }
 
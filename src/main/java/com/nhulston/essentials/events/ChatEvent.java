@@ -2,25 +2,63 @@ package com.nhulston.essentials.events;
 
 import com.hypixel.hytale.event.EventRegistry;
 import com.hypixel.hytale.server.core.event.events.player.PlayerChatEvent;
+import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
+import com.nhulston.essentials.managers.ChannelManager;
 import com.nhulston.essentials.managers.ChatManager;
+import com.nhulston.essentials.managers.ChatPipeline;
+import com.nhulston.essentials.managers.FloodLimiter;
+import com.nhulston.essentials.managers.IgnoreManager;
+import com.nhulston.essentials.managers.MentionManager;
+import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
 
 public class ChatEvent {
     private final ChatManager chatManager;
+    private final ChatPipeline chatPipeline;
+    private final FloodLimiter floodLimiter;
+    private final ChannelManager channelManager;
+    private final MentionManager mentionManager;
+    private final IgnoreManager ignoreManager;
 
-    public ChatEvent(@Nonnull ChatManager chatManager) {
+    public ChatEvent(@Nonnull ChatManager chatManager, @Nonnull ChatPipeline chatPipeline,
+                     @Nonnull FloodLimiter floodLimiter, @Nonnull ChannelManager channelManager,
+                     @Nonnull MentionManager mentionManager, @Nonnull IgnoreManager ignoreManager) {
         this.chatManager = chatManager;
+        this.chatPipeline = chatPipeline;
+        this.floodLimiter = floodLimiter;
+        this.channelManager = channelManager;
+        this.mentionManager = mentionManager;
+        this.ignoreManager = ignoreManager;
     }
 
     public void register(@Nonnull EventRegistry eventRegistry) {
+        // Flood check first so dropped messages never reach formatting,
+        // then filtering, formatting and fan-out happen on the chat pipeline thread
         eventRegistry.<String, PlayerChatEvent>registerAsyncGlobal(PlayerChatEvent.class, future ->
-                future.thenApply(event -> {
-                    if (chatManager.isEnabled()) {
-                        event.setFormatter(chatManager.createFormatter());
-                    }
-                    return event;
-                })
+                chatPipeline.submit(future.thenApply(this::checkFlood))
         );
+
+        // Groups may have changed while the player was offline, resolve the format and staff chat access again on join
+        eventRegistry.registerGlobal(PlayerConnectEvent.class, event -> {
+            chatManager.invalidate(event.getPlayerRef().getUuid());
+            channelManager.onPlayerJoin(event.getPlayerRef());
+            mentionManager.onPlayerJoin(event.getPlayerRef());
+            ignoreManager.onPlayerJoin(event.getPlayerRef().getUuid());
+        });
+    }
+
+    @Nonnull
+    private PlayerChatEvent checkFlood(@Nonnull PlayerChatEvent event) {
+        if (event.isCancelled()) {
+            return event;
+        }
+
+        String error = floodLimiter.checkMessage(event.getSender().getUuid(), event.getContent());
+        if (error != null) {
+            event.setCancelled(true);
+            Msg.send(event.getSender(), error);
+        }
+        return event;
     }
 }
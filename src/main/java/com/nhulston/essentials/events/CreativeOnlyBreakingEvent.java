@@ -19,7 +19,6 @@ import com.nhulston.essentials.util.Log;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -78,18 +77,9 @@ public class CreativeOnlyBreakingEvent {
                 return;
             }
 
-            List<String> creativeOnlyWorlds = configManager.getCreativeOnlyWorlds();
-
-            // If no worlds are configured, allow breaking everywhere
-            if (creativeOnlyWorlds.isEmpty()) {
-                return;
-            }
-
-            // Get the world name from store
-            String worldName = store.getExternalData().getWorld().getName();
-
             // Check if this world requires Creative mode for breaking
-            if (!creativeOnlyWorlds.contains(worldName)) {
+            String worldName = store.getExternalData().getWorld().getName();
+            if (!configManager.getWorldSettings(worldName).creativeOnlyBreaking()) {
                 return;
             }
 
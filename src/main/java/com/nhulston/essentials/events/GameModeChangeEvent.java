@@ -121,7 +121,7 @@ public class GameModeChangeEvent {
                     lastKnownGameMode.put(playerRef.getUuid(), GameMode.Creative);
 
                     // Send message to player
-                    Msg.send(playerRef, messages.get("commands.gamemode.blocked-creative-items"));
+                    Msg.send(playerRef, messages.get(playerRef, "commands.gamemode.blocked-creative-items"));
 
                     Log.info("Blocked gamemode change for player " + playerRef.getUsername() +
                             " - has Creative mode items in inventory");
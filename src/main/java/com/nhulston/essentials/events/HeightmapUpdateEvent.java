@@ -0,0 +1,95 @@
+package com.nhulston.essentials.events;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentRegistryProxy;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.EntityEventSystem;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.event.events.ecs.BreakBlockEvent;
+import com.hypixel.hytale.server.core.event.events.ecs.PlaceBlockEvent;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.HeightmapCache;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Keeps the heightmap cache current as players place and break blocks.
+ * Runs whether or not another system cancels the event: forgetting a column costs one rescan at most.
+ */
+public class HeightmapUpdateEvent {
+    private final HeightmapCache heightmapCache;
+
+    public HeightmapUpdateEvent(@Nonnull HeightmapCache heightmapCache) {
+        this.heightmapCache = heightmapCache;
+    }
+
+    public void register(@Nonnull ComponentRegistryProxy<EntityStore> registry) {
+        registry.registerSystem(new BreakBlockHeightmapSystem(heightmapCache));
+        registry.registerSystem(new PlaceBlockHeightmapSystem(heightmapCache));
+    }
+
+    private static void onBlockChanged(@Nonnull HeightmapCache heightmapCache, @Nonnull Store<EntityStore> store,
+                                       @Nonnull Vector3i block) {
+        World world = store.getExternalData().getWorld();
+        int x = block.getX();
+        int y = block.getY();
+        int z = block.getZ();
+        // The event fires before the block changes. Forgetting the column now would let a scan in between
+        // cache the old surface, so wait until the change has been applied
+        world.execute(() -> heightmapCache.onBlockChanged(world.getName(), x, y, z));
+    }
+
+    /**
+     * Invalidates a column when a block at or above its surface is broken.
+     */
+    private static class BreakBlockHeightmapSystem extends EntityEventSystem<EntityStore, BreakBlockEvent> {
+        private final HeightmapCache heightmapCache;
+
+        BreakBlockHeightmapSystem(HeightmapCache heightmapCache) {
+            super(BreakBlockEvent.class);
+            this.heightmapCache = heightmapCache;
+        }
+
+        @Override
+        public Query<EntityStore> getQuery() {
+            return Query.any();
+        }
+
+        @Override
+        public void handle(int index, @NotNull ArchetypeChunk<EntityStore> chunk,
+                           @NotNull Store<EntityStore> store,
+                           @NotNull CommandBuffer<EntityStore> buffer,
+                           @NotNull BreakBlockEvent event) {
+            onBlockChanged(heightmapCache, store, event.getTargetBlock());
+        }
+    }
+
+    /**
+     * Invalidates a column when a block is placed at or above its surface.
+     */
+    private static class PlaceBlockHeightmapSystem extends EntityEventSystem<EntityStore, PlaceBlockEvent> {
+        private final HeightmapCache heightmapCache;
+
+        PlaceBlockHeightmapSystem(HeightmapCache heightmapCache) {
+            super(PlaceBlockEvent.class);
+            this.heightmapCache = heightmapCache;
+        }
+
+        @Override
+        public Query<EntityStore> getQuery() {
+            return Query.any();
+        }
+
+        @Override
+        public void handle(int index, @NotNull ArchetypeChunk<EntityStore> chunk,
+                           @NotNull Store<EntityStore> store,
+                           @NotNull CommandBuffer<EntityStore> buffer,
+                           @NotNull PlaceBlockEvent event) {
+            onBlockChanged(heightmapCache, store, event.getTargetBlock());
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.hypixel.hytale.server.core.universe.Universe;
 import com.nhulston.essentials.util.ColorUtil;
 import com.nhulston.essentials.util.ConfigManager;
 import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.PlaceholderEngine;
 import com.nhulston.essentials.util.StorageManager;
 
 import javax.annotation.Nonnull;
@@ -55,11 +56,8 @@ public class JoinLeaveEvent {
                 message = configManager.getJoinMessage();
             }
 
-            // Replace placeholder
-            message = message.replace("%player%", playerName);
-
             // Broadcast to all players
-            Universe.get().sendMessage(ColorUtil.colorize(message));
+            Universe.get().sendMessage(ColorUtil.colorize(PlaceholderEngine.render(message, playerRef)));
         });
 
         // Leave messages - PlayerDisconnectEvent fires when player disconnects
@@ -68,12 +66,7 @@ public class JoinLeaveEvent {
                 return;
             }
 
-            PlayerRef playerRef = event.getPlayerRef();
-            String playerName = playerRef.getUsername();
-            String message = configManager.getLeaveMessage();
-
-            // Replace placeholder
-            message = message.replace("%player%", playerName);
+            String message = PlaceholderEngine.render(configManager.getLeaveMessage(), event.getPlayerRef());
 
             // Broadcast to all remaining players (thread-safe)
             Universe.get().sendMessage(ColorUtil.colorize(message));
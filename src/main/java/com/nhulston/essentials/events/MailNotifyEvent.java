@@ -0,0 +1,34 @@
+package com.nhulston.essentials.events;
+
+import com.hypixel.hytale.event.EventRegistry;
+import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.managers.MailManager;
+import com.nhulston.essentials.util.MessageManager;
+import com.nhulston.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+
+/**
+ * Tells players about unread mail on join. Only checks the mail index, never the mailbox itself.
+ */
+public class MailNotifyEvent {
+    private final MailManager mailManager;
+    private final MessageManager messages;
+
+    public MailNotifyEvent(@Nonnull MailManager mailManager, @Nonnull MessageManager messages) {
+        this.mailManager = mailManager;
+        this.messages = messages;
+    }
+
+    public void register(@Nonnull EventRegistry eventRegistry) {
+        eventRegistry.registerGlobal(PlayerConnectEvent.class, event -> {
+            PlayerRef playerRef = event.getPlayerRef();
+            int unread = mailManager.getUnreadCount(playerRef.getUuid());
+            if (unread > 0) {
+                Msg.send(playerRef, messages.get(playerRef, "commands.mail.unread", Map.of("count", String.valueOf(unread))));
+            }
+        });
+    }
+}
@@ -4,6 +4,7 @@ import com.hypixel.hytale.event.EventRegistry;
 import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
 import com.nhulston.essentials.util.ColorUtil;
 import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.PlaceholderEngine;
 
 import javax.annotation.Nonnull;
 
@@ -23,11 +24,7 @@ public class MotdEvent {
                 return;
             }
 
-            String message = configManager.getMotdMessage();
-            String playerName = event.getPlayerRef().getUsername();
-
-            // Replace placeholder
-            message = message.replace("%player%", playerName);
+            String message = PlaceholderEngine.render(configManager.getMotdMessage(), event.getPlayerRef());
 
             // Normalize line endings (remove \r from Windows line endings)
             message = message.replace("\r", "");
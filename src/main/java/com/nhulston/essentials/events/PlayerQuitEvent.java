@@ -5,10 +5,18 @@ import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.nhulston.essentials.commands.freecam.FreecamCommand;
 import com.nhulston.essentials.commands.msg.MsgCommand;
 import com.nhulston.essentials.managers.BackManager;
+import com.nhulston.essentials.managers.ChannelManager;
+import com.nhulston.essentials.managers.ChatManager;
 import com.nhulston.essentials.managers.CreativeItemTracker;
+import com.nhulston.essentials.managers.FloodLimiter;
+import com.nhulston.essentials.managers.IgnoreManager;
+import com.nhulston.essentials.managers.MentionManager;
+import com.nhulston.essentials.managers.RtpQueue;
+import com.nhulston.essentials.managers.SocialSpyManager;
 import com.nhulston.essentials.managers.TeleportManager;
 import com.nhulston.essentials.managers.TpaManager;
 import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.MessageManager;
 import com.nhulston.essentials.util.StorageManager;
 
 import javax.annotation.Nonnull;
@@ -24,17 +32,41 @@ public class PlayerQuitEvent {
     private final TeleportManager teleportManager;
     private final BackManager backManager;
     private final CreativeItemTracker creativeItemTracker;
+    private final ChatManager chatManager;
+    private final FloodLimiter floodLimiter;
+    private final ChannelManager channelManager;
+    private final MentionManager mentionManager;
+    private final IgnoreManager ignoreManager;
+    private final SocialSpyManager socialSpyManager;
+    private final MessageManager messageManager;
+    private final RtpQueue rtpQueue;
 
     public PlayerQuitEvent(@Nonnull StorageManager storageManager,
                            @Nonnull TpaManager tpaManager,
                            @Nonnull TeleportManager teleportManager,
                            @Nonnull BackManager backManager,
-                           @Nonnull CreativeItemTracker creativeItemTracker) {
+                           @Nonnull CreativeItemTracker creativeItemTracker,
+                           @Nonnull ChatManager chatManager,
+                           @Nonnull FloodLimiter floodLimiter,
+                           @Nonnull ChannelManager channelManager,
+                           @Nonnull MentionManager mentionManager,
+                           @Nonnull IgnoreManager ignoreManager,
+                           @Nonnull SocialSpyManager socialSpyManager,
+                           @Nonnull MessageManager messageManager,
+                           @Nonnull RtpQueue rtpQueue) {
         this.storageManager = storageManager;
         this.tpaManager = tpaManager;
         this.teleportManager = teleportManager;
         this.backManager = backManager;
         this.creativeItemTracker = creativeItemTracker;
+        this.chatManager = chatManager;
+        this.floodLimiter = floodLimiter;
+        this.channelManager = channelManager;
+        this.mentionManager = mentionManager;
+        this.ignoreManager = ignoreManager;
+        this.socialSpyManager = socialSpyManager;
+        this.messageManager = messageManager;
+        this.rtpQueue = rtpQueue;
     }
 
     public void register(@Nonnull EventRegistry eventRegistry) {
@@ -44,10 +76,18 @@ public class PlayerQuitEvent {
             // Save and clean up player data
             storageManager.savePlayerData(playerUuid);
             storageManager.unloadPlayer(playerUuid);
+            ignoreManager.onPlayerQuit(playerUuid);
             tpaManager.onPlayerQuit(playerUuid);
             teleportManager.onPlayerQuit(playerUuid);
             backManager.onPlayerQuit(playerUuid);
             creativeItemTracker.onPlayerQuit(playerUuid);
+            chatManager.onPlayerQuit(playerUuid);
+            floodLimiter.onPlayerQuit(playerUuid);
+            channelManager.onPlayerQuit(playerUuid);
+            mentionManager.onPlayerQuit(playerUuid);
+            socialSpyManager.onPlayerQuit(playerUuid);
+            messageManager.onPlayerQuit(playerUuid);
+            rtpQueue.onPlayerQuit(playerUuid);
 
             // Clean up static command/event data
             MsgCommand.onPlayerQuit(playerUuid);
@@ -0,0 +1,64 @@
+package com.nhulston.essentials.events;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentRegistryProxy;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.event.EventRegistry;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.PlayerSpatialIndex;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Keeps the player spatial index up to date with player positions.
+ */
+public class PlayerTrackingEvent {
+    private final PlayerSpatialIndex spatialIndex;
+
+    public PlayerTrackingEvent(@Nonnull PlayerSpatialIndex spatialIndex) {
+        this.spatialIndex = spatialIndex;
+    }
+
+    public void registerSystems(@Nonnull ComponentRegistryProxy<EntityStore> registry) {
+        registry.registerSystem(new PlayerTrackingSystem(spatialIndex));
+    }
+
+    public void registerEvents(@Nonnull EventRegistry eventRegistry) {
+        eventRegistry.registerGlobal(PlayerDisconnectEvent.class, event ->
+                spatialIndex.remove(event.getPlayerRef().getUuid()));
+    }
+
+    /**
+     * Reports each player's position to the index every tick.
+     */
+    private static class PlayerTrackingSystem extends EntityTickingSystem<EntityStore> {
+        private final PlayerSpatialIndex spatialIndex;
+
+        PlayerTrackingSystem(@Nonnull PlayerSpatialIndex spatialIndex) {
+            this.spatialIndex = spatialIndex;
+        }
+
+        @Override
+        public Query<EntityStore> getQuery() {
+            return Query.has(PlayerRef.getComponentType());
+        }
+
+        @Override
+        public void tick(float deltaTime, int index, ArchetypeChunk<EntityStore> chunk,
+                         @NotNull Store<EntityStore> store, @NotNull CommandBuffer<EntityStore> buffer) {
+            PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
+            if (playerRef == null) {
+                return;
+            }
+
+            String worldName = store.getExternalData().getWorld().getName();
+            spatialIndex.update(playerRef, worldName, playerRef.getTransform().getPosition());
+        }
+    }
+}
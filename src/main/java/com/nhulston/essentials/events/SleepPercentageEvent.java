@@ -10,8 +10,10 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.RefChangeSystem;
 import com.hypixel.hytale.server.core.modules.time.WorldTimeResource;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.PlayerSpatialIndex;
 import com.nhulston.essentials.util.ColorUtil;
 import com.nhulston.essentials.util.ConfigManager;
 import com.nhulston.essentials.util.Log;
@@ -29,14 +31,17 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class SleepPercentageEvent {
     private final ConfigManager configManager;
     private final MessageManager messages;
+    private final PlayerSpatialIndex spatialIndex;
 
-    public SleepPercentageEvent(@Nonnull ConfigManager configManager, @Nonnull MessageManager messages) {
+    public SleepPercentageEvent(@Nonnull ConfigManager configManager, @Nonnull MessageManager messages,
+                                @Nonnull PlayerSpatialIndex spatialIndex) {
         this.configManager = configManager;
         this.messages = messages;
+        this.spatialIndex = spatialIndex;
     }
 
     public void register(@Nonnull ComponentRegistryProxy<EntityStore> registry) {
-        registry.registerSystem(new SleepTrackingSystem(configManager, messages));
+        registry.registerSystem(new SleepTrackingSystem(configManager, messages, spatialIndex));
     }
 
     /**
@@ -49,12 +54,14 @@ public class SleepPercentageEvent {
 
         private final ConfigManager config;
         private final MessageManager messages;
+        private final PlayerSpatialIndex spatialIndex;
         // Track sleeping players per world
         private final Map<String, AtomicInteger> sleepingCountPerWorld = new ConcurrentHashMap<>();
 
-        SleepTrackingSystem(ConfigManager config, MessageManager messages) {
+        SleepTrackingSystem(ConfigManager config, MessageManager messages, PlayerSpatialIndex spatialIndex) {
             this.config = config;
             this.messages = messages;
+            this.spatialIndex = spatialIndex;
         }
 
         @Override
@@ -147,7 +154,7 @@ public class SleepPercentageEvent {
             if (totalPlayers == 0) return;
 
             int sleepPercentage = (sleepingCount * 100) / totalPlayers;
-            int requiredPercentage = config.getSleepPercentage();
+            int requiredPercentage = config.getWorldSettings(world.getName()).sleepPercentage();
 
             if (sleepPercentage >= requiredPercentage) {
                 // Only skip if it's actually nighttime
@@ -175,10 +182,12 @@ public class SleepPercentageEvent {
                 count.set(0);
             }
 
-            // Broadcast message
-            String message = messages.get("sleep.skipping");
-            if (!message.isEmpty()) {
-                world.sendMessage(ColorUtil.colorize(message));
+            // Broadcast message, in each player's language
+            for (PlayerRef player : spatialIndex.getPlayersInWorld(worldName)) {
+                String message = messages.get(player, "sleep.skipping");
+                if (!message.isEmpty()) {
+                    player.sendMessage(ColorUtil.colorize(message));
+                }
             }
             Log.info("Night skipped in world '" + worldName + "' due to sleep percentage.");
         }
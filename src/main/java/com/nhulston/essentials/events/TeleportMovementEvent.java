@@ -10,13 +10,18 @@ import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.components.PendingTeleportComponent;
 import com.nhulston.essentials.managers.TeleportManager;
+import com.nhulston.essentials.util.Diagnostics;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Checks player movement each tick and cancels pending teleports if they move too far.
+ * Only players tagged with {@link PendingTeleportComponent} are visited, so with no pending teleports
+ * the system does no work, however many entities the worlds hold.
  */
 public class TeleportMovementEvent {
     private final TeleportManager teleportManager;
@@ -26,6 +31,8 @@ public class TeleportMovementEvent {
     }
 
     public void register(@Nonnull ComponentRegistryProxy<EntityStore> registry) {
+        // The component type has to exist before the system's query is built
+        PendingTeleportComponent.register(registry);
         registry.registerSystem(new TeleportMovementCheckSystem(teleportManager));
     }
 
@@ -34,34 +41,40 @@ public class TeleportMovementEvent {
      */
     private static class TeleportMovementCheckSystem extends EntityTickingSystem<EntityStore> {
         private final TeleportManager teleportManager;
+        // Entities visited and time spent, to compare against the old every-entity scan
+        private final LongAdder visits = new LongAdder();
+        private final LongAdder tickNanos = new LongAdder();
 
         TeleportMovementCheckSystem(@Nonnull TeleportManager teleportManager) {
             this.teleportManager = teleportManager;
+
+            Diagnostics.register("teleport.tick-visits", visits::sum);
+            Diagnostics.register("teleport.tick-time", () -> Diagnostics.formatMillis(tickNanos.sum()));
         }
 
         @Override
         public Query<EntityStore> getQuery() {
-            return Query.any();
+            return Query.and(Query.has(PendingTeleportComponent.getComponentType()),
+                    Query.has(PlayerRef.getComponentType()));
         }
 
         @Override
         public void tick(float deltaTime, int index, ArchetypeChunk<EntityStore> chunk,
                          @NotNull Store<EntityStore> store, @NotNull CommandBuffer<EntityStore> buffer) {
+            long start = System.nanoTime();
+            visits.increment();
+
             PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
             if (playerRef == null) {
                 return;
             }
 
-            // Only check if player has a pending teleport
-            if (!teleportManager.hasPendingTeleport(playerRef.getUuid())) {
-                return;
-            }
-
             // Get the current entity ref from this tick (not the stored one from command time)
             Ref<EntityStore> currentRef = chunk.getReferenceTo(index);
             
             Vector3d currentPosition = playerRef.getTransform().getPosition();
-            teleportManager.tick(playerRef.getUuid(), currentRef, currentPosition, deltaTime, buffer);
+            teleportManager.tick(playerRef.getUuid(), currentRef, currentPosition, buffer);
+            tickNanos.add(System.nanoTime() - start);
         }
     }
 }
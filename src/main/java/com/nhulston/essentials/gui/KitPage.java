@@ -129,7 +129,7 @@ public class KitPage extends InteractiveCustomUIPage<KitPage.KitPageData> {
 
         Kit kit = kitManager.getKit(data.kit);
         if (kit == null) {
-            Msg.send(playerRef, messages.get("gui.kit.not-found"));
+            Msg.send(playerRef, messages.get(playerRef, "gui.kit.not-found"));
             this.close();
             return;
         }
@@ -137,7 +137,7 @@ public class KitPage extends InteractiveCustomUIPage<KitPage.KitPageData> {
         // Check permission
         String permission = "essentials.kit." + kit.getId();
         if (!PermissionsModule.get().hasPermission(playerRef.getUuid(), permission)) {
-            Msg.send(playerRef, messages.get("gui.kit.no-permission"));
+            Msg.send(playerRef, messages.get(playerRef, "gui.kit.no-permission"));
             this.close();
             return;
         }
@@ -147,7 +147,7 @@ public class KitPage extends InteractiveCustomUIPage<KitPage.KitPageData> {
         if (!canBypassCooldown) {
             long remainingCooldown = kitManager.getRemainingCooldown(playerRef.getUuid(), kit.getId());
             if (remainingCooldown > 0) {
-                Msg.send(playerRef, messages.get("gui.kit.cooldown", Map.of("time", CooldownUtil.formatCooldown(remainingCooldown))));
+                Msg.send(playerRef, messages.get(playerRef, "gui.kit.cooldown", Map.of("time", CooldownUtil.formatCooldown(remainingCooldown))));
                 this.close();
                 return;
             }
@@ -156,14 +156,14 @@ public class KitPage extends InteractiveCustomUIPage<KitPage.KitPageData> {
         // Get player inventory
         Player player = store.getComponent(ref, Player.getComponentType());
         if (player == null) {
-            Msg.send(playerRef, messages.get("gui.kit.inventory-error"));
+            Msg.send(playerRef, messages.get(playerRef, "gui.kit.inventory-error"));
             this.close();
             return;
         }
 
         Inventory inventory = player.getInventory();
         if (inventory == null) {
-            Msg.send(playerRef, messages.get("gui.kit.inventory-error"));
+            Msg.send(playerRef, messages.get(playerRef, "gui.kit.inventory-error"));
             this.close();
             return;
         }
@@ -179,7 +179,7 @@ public class KitPage extends InteractiveCustomUIPage<KitPage.KitPageData> {
             kitManager.setKitUsed(playerRef.getUuid(), kit.getId());
         }
 
-        Msg.send(playerRef, messages.get("gui.kit.received", Map.of("kit", kit.getDisplayName())));
+        Msg.send(playerRef, messages.get(playerRef, "gui.kit.received", Map.of("kit", kit.getDisplayName())));
         this.close();
     }
 
@@ -0,0 +1,146 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.nhulston.essentials.util.ColorUtil;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Diagnostics;
+import com.nhulston.essentials.util.Log;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Broadcasts the [announcements] messages in rotation on a single timer.
+ * Announcements are prefixed and colorized once per (re)load; each tick only resolves the recipients
+ * of the next announcement (everyone, its worlds via the spatial index, then its permission) and sends
+ * the same pre-built lines to all of them.
+ */
+public class AnnouncementManager {
+    /**
+     * An announcement ready to send.
+     */
+    private record Prepared(@Nonnull List<Message> lines, @Nonnull List<String> worlds,
+                            @Nonnull String permission) {}
+
+    private final ConfigManager configManager;
+    private final PlayerSpatialIndex spatialIndex;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong sent = new AtomicLong();
+
+    private volatile List<Prepared> announcements = List.of();
+    private ScheduledFuture<?> task;
+    private volatile int nextIndex = 0;
+
+    public AnnouncementManager(@Nonnull ConfigManager configManager, @Nonnull PlayerSpatialIndex spatialIndex) {
+        this.configManager = configManager;
+        this.spatialIndex = spatialIndex;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Essentials-Announcer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Diagnostics.register("announcements.loaded", () -> announcements.size());
+        Diagnostics.register("announcements.sent", sent::get);
+
+        reload();
+    }
+
+    /**
+     * Re-renders announcements from config and restarts the timer.
+     */
+    public synchronized void reload() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+
+        String prefix = configManager.isAnnouncementsUseShoutPrefix() ? configManager.getShoutPrefix() : "";
+        List<Prepared> prepared = new ArrayList<>();
+        for (ConfigManager.Announcement announcement : configManager.getAnnouncements()) {
+            List<Message> lines = new ArrayList<>();
+            // Normalize line endings (remove \r from Windows line endings), like the MOTD
+            for (String line : announcement.text().replace("\r", "").split("\n")) {
+                if (!line.isBlank()) {
+                    lines.add(ColorUtil.colorize(prefix + line));
+                }
+            }
+            prepared.add(new Prepared(List.copyOf(lines), announcement.worlds(), announcement.permission()));
+        }
+        announcements = List.copyOf(prepared);
+        nextIndex = 0;
+
+        if (!configManager.isAnnouncementsEnabled() || prepared.isEmpty()) {
+            return;
+        }
+
+        long interval = configManager.getAnnouncementsInterval();
+        task = scheduler.scheduleAtFixedRate(this::announceNext, interval, interval, TimeUnit.SECONDS);
+        Log.info("Announcements scheduled: " + prepared.size() + " every " + interval + "s.");
+    }
+
+    /**
+     * Stops the timer.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void announceNext() {
+        try {
+            List<Prepared> current = announcements;
+            if (current.isEmpty()) {
+                return;
+            }
+            Prepared announcement = current.get(nextIndex % current.size());
+            nextIndex = (nextIndex + 1) % current.size();
+            send(announcement);
+        } catch (Exception e) {
+            // An exception would cancel the fixed-rate task
+            Log.error("Failed to send announcement: " + e.getMessage());
+        }
+    }
+
+    private void send(@Nonnull Prepared announcement) {
+        // Everyone: one broadcast per line
+        if (announcement.worlds().isEmpty() && announcement.permission().isEmpty()) {
+            for (Message line : announcement.lines()) {
+                Universe.get().sendMessage(line);
+            }
+            sent.incrementAndGet();
+            return;
+        }
+
+        Set<PlayerRef> recipients = new LinkedHashSet<>();
+        if (announcement.worlds().isEmpty()) {
+            recipients.addAll(Universe.get().getPlayers());
+        } else {
+            for (String world : announcement.worlds()) {
+                recipients.addAll(spatialIndex.getPlayersInWorld(world));
+            }
+        }
+
+        String permission = announcement.permission();
+        PermissionsModule permissions = PermissionsModule.get();
+        for (PlayerRef player : recipients) {
+            if (!permission.isEmpty() && !permissions.hasPermission(player.getUuid(), permission)) {
+                continue;
+            }
+            for (Message line : announcement.lines()) {
+                player.sendMessage(line);
+            }
+        }
+        sent.incrementAndGet();
+    }
+}
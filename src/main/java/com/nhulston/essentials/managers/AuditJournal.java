@@ -0,0 +1,582 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Diagnostics;
+import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.MpscRingBuffer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Append-only journal of chat, private messages, shouts, teleports and kit claims for moderation.
+ * Callers (world threads, the chat pipeline) only push a record into a lock-free ring buffer;
+ * one writer thread drains it into gzip-compressed segment files that are rotated by size and age.
+ * Each segment has a small index (time range and the players in it) so queries skip segments that can't match.
+ * When the buffer is full, records are dropped and counted rather than blocking the caller.
+ */
+public class AuditJournal {
+    // "EAJ1": Essentials audit journal, format version 1
+    private static final int MAGIC = 0x45414A31;
+    private static final String SEGMENT_PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".seg.gz";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final int MAX_DETAIL_LENGTH = 512;
+    private static final int DRAIN_BATCH = 512;
+    private static final long IDLE_SLEEP_MS = 20;
+    // Records become visible to queries once flushed
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    public static final UUID CONSOLE_UUID = new UUID(0, 0);
+    public static final String CONSOLE_NAME = "Console";
+
+    public enum Type {
+        CHAT,
+        MSG,
+        SHOUT,
+        TELEPORT,
+        KIT
+    }
+
+    /**
+     * One journaled action. The target is the other player involved, if any.
+     */
+    public record Entry(long timestamp, @Nonnull Type type,
+                        @Nonnull UUID actor, @Nonnull String actorName,
+                        @Nullable UUID target, @Nullable String targetName,
+                        @Nonnull String detail) {
+
+        public boolean involves(@Nonnull UUID player) {
+            return actor.equals(player) || player.equals(target);
+        }
+    }
+
+    /**
+     * Index of one segment file: time range, record count and every player appearing in it.
+     * Updated by the writer thread only.
+     */
+    private static final class Segment {
+        final Path file;
+        final long start;
+        final Set<UUID> players = ConcurrentHashMap.newKeySet();
+        volatile long first = Long.MAX_VALUE;
+        volatile long last = Long.MIN_VALUE;
+        volatile int count = 0;
+
+        Segment(@Nonnull Path file, long start) {
+            this.file = file;
+            this.start = start;
+        }
+
+        void add(@Nonnull Entry entry) {
+            if (entry.timestamp() < first) first = entry.timestamp();
+            if (entry.timestamp() > last) last = entry.timestamp();
+            players.add(entry.actor());
+            if (entry.target() != null) players.add(entry.target());
+            count++;
+        }
+
+        boolean overlaps(long from, long to) {
+            return count > 0 && first <= to && last >= from;
+        }
+
+        @Nonnull
+        Path indexFile() {
+            String name = file.getFileName().toString();
+            return file.resolveSibling(name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + INDEX_SUFFIX);
+        }
+    }
+
+    private final ConfigManager configManager;
+    private final Path directory;
+    private final MpscRingBuffer<Entry> buffer;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Writer thread state
+    private DataOutputStream out;
+    private Segment current;
+    private long lastTimestamp;
+    private boolean failing = false;
+
+    // Metrics
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long written = 0;
+    private volatile int highWater = 0;
+    private volatile long writeErrors = 0;
+
+    public AuditJournal(@Nonnull Path dataFolder, @Nonnull ConfigManager configManager) {
+        this.configManager = configManager;
+        this.directory = dataFolder.resolve("audit");
+        this.buffer = new MpscRingBuffer<>(configManager.getAuditBufferSize());
+
+        Diagnostics.register("audit.queued", buffer::size);
+        Diagnostics.register("audit.queue-capacity", buffer::capacity);
+        Diagnostics.register("audit.queue-high-water", () -> highWater);
+        Diagnostics.register("audit.dropped", dropped::get);
+        Diagnostics.register("audit.written", () -> written);
+        Diagnostics.register("audit.write-errors", () -> writeErrors);
+        Diagnostics.register("audit.segments", segments::size);
+
+        writer = new Thread(this::runWriter, "Essentials-Audit");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Journals an action by a player. Never blocks; safe to call from any thread.
+     */
+    public void record(@Nonnull Type type, @Nonnull PlayerRef actor, @Nullable PlayerRef target,
+                       @Nonnull String detail) {
+        record(type, actor.getUuid(), actor.getUsername(),
+                target != null ? target.getUuid() : null, target != null ? target.getUsername() : null, detail);
+    }
+
+    /**
+     * Journals an action. Use {@link #CONSOLE_UUID} and {@link #CONSOLE_NAME} for the console.
+     */
+    public void record(@Nonnull Type type, @Nonnull UUID actor, @Nonnull String actorName,
+                       @Nullable UUID target, @Nullable String targetName, @Nonnull String detail) {
+        if (!configManager.isAuditEnabled() || !running) {
+            return;
+        }
+
+        String trimmed = detail.length() > MAX_DETAIL_LENGTH ? detail.substring(0, MAX_DETAIL_LENGTH) : detail;
+        Entry entry = new Entry(System.currentTimeMillis(), type, actor, actorName, target, targetName, trimmed);
+        if (!buffer.offer(entry)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Finds the newest entries in a time range, optionally only those involving a player.
+     * Reads segment files, so call it off the world threads.
+     *
+     * @param player Player to filter on, or null for everyone
+     * @param limit  Maximum number of entries returned (the newest ones, oldest first)
+     */
+    @Nonnull
+    public List<Entry> query(@Nullable UUID player, long from, long to, int limit) {
+        ArrayDeque<Entry> newest = new ArrayDeque<>(limit);
+        for (Segment segment : segments) {
+            if (!segment.overlaps(from, to) || (player != null && !segment.players.contains(player))) {
+                continue;
+            }
+
+            try {
+                readSegment(segment.file, entry -> {
+                    if (entry.timestamp() < from || entry.timestamp() > to
+                            || (player != null && !entry.involves(player))) {
+                        return;
+                    }
+                    if (newest.size() == limit) {
+                        newest.pollFirst();
+                    }
+                    newest.addLast(entry);
+                });
+            } catch (NoSuchFileException e) {
+                // Expired and deleted while we were looking
+            } catch (IOException e) {
+                Log.warning("Failed to read audit segment " + segment.file.getFileName() + ": " + e.getMessage());
+            }
+        }
+        return new ArrayList<>(newest);
+    }
+
+    /**
+     * Stops the writer, letting it write what is queued and close the open segment.
+     */
+    public void shutdown() {
+        // No interrupt: it would close the segment file channel under the writer
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        loadSegments();
+
+        long lastFlush = System.nanoTime();
+        boolean unflushed = false;
+        while (running) {
+            int queued = buffer.size();
+            if (queued > highWater) {
+                highWater = queued;
+            }
+
+            int drained = buffer.drain(this::writeSafely, DRAIN_BATCH);
+            unflushed |= drained > 0;
+
+            long now = System.nanoTime();
+            if (unflushed && now - lastFlush >= FLUSH_INTERVAL_NANOS) {
+                flushSafely();
+                unflushed = false;
+                lastFlush = now;
+            }
+
+            if (drained == 0) {
+                // Producers never wake the writer, so idle by polling
+                try {
+                    Thread.sleep(IDLE_SLEEP_MS);
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+        }
+
+        // Write what is left and close the segment so its gzip trailer and index are written
+        while (buffer.drain(this::writeSafely, DRAIN_BATCH) > 0) {
+            // Keep draining
+        }
+        try {
+            closeCurrent();
+        } catch (IOException e) {
+            Log.error("Failed to close audit segment: " + e.getMessage());
+        }
+    }
+
+    private void writeSafely(@Nonnull Entry entry) {
+        try {
+            write(entry);
+            written++;
+            failing = false;
+        } catch (IOException e) {
+            writeErrors++;
+            if (!failing) {
+                Log.error("Failed to write audit journal: " + e.getMessage());
+                failing = true;
+            }
+            // Start a fresh segment with the next record
+            try {
+                closeCurrent();
+            } catch (IOException ignored) {
+                out = null;
+                current = null;
+            }
+        }
+    }
+
+    private void flushSafely() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.flush();
+        } catch (IOException e) {
+            writeErrors++;
+        }
+    }
+
+    /**
+     * Record layout, all inside the segment's gzip stream:
+     * zigzag varint ms since the previous record, type byte, actor UUID + name,
+     * target flag (+ UUID + name), detail as varint length + UTF-8 bytes.
+     */
+    private void write(@Nonnull Entry entry) throws IOException {
+        if (current == null || needsRotation(entry.timestamp())) {
+            rotate(entry.timestamp());
+        }
+
+        writeVarLong(out, zigzag(entry.timestamp() - lastTimestamp));
+        lastTimestamp = entry.timestamp();
+        out.writeByte(entry.type().ordinal());
+        writeUuid(out, entry.actor());
+        writeString(out, entry.actorName());
+        if (entry.target() != null) {
+            out.writeByte(1);
+            writeUuid(out, entry.target());
+            writeString(out, entry.targetName() != null ? entry.targetName() : "");
+        } else {
+            out.writeByte(0);
+        }
+        writeString(out, entry.detail());
+
+        current.add(entry);
+    }
+
+    private boolean needsRotation(long timestamp) {
+        long maxBytes = configManager.getAuditSegmentSizeMb() * 1024L * 1024L;
+        long maxAge = TimeUnit.MINUTES.toMillis(configManager.getAuditSegmentMinutes());
+        return out.size() >= maxBytes || timestamp - current.start >= maxAge;
+    }
+
+    private void rotate(long now) throws IOException {
+        closeCurrent();
+        Files.createDirectories(directory);
+
+        long start = now;
+        Path file = segmentFile(start);
+        while (Files.exists(file)) {
+            file = segmentFile(++start);
+        }
+
+        // Sync flush lets queries read everything written so far while the segment is still open
+        out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(file), 8192, true), 8192));
+        out.writeInt(MAGIC);
+        out.writeLong(start);
+        lastTimestamp = start;
+        current = new Segment(file, start);
+        segments.add(current);
+
+        deleteExpired(now);
+    }
+
+    private void closeCurrent() throws IOException {
+        if (out == null) {
+            return;
+        }
+        DataOutputStream closing = out;
+        Segment closed = current;
+        out = null;
+        current = null;
+        closing.close();
+        writeIndex(closed);
+    }
+
+    private void deleteExpired(long now) {
+        int retentionDays = configManager.getAuditRetentionDays();
+        if (retentionDays <= 0) {
+            return;
+        }
+
+        long cutoff = now - TimeUnit.DAYS.toMillis(retentionDays);
+        for (Segment segment : segments) {
+            long end = segment.count > 0 ? segment.last : segment.start;
+            if (segment != current && end < cutoff) {
+                segments.remove(segment);
+                try {
+                    Files.deleteIfExists(segment.file);
+                    Files.deleteIfExists(segment.indexFile());
+                } catch (IOException e) {
+                    Log.warning("Failed to delete audit segment " + segment.file.getFileName() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Nonnull
+    private Path segmentFile(long start) {
+        return directory.resolve(SEGMENT_PREFIX + start + SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Loads the indexes of existing segments. A segment without an index
+     * (the server stopped before it was closed) is scanned once and indexed.
+     */
+    private void loadSegments() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        List<Segment> loaded = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                Segment segment = loadSegment(file);
+                if (segment != null) {
+                    loaded.add(segment);
+                }
+            }
+        } catch (IOException e) {
+            Log.error("Failed to list audit segments: " + e.getMessage());
+        }
+
+        loaded.sort(Comparator.comparingLong(segment -> segment.start));
+        segments.addAll(loaded);
+        Log.info("Loaded " + loaded.size() + " audit journal segments.");
+    }
+
+    @Nullable
+    private Segment loadSegment(@Nonnull Path file) {
+        String name = file.getFileName().toString();
+        long start;
+        try {
+            start = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        Segment segment = new Segment(file, start);
+        if (readIndex(segment)) {
+            return segment;
+        }
+
+        try {
+            readSegment(file, segment::add);
+            writeIndex(segment);
+        } catch (IOException e) {
+            Log.warning("Failed to index audit segment " + name + ": " + e.getMessage());
+        }
+        return segment;
+    }
+
+    private boolean readIndex(@Nonnull Segment segment) {
+        Path indexFile = segment.indexFile();
+        if (!Files.exists(indexFile)) {
+            return false;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC) {
+                return false;
+            }
+            segment.first = in.readLong();
+            segment.last = in.readLong();
+            segment.count = in.readInt();
+            int players = in.readInt();
+            for (int i = 0; i < players; i++) {
+                segment.players.add(readUuid(in));
+            }
+            return true;
+        } catch (IOException e) {
+            Log.warning("Rebuilding audit index " + indexFile.getFileName() + ": " + e.getMessage());
+            segment.players.clear();
+            segment.first = Long.MAX_VALUE;
+            segment.last = Long.MIN_VALUE;
+            segment.count = 0;
+            return false;
+        }
+    }
+
+    private static void writeIndex(@Nonnull Segment segment) throws IOException {
+        try (DataOutputStream index = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(segment.indexFile())))) {
+            index.writeInt(MAGIC);
+            index.writeLong(segment.first);
+            index.writeLong(segment.last);
+            index.writeInt(segment.count);
+            List<UUID> players = new ArrayList<>(segment.players);
+            index.writeInt(players.size());
+            for (UUID player : players) {
+                writeUuid(index, player);
+            }
+        }
+    }
+
+    /**
+     * Reads every record of a segment. Stops quietly at the end of the flushed data of a segment that is
+     * still open or was never closed.
+     */
+    private static void readSegment(@Nonnull Path file, @Nonnull Consumer<Entry> consumer) throws IOException {
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(raw, 8192)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an audit segment");
+            }
+            long timestamp = in.readLong();
+            Type[] types = Type.values();
+
+            while (true) {
+                long delta;
+                try {
+                    delta = unzigzag(readVarLong(in));
+                } catch (EOFException e) {
+                    return;
+                }
+                timestamp += delta;
+
+                int typeId = in.readUnsignedByte();
+                UUID actor = readUuid(in);
+                String actorName = readString(in);
+                UUID target = null;
+                String targetName = null;
+                if (in.readByte() != 0) {
+                    target = readUuid(in);
+                    targetName = readString(in);
+                }
+                String detail = readString(in);
+
+                if (typeId < types.length) {
+                    consumer.accept(new Entry(timestamp, types[typeId], actor, actorName, target, targetName, detail));
+                }
+            }
+        } catch (EOFException e) {
+            // Truncated in the middle of a record: keep what was read
+        }
+    }
+
+    private static void writeUuid(@Nonnull DataOutputStream out, @Nonnull UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    @Nonnull
+    private static UUID readUuid(@Nonnull DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeString(@Nonnull DataOutputStream out, @Nonnull String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    @Nonnull
+    private static String readString(@Nonnull DataInputStream in) throws IOException {
+        long length = readVarLong(in);
+        if (length < 0 || length > MAX_DETAIL_LENGTH * 4L) {
+            throw new IOException("Corrupt string length " + length);
+        }
+        byte[] bytes = new byte[(int) length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarLong(@Nonnull DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(@Nonnull DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt varint");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,220 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.nhulston.essentials.util.ColorUtil;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Diagnostics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chat channels: global (everyone), local (players within a radius), world (same world) and staff.
+ * Each channel keeps the players talking in it in its own set; staff also keeps the set of players allowed to read it.
+ * Local and world recipients come from the player spatial index instead of a scan of every online player.
+ */
+public class ChannelManager {
+    private static final String PERMISSION_PREFIX = "essentials.channel.";
+
+    public enum Channel {
+        GLOBAL,
+        LOCAL,
+        WORLD,
+        STAFF;
+
+        @Nonnull
+        public String id() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        @Nonnull
+        public String getPermission() {
+            return PERMISSION_PREFIX + id();
+        }
+
+        @Nullable
+        public static Channel fromId(@Nonnull String id) {
+            for (Channel channel : values()) {
+                if (channel.id().equalsIgnoreCase(id)) {
+                    return channel;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final ConfigManager configManager;
+    private final PlayerSpatialIndex spatialIndex;
+
+    // Players talking in each channel (players in none of them use the default channel)
+    private final Map<Channel, Set<UUID>> speakers = new EnumMap<>(Channel.class);
+    // Players allowed to read staff chat
+    private final Set<UUID> staffListeners = ConcurrentHashMap.newKeySet();
+    private volatile Map<Channel, Message> prefixes = Map.of();
+
+    public ChannelManager(@Nonnull ConfigManager configManager, @Nonnull PlayerSpatialIndex spatialIndex) {
+        this.configManager = configManager;
+        this.spatialIndex = spatialIndex;
+        for (Channel channel : Channel.values()) {
+            speakers.put(channel, ConcurrentHashMap.newKeySet());
+        }
+        buildPrefixes();
+
+        for (Channel channel : Channel.values()) {
+            Diagnostics.register("channels." + channel.id(), () -> speakers.get(channel).size());
+        }
+    }
+
+    /**
+     * Rebuilds the pre-colorized channel prefixes and the staff listener set after a config reload.
+     */
+    public void reload() {
+        buildPrefixes();
+
+        staffListeners.clear();
+        for (PlayerRef player : Universe.get().getPlayers()) {
+            onPlayerJoin(player);
+        }
+    }
+
+    private void buildPrefixes() {
+        Map<Channel, Message> built = new EnumMap<>(Channel.class);
+        for (Channel channel : Channel.values()) {
+            String prefix = configManager.getChannelPrefix(channel.id());
+            if (!prefix.isEmpty()) {
+                built.put(channel, ColorUtil.colorize(prefix));
+            }
+        }
+        prefixes = built;
+    }
+
+    public boolean isEnabled() {
+        return configManager.isChannelsEnabled();
+    }
+
+    /**
+     * Gets the channel a player is talking in.
+     */
+    @Nonnull
+    public Channel getChannel(@Nonnull UUID playerUuid) {
+        if (!isEnabled()) {
+            return Channel.GLOBAL;
+        }
+        for (Channel channel : Channel.values()) {
+            if (speakers.get(channel).contains(playerUuid)) {
+                return channel;
+            }
+        }
+        // The default can be a channel that needs a permission (e.g. staff); everyone else talks in global
+        Channel defaultChannel = getDefaultChannel();
+        return canUse(playerUuid, defaultChannel) ? defaultChannel : Channel.GLOBAL;
+    }
+
+    /**
+     * Switches the channel a player is talking in.
+     */
+    public void setChannel(@Nonnull UUID playerUuid, @Nonnull Channel channel) {
+        for (Set<UUID> members : speakers.values()) {
+            members.remove(playerUuid);
+        }
+        if (channel != getDefaultChannel()) {
+            speakers.get(channel).add(playerUuid);
+        }
+        // Permission was checked on the way in, so a staff speaker can read the replies too
+        if (channel == Channel.STAFF) {
+            staffListeners.add(playerUuid);
+        }
+    }
+
+    /**
+     * Checks if a player may talk in a channel. Global needs no permission.
+     */
+    public boolean canUse(@Nonnull UUID playerUuid, @Nonnull Channel channel) {
+        return channel == Channel.GLOBAL || PermissionsModule.get().hasPermission(playerUuid, channel.getPermission());
+    }
+
+    /**
+     * Gets the configured default channel. Players who can't use it talk in global instead.
+     */
+    @Nonnull
+    public Channel getDefaultChannel() {
+        Channel channel = Channel.fromId(configManager.getChannelDefault());
+        return channel != null ? channel : Channel.GLOBAL;
+    }
+
+    /**
+     * Gets the pre-colorized prefix shown before messages in a channel, or null for none.
+     */
+    @Nullable
+    public Message getPrefix(@Nonnull Channel channel) {
+        return prefixes.get(channel);
+    }
+
+    /**
+     * Gets who should receive a message in a channel.
+     * Global keeps the event's targets; the others build their list from the spatial index or the staff set.
+     */
+    @Nonnull
+    public List<PlayerRef> resolveRecipients(@Nonnull PlayerRef sender, @Nonnull Channel channel,
+                                             @Nonnull List<PlayerRef> defaultTargets) {
+        switch (channel) {
+            case LOCAL -> {
+                PlayerSpatialIndex.Location location = spatialIndex.getLocation(sender.getUuid());
+                if (location == null) {
+                    return List.of(sender);
+                }
+                return spatialIndex.findNearby(location.world(), location.x(), location.y(), location.z(),
+                        configManager.getChannelLocalRadius());
+            }
+            case WORLD -> {
+                PlayerSpatialIndex.Location location = spatialIndex.getLocation(sender.getUuid());
+                return location != null ? spatialIndex.getPlayersInWorld(location.world()) : List.of(sender);
+            }
+            case STAFF -> {
+                List<PlayerRef> recipients = new ArrayList<>(staffListeners.size());
+                for (UUID uuid : staffListeners) {
+                    PlayerRef player = Universe.get().getPlayer(uuid);
+                    if (player != null) {
+                        recipients.add(player);
+                    }
+                }
+                return recipients;
+            }
+            default -> {
+                return defaultTargets;
+            }
+        }
+    }
+
+    /**
+     * Adds a joining player to the staff listeners if they may read staff chat.
+     */
+    public void onPlayerJoin(@Nonnull PlayerRef player) {
+        if (PermissionsModule.get().hasPermission(player.getUuid(), Channel.STAFF.getPermission())) {
+            staffListeners.add(player.getUuid());
+        } else {
+            staffListeners.remove(player.getUuid());
+        }
+    }
+
+    /**
+     * Cleans up player data on disconnect.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        for (Set<UUID> members : speakers.values()) {
+            members.remove(playerUuid);
+        }
+        staffListeners.remove(playerUuid);
+    }
+}
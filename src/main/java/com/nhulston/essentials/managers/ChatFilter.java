@@ -0,0 +1,336 @@
+package com.nhulston.essentials.managers;
+
+import com.nhulston.essentials.managers.ChatFilterManager.Action;
+import com.nhulston.essentials.managers.ChatFilterManager.Result;
+import com.nhulston.essentials.util.AhoCorasick;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The compiled filter entries and the scan over them, swapped into {@link ChatFilterManager} as one unit.
+ * Kept free of server types so the matching rules can be tested on their own.
+ * <p>
+ * Word entries and link entries are matched in separate passes over the message, each normalized its own way:
+ * the word pass drops all punctuation so "b.a.d" still matches "bad", while the link pass keeps dots, colons
+ * and slashes so "*.com" can match. Leetspeak is only folded in tokens that contain a letter, so "h3ll0" is
+ * "hello" but a plain number like "455" stays a number.
+ */
+final class ChatFilter {
+    private static final char BOUNDARY = ' ';
+
+    /**
+     * A filter entry after normalization.
+     */
+    private record Entry(@Nonnull Action action, boolean wordStart, boolean wordEnd) {}
+
+    /**
+     * One automaton over text normalized one way.
+     */
+    private record Pass(@Nonnull AhoCorasick automaton, @Nonnull Entry[] entries, boolean links) {}
+
+    private final Pass[] passes;
+    private final char replacement;
+    private final int entryCount;
+
+    private ChatFilter(@Nonnull Pass[] passes, char replacement, int entryCount) {
+        this.passes = passes;
+        this.replacement = replacement;
+        this.entryCount = entryCount;
+    }
+
+    /**
+     * Collects entries before building the automatons.
+     */
+    static final class Builder {
+        private final List<String> wordPatterns = new ArrayList<>();
+        private final List<Entry> wordEntries = new ArrayList<>();
+        private final List<String> linkPatterns = new ArrayList<>();
+        private final List<Entry> linkEntries = new ArrayList<>();
+
+        /**
+         * Adds a word or phrase entry. Returns false if nothing is left of it after normalization.
+         */
+        boolean addWord(@Nonnull String raw, @Nonnull Action action) {
+            return add(raw, action, false, wordPatterns, wordEntries);
+        }
+
+        /**
+         * Adds a link entry. Returns false if nothing is left of it after normalization.
+         */
+        boolean addLink(@Nonnull String raw, @Nonnull Action action) {
+            return add(raw, action, true, linkPatterns, linkEntries);
+        }
+
+        private static boolean add(@Nonnull String raw, @Nonnull Action action, boolean links,
+                                   @Nonnull List<String> patterns, @Nonnull List<Entry> entries) {
+            String value = raw.trim();
+            boolean wordStart = !value.startsWith("*");
+            boolean wordEnd = !value.endsWith("*") || value.length() == 1;
+            value = value.substring(wordStart ? 0 : 1, value.length() - (wordEnd ? 0 : 1));
+
+            char[] normalized = new char[value.length()];
+            int n = normalize(value, links, normalized, null, null);
+            // Trailing space would never match a collapsed boundary at the end of a message
+            while (n > 0 && normalized[n - 1] == BOUNDARY) {
+                n--;
+            }
+            if (n == 0) {
+                return false;
+            }
+            patterns.add(new String(normalized, 0, n));
+            entries.add(new Entry(action, wordStart, wordEnd));
+            return true;
+        }
+
+        @Nonnull
+        ChatFilter build(char replacement) {
+            List<Pass> passes = new ArrayList<>(2);
+            if (!wordEntries.isEmpty()) {
+                passes.add(new Pass(new AhoCorasick(wordPatterns), wordEntries.toArray(new Entry[0]), false));
+            }
+            if (!linkEntries.isEmpty()) {
+                passes.add(new Pass(new AhoCorasick(linkPatterns), linkEntries.toArray(new Entry[0]), true));
+            }
+            return new ChatFilter(passes.toArray(new Pass[0]), replacement,
+                    wordEntries.size() + linkEntries.size());
+        }
+    }
+
+    int getEntryCount() {
+        return entryCount;
+    }
+
+    int getStateCount() {
+        int states = 0;
+        for (Pass pass : passes) {
+            states += pass.automaton().getStateCount();
+        }
+        return states;
+    }
+
+    boolean isEmpty() {
+        return passes.length == 0;
+    }
+
+    /**
+     * Filters a message. Returns a result holding the same text instance when nothing was replaced.
+     */
+    @Nonnull
+    Result filter(@Nonnull String text) {
+        if (passes.length == 0 || text.isEmpty()) {
+            return Result.pass(text);
+        }
+
+        // Normalize into a parallel buffer, remembering where each normalized char came from
+        int length = text.length();
+        char[] normalized = new char[length];
+        int[] origin = new int[length];
+        boolean[] gaps = new boolean[length];
+        ScanState state = new ScanState(length);
+        for (Pass pass : passes) {
+            int n = normalize(text, pass.links(), normalized, origin, gaps);
+            state.scan(pass, normalized, origin, gaps, n);
+            if (state.blocked) {
+                return new Result(text, true, state.flagged);
+            }
+        }
+
+        if (state.masked == null) {
+            return new Result(text, false, state.flagged);
+        }
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < length; i++) {
+            // Only mask letters and digits, so spaces and punctuation keep the message readable
+            if (state.masked[i] && Character.isLetterOrDigit(chars[i])) {
+                chars[i] = replacement;
+            }
+        }
+        return new Result(new String(chars), false, state.flagged);
+    }
+
+    /**
+     * Collects matches across passes, checking whole-word rules against the normalized text of each pass.
+     */
+    private static final class ScanState implements AhoCorasick.MatchHandler {
+        private final int textLength;
+        private Entry[] entries;
+        private char[] normalized;
+        private int[] origin;
+        private boolean[] gaps;
+        private int length;
+        private boolean links;
+
+        boolean blocked;
+        boolean flagged;
+        // Indexed by position in the original text
+        @Nullable boolean[] masked;
+
+        ScanState(int textLength) {
+            this.textLength = textLength;
+        }
+
+        void scan(@Nonnull Pass pass, @Nonnull char[] normalized, @Nonnull int[] origin, @Nonnull boolean[] gaps,
+                  int length) {
+            this.entries = pass.entries();
+            this.normalized = normalized;
+            this.origin = origin;
+            this.gaps = gaps;
+            this.length = length;
+            this.links = pass.links();
+            pass.automaton().scan(normalized, length, this);
+        }
+
+        @Override
+        public boolean onMatch(int patternId, int start, int end) {
+            Entry entry = entries[patternId];
+            // Dropped punctuation still ends a word, so "bad.com" is "bad" followed by "com"
+            if (entry.wordStart() && start > 0 && !gaps[start] && !isBoundary(normalized[start - 1], links)) {
+                return true;
+            }
+            if (entry.wordEnd() && end < length && !gaps[end] && !isBoundary(normalized[end], links)) {
+                return true;
+            }
+
+            switch (entry.action()) {
+                case BLOCK -> {
+                    blocked = true;
+                    // Nothing else matters once the message is blocked
+                    return false;
+                }
+                case FLAG -> flagged = true;
+                case REPLACE -> {
+                    if (masked == null) masked = new boolean[textLength];
+                    for (int k = start; k < end; k++) masked[origin[k]] = true;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Normalizes text for matching into out, recording the source index of each char in origin if given.
+     * Lowercases, skips color codes, collapses whitespace to one boundary and drops punctuation.
+     * If gaps is given, it marks each char that directly follows dropped punctuation.
+     * Leetspeak is folded only inside tokens with at least one letter.
+     * For the link pass dots, colons and slashes are kept and also end a token, so "v3.10" becomes "ve.10".
+     * @return The normalized length
+     */
+    private static int normalize(@Nonnull String text, boolean links, @Nonnull char[] out, @Nullable int[] origin,
+                                 @Nullable boolean[] gaps) {
+        int length = text.length();
+        int n = 0;
+        int i = 0;
+        boolean gap = false;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (n > 0 && out[n - 1] != BOUNDARY) {
+                    out[n] = BOUNDARY;
+                    if (origin != null) origin[n] = i;
+                    if (gaps != null) gaps[n] = false;
+                    n++;
+                }
+                gap = false;
+                i++;
+                continue;
+            }
+            if (links && isSeparator(c)) {
+                out[n] = c;
+                if (origin != null) origin[n] = i;
+                if (gaps != null) gaps[n] = false;
+                gap = false;
+                n++;
+                i++;
+                continue;
+            }
+
+            // Find the token and whether it has a real letter, skipping color codes inside it
+            boolean hasLetter = false;
+            int end = i;
+            while (end < length) {
+                char t = text.charAt(end);
+                if (Character.isWhitespace(t) || (links && isSeparator(t))) {
+                    break;
+                }
+                int codeLength = colorCodeLength(text, end);
+                if (codeLength > 0) {
+                    end += codeLength;
+                    continue;
+                }
+                hasLetter |= Character.isLetter(t);
+                end++;
+            }
+
+            while (i < end) {
+                int codeLength = colorCodeLength(text, i);
+                if (codeLength > 0) {
+                    // Color codes can't be used to split a word: skip &X and &#RRGGBB
+                    i += codeLength;
+                    continue;
+                }
+                char folded = fold(text.charAt(i), hasLetter);
+                if (folded != 0) {
+                    out[n] = folded;
+                    if (origin != null) origin[n] = i;
+                    if (gaps != null) gaps[n] = gap;
+                    gap = false;
+                    n++;
+                } else {
+                    gap = true;
+                }
+                i++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Folds a char inside a token: lowercase, and common leetspeak to letters if the token has a letter.
+     * @return The folded char, or 0 to drop it
+     */
+    private static char fold(char c, boolean leet) {
+        if (leet) {
+            switch (c) {
+                case '0': return 'o';
+                case '1': return 'i';
+                case '3': return 'e';
+                case '4': return 'a';
+                case '5': return 's';
+                case '7': return 't';
+                case '8': return 'b';
+                case '@': return 'a';
+                case '$': return 's';
+                default: break;
+            }
+        }
+        return Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : 0;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == ':' || c == '/';
+    }
+
+    private static boolean isBoundary(char c, boolean links) {
+        return c == BOUNDARY || (links && isSeparator(c));
+    }
+
+    /**
+     * Gets the length of the color code at index i (&X or &#RRGGBB), or 0 if there is none.
+     */
+    private static int colorCodeLength(@Nonnull String text, int i) {
+        if (text.charAt(i) != '&' || i + 1 >= text.length()) {
+            return 0;
+        }
+        char next = text.charAt(i + 1);
+        if (next == '#' && i + 7 < text.length()) {
+            for (int k = i + 2; k < i + 8; k++) {
+                if (Character.digit(text.charAt(k), 16) < 0) return 0;
+            }
+            return 8;
+        }
+        return Character.digit(next, 16) >= 0 || "lLrR".indexOf(next) >= 0 ? 2 : 0;
+    }
+}
@@ -0,0 +1,206 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.util.Diagnostics;
+import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.MessageManager;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.TomlMigrationHelper;
+import org.tomlj.Toml;
+import org.tomlj.TomlArray;
+import org.tomlj.TomlParseResult;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Word, phrase and link filter for chat and private messages.
+ * Entries from filter.toml are compiled into Aho-Corasick automatons (see {@link ChatFilter}), so a message is
+ * checked in one pass for words and one for links no matter how many entries there are.
+ * Reloading builds new automatons and swaps them in atomically; messages in flight keep using the old ones.
+ */
+public class ChatFilterManager {
+    private static final String BYPASS_PERMISSION = "essentials.filter.bypass";
+    private static final String NOTIFY_PERMISSION = "essentials.filter.notify";
+
+    public enum Action {
+        REPLACE,
+        BLOCK,
+        FLAG
+    }
+
+    /**
+     * Outcome of filtering a message.
+     *
+     * @param text    The message with replaced entries masked
+     * @param blocked A block entry matched; the message must not be sent
+     * @param flagged A flag entry matched; staff should be notified
+     */
+    public record Result(@Nonnull String text, boolean blocked, boolean flagged) {
+        static Result pass(@Nonnull String text) {
+            return new Result(text, false, false);
+        }
+    }
+
+    private final Path filterPath;
+    private volatile boolean enabled = false;
+    private volatile ChatFilter chatFilter = null;
+
+    private final AtomicLong scans = new AtomicLong();
+    private final AtomicLong scanNanos = new AtomicLong();
+    private final AtomicLong matches = new AtomicLong();
+    private volatile int entryCount = 0;
+    private volatile long buildMillis = 0;
+
+    public ChatFilterManager(@Nonnull Path dataFolder) {
+        this.filterPath = dataFolder.resolve("filter.toml");
+        load();
+
+        Diagnostics.register("filter.entries", () -> entryCount);
+        Diagnostics.register("filter.states", () -> {
+            ChatFilter current = chatFilter;
+            return current != null ? current.getStateCount() : 0;
+        });
+        Diagnostics.register("filter.build-time", () -> buildMillis + "ms");
+        Diagnostics.register("filter.matches", matches::get);
+        Diagnostics.register("filter.scan-avg", () -> {
+            long count = scans.get();
+            return Diagnostics.formatMillis(count == 0 ? 0 : scanNanos.get() / count);
+        });
+    }
+
+    private void load() {
+        if (!Files.exists(filterPath)) {
+            TomlMigrationHelper.createDefault(filterPath, "filter.toml");
+        }
+
+        try {
+            TomlParseResult toml = Toml.parse(TomlMigrationHelper.readWithBom(filterPath));
+            if (toml.hasErrors()) {
+                toml.errors().forEach(error -> Log.error("Filter error: " + error.toString()));
+                Log.warning("Keeping the previous chat filter due to errors.");
+                return;
+            }
+
+            long start = System.nanoTime();
+            ChatFilter.Builder builder = new ChatFilter.Builder();
+
+            addEntries(toml.getArray("words.replace"), Action.REPLACE, false, builder);
+            addEntries(toml.getArray("words.block"), Action.BLOCK, false, builder);
+            addEntries(toml.getArray("words.flag"), Action.FLAG, false, builder);
+
+            if (toml.getBoolean("links.enabled", () -> false)) {
+                Action linkAction = parseAction(toml.getString("links.action", () -> "block"));
+                addEntries(toml.getArray("links.patterns"), linkAction, true, builder);
+            }
+
+            String replacement = toml.getString("settings.replacement", () -> "*");
+            ChatFilter next = builder.build(replacement.isEmpty() ? '*' : replacement.charAt(0));
+
+            // Publish the new automatons in one write
+            chatFilter = next;
+            enabled = toml.getBoolean("settings.enabled", () -> true);
+            entryCount = next.getEntryCount();
+            buildMillis = (System.nanoTime() - start) / 1_000_000;
+
+            Log.info("Chat filter loaded with " + entryCount + " entries in " + buildMillis + "ms");
+        } catch (Exception e) {
+            Log.error("Failed to load chat filter: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads filter.toml and swaps in the new automaton.
+     */
+    public void reload() {
+        Log.info("Reloading chat filter...");
+        load();
+    }
+
+    /**
+     * Filters a player's message, telling the sender if it was blocked and staff if it was flagged.
+     * Returns the text to send, or null if the message was blocked.
+     */
+    @Nullable
+    public String filterPlayerMessage(@Nonnull PlayerRef sender, @Nonnull String content) {
+        if (!enabled || PermissionsModule.get().hasPermission(sender.getUuid(), BYPASS_PERMISSION)) {
+            return content;
+        }
+
+        Result result = filter(content);
+        MessageManager messages = Essentials.getInstance().getMessageManager();
+
+        if (result.flagged()) {
+            Map<String, String> placeholders = Map.of("player", sender.getUsername(), "message", content);
+            Log.info("[Filter] " + sender.getUsername() + ": " + content);
+            for (PlayerRef player : Universe.get().getPlayers()) {
+                if (PermissionsModule.get().hasPermission(player.getUuid(), NOTIFY_PERMISSION)) {
+                    Msg.send(player, messages.get(player, "filter.flagged", placeholders));
+                }
+            }
+        }
+
+        if (result.blocked()) {
+            Msg.send(sender, messages.get(sender, "filter.blocked"));
+            return null;
+        }
+        return result.text();
+    }
+
+    /**
+     * Filters a message. Returns the text unchanged when no entry matches.
+     */
+    @Nonnull
+    public Result filter(@Nonnull String text) {
+        ChatFilter current = chatFilter;
+        if (!enabled || current == null || current.isEmpty() || text.isEmpty()) {
+            return Result.pass(text);
+        }
+
+        long start = System.nanoTime();
+        Result result = current.filter(text);
+        scans.incrementAndGet();
+        scanNanos.addAndGet(System.nanoTime() - start);
+
+        // The filter hands back the same text instance when nothing was replaced
+        if (result.blocked() || result.flagged() || result.text() != text) {
+            matches.incrementAndGet();
+        }
+        return result;
+    }
+
+    private static void addEntries(@Nullable TomlArray array, @Nonnull Action action, boolean links,
+                                   @Nonnull ChatFilter.Builder builder) {
+        if (array == null) {
+            return;
+        }
+
+        for (int i = 0; i < array.size(); i++) {
+            String raw = array.getString(i);
+            if (raw == null) continue;
+
+            boolean added = links ? builder.addLink(raw, action) : builder.addWord(raw, action);
+            if (!added) {
+                Log.warning("Ignoring empty filter entry: \"" + raw + "\"");
+            }
+        }
+    }
+
+    @Nonnull
+    private static Action parseAction(@Nonnull String value) {
+        try {
+            return Action.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            Log.warning("Unknown filter action '" + value + "', using block.");
+            return Action.BLOCK;
+        }
+    }
+}
@@ -1,27 +1,66 @@
 package com.nhulston.essentials.managers;
 
+import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.event.events.player.PlayerChatEvent;
 import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.nhulston.essentials.util.ColorUtil;
 import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.PlaceholderEngine;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 public class ChatManager {
     private static final String COLOR_PERMISSION = "essentials.chat.color";
     // Matches color codes (&0-&f, &#RRGGBB) and formatting codes (&l, &r)
     private static final Pattern FORMAT_CODE_PATTERN = Pattern.compile("&[0-9a-fA-FlLrR]|&#[0-9a-fA-F]{6}");
+    private static final String MESSAGE_PLACEHOLDER = "%message%";
+    // Keeps %message% in place when the rest of the format is rendered, so it can be split there
+    private static final Map<String, String> KEEP_MESSAGE = Map.of("message", MESSAGE_PLACEHOLDER);
+    // Permission groups can change without an event we can listen to, so cached formats are re-resolved periodically
+    private static final long FORMAT_CACHE_TTL_MS = 30_000;
+
+    /**
+     * A player's chat format with everything that doesn't depend on the message already built:
+     * %player% and %world% are rendered and the prefix/suffix around %message% are colorized.
+     * Formats using placeholders that can change between messages (%online%, %rank%, ...) keep the config
+     * template instead, which is rendered with the entry's fixed values and split for every message.
+     * The world name and creation time decide whether the entry is still valid.
+     */
+    private record CompiledFormat(@Nullable String worldName,
+                                  long createdAt,
+                                  @Nonnull Message prefix,
+                                  @Nonnull ColorUtil.Style contentStyle,
+                                  @Nonnull String suffixSource,
+                                  @Nullable Message suffix,
+                                  boolean hasMessage,
+                                  @Nullable PlaceholderEngine.Template dynamic,
+                                  @Nonnull Map<String, String> values) {
+
+        boolean isValidFor(@Nullable String currentWorld, long now) {
+            return now - createdAt < FORMAT_CACHE_TTL_MS
+                    && (worldName == null ? currentWorld == null : worldName.equals(currentWorld));
+        }
+    }
 
     private final ConfigManager configManager;
+    private final Map<UUID, CompiledFormat> formatCache = new ConcurrentHashMap<>();
 
     public ChatManager(@Nonnull ConfigManager configManager) {
         this.configManager = configManager;
+
+        PlaceholderEngine.register("rank", this::getRank);
     }
 
     /**
@@ -34,22 +73,168 @@ public class ChatManager {
 
     /**
      * Formats a chat message for a player based on their permission groups.
+     * Uses the player's cached compiled format, so only the message text needs colorizing.
      */
     @Nonnull
     public Message formatMessage(@Nonnull PlayerRef sender, @Nonnull String content) {
-        String format = getFormatForPlayer(sender.getUuid());
+        CompiledFormat format = getCompiledFormat(sender);
+        if (!format.hasMessage()) {
+            return format.prefix();
+        }
 
         // Strip color codes from message unless player has permission
-        String sanitizedContent = content;
-        if (!PermissionsModule.get().hasPermission(sender.getUuid(), COLOR_PERMISSION)) {
-            sanitizedContent = stripColorCodes(content);
+        boolean canUseColors = canUseColors(sender);
+        String sanitizedContent = canUseColors ? content : stripColorCodes(content);
+
+        // The cached suffix assumes the message left the style untouched, which only holds without color codes
+        if (format.suffix() != null && !canUseColors) {
+            return Message.join(format.prefix(), ColorUtil.colorize(sanitizedContent, format.contentStyle()), format.suffix());
+        }
+
+        String rest = sanitizedContent + format.suffixSource().replace(MESSAGE_PLACEHOLDER, sanitizedContent);
+        return Message.join(format.prefix(), ColorUtil.colorize(rest, format.contentStyle()));
+    }
+
+    /**
+     * Formats a chat message with some ranges of its text drawn in a highlight style (e.g. mentions).
+     * The content must already be sanitized with {@link #sanitizeContent}; ranges are [start, end) pairs
+     * into it, sorted and not overlapping. Text after a range continues in the style it had before it.
+     */
+    @Nonnull
+    public Message formatHighlighted(@Nonnull PlayerRef sender, @Nonnull String sanitizedContent,
+                                     @Nonnull int[] ranges, @Nonnull ColorUtil.Style highlightStyle) {
+        CompiledFormat format = getCompiledFormat(sender);
+        if (!format.hasMessage()) {
+            return format.prefix();
+        }
+
+        List<Message> parts = new ArrayList<>(ranges.length + 2);
+        parts.add(format.prefix());
+        ColorUtil.Style style = format.contentStyle();
+        int last = 0;
+        for (int i = 0; i + 1 < ranges.length; i += 2) {
+            if (ranges[i] > last) {
+                String before = sanitizedContent.substring(last, ranges[i]);
+                parts.add(ColorUtil.colorize(before, style));
+                style = ColorUtil.endStyle(before, style);
+            }
+            parts.add(ColorUtil.colorize(sanitizedContent.substring(ranges[i], ranges[i + 1]), highlightStyle));
+            last = ranges[i + 1];
+        }
+
+        String rest = sanitizedContent.substring(last)
+                + format.suffixSource().replace(MESSAGE_PLACEHOLDER, sanitizedContent);
+        if (!rest.isEmpty()) {
+            parts.add(ColorUtil.colorize(rest, style));
+        }
+        return Message.join(parts.toArray(new Message[0]));
+    }
+
+    /**
+     * Gets the message text as it will be shown: color codes are stripped unless the sender may use them.
+     */
+    @Nonnull
+    public String sanitizeContent(@Nonnull PlayerRef sender, @Nonnull String content) {
+        return canUseColors(sender) ? content : stripColorCodes(content);
+    }
+
+    /**
+     * Drops a player's cached chat format, so it is resolved again on their next message.
+     * Call when something the format depends on (e.g. permission groups) changed.
+     */
+    public void invalidate(@Nonnull UUID playerUuid) {
+        formatCache.remove(playerUuid);
+    }
+
+    /**
+     * Drops all cached chat formats (after a config reload).
+     */
+    public void invalidateAll() {
+        formatCache.clear();
+    }
+
+    /**
+     * Cleans up player data on disconnect.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        formatCache.remove(playerUuid);
+    }
+
+    /**
+     * Gets the player's compiled format, resolving and compiling it if missing or stale.
+     * A format with dynamic placeholders is rendered again on every call.
+     */
+    @Nonnull
+    private CompiledFormat getCompiledFormat(@Nonnull PlayerRef sender) {
+        String worldName = getWorldName(sender);
+        long now = System.currentTimeMillis();
+
+        CompiledFormat format = formatCache.get(sender.getUuid());
+        if (format == null || !format.isValidFor(worldName, now)) {
+            format = compile(getFormatForPlayer(sender, worldName), sender, worldName, now);
+            formatCache.put(sender.getUuid(), format);
         }
 
-        String formatted = format
-                .replace("%player%", sender.getUsername())
-                .replace("%message%", sanitizedContent);
+        if (format.dynamic() != null) {
+            return split(format.dynamic().render(sender, format.values()), worldName, now, null, format.values());
+        }
+        return format;
+    }
+
+    /**
+     * Pre-builds the format with the placeholders that stay fixed while the entry is valid (%player%, %world%).
+     * If it has any other placeholder, the config template is kept to be rendered again per message.
+     * Only the format from the config is compiled, so the shared template cache holds one entry per format,
+     * not one per player.
+     */
+    @Nonnull
+    private static CompiledFormat compile(@Nonnull String format, @Nonnull PlayerRef sender,
+                                          @Nullable String worldName, long now) {
+        PlaceholderEngine.Template template = PlaceholderEngine.compile(format);
+        PlaceholderEngine.Template dynamic = null;
+        for (String name : template.getPlaceholderNames()) {
+            if (!name.equals("message") && !name.equals("player") && !name.equals("world")) {
+                dynamic = template;
+                break;
+            }
+        }
+
+        Map<String, String> fixed = new HashMap<>(KEEP_MESSAGE);
+        fixed.put("player", sender.getUsername());
+        if (worldName != null) {
+            fixed.put("world", worldName);
+        }
+        return split(template.renderValues(fixed), worldName, now, dynamic, fixed);
+    }
+
+    /**
+     * Splits a rendered format at its first %message% and builds everything around it.
+     */
+    @Nonnull
+    private static CompiledFormat split(@Nonnull String resolved, @Nullable String worldName, long now,
+                                        @Nullable PlaceholderEngine.Template dynamic,
+                                        @Nonnull Map<String, String> values) {
+        int messageIndex = resolved.indexOf(MESSAGE_PLACEHOLDER);
+        if (messageIndex < 0) {
+            return new CompiledFormat(worldName, now, ColorUtil.colorize(resolved), ColorUtil.Style.DEFAULT,
+                    "", null, false, dynamic, values);
+        }
+
+        String prefixSource = resolved.substring(0, messageIndex);
+        String suffixSource = resolved.substring(messageIndex + MESSAGE_PLACEHOLDER.length());
+        ColorUtil.Style contentStyle = ColorUtil.endStyle(prefixSource, ColorUtil.Style.DEFAULT);
+
+        // A suffix repeating %message% has to be rendered per message
+        Message suffix = suffixSource.isEmpty() || suffixSource.contains(MESSAGE_PLACEHOLDER)
+                ? null
+                : ColorUtil.colorize(suffixSource, contentStyle);
 
-        return ColorUtil.colorize(formatted);
+        return new CompiledFormat(worldName, now, ColorUtil.colorize(prefixSource), contentStyle,
+                suffixSource, suffix, true, dynamic, values);
+    }
+
+    private static boolean canUseColors(@Nonnull PlayerRef sender) {
+        return PermissionsModule.get().hasPermission(sender.getUuid(), COLOR_PERMISSION);
     }
 
     /**
@@ -61,11 +246,20 @@ public class ChatManager {
     }
 
     /**
-     * Gets the appropriate chat format for a player based on their permission groups.
-     * Returns the first matching group format, or the fallback if no groups match.
+     * Gets the appropriate chat format for a player.
+     * A per-world chat-format override wins; otherwise returns the first matching group format,
+     * or the fallback if no groups match.
      */
     @Nonnull
-    private String getFormatForPlayer(@Nonnull UUID playerUuid) {
+    private String getFormatForPlayer(@Nonnull PlayerRef sender, @Nullable String worldName) {
+        if (worldName != null) {
+            String worldFormat = configManager.getWorldSettings(worldName).chatFormat();
+            if (worldFormat != null) {
+                return worldFormat;
+            }
+        }
+
+        UUID playerUuid = sender.getUuid();
         List<ConfigManager.ChatFormat> formats = configManager.getChatFormats();
 
         if (formats.isEmpty()) {
@@ -87,6 +281,38 @@ public class ChatManager {
         return configManager.getChatFallbackFormat();
     }
 
+    /**
+     * Gets a player's rank for %rank%: the first group with a chat format they're in, else any of their groups.
+     */
+    @Nullable
+    private String getRank(@Nullable PlayerRef player) {
+        if (player == null) {
+            return null;
+        }
+
+        Set<String> playerGroups = PermissionsModule.get().getGroupsForUser(player.getUuid());
+        for (ConfigManager.ChatFormat chatFormat : configManager.getChatFormats()) {
+            for (String playerGroup : playerGroups) {
+                if (playerGroup.equalsIgnoreCase(chatFormat.group())) {
+                    return chatFormat.group();
+                }
+            }
+        }
+        return playerGroups.isEmpty() ? null : playerGroups.iterator().next();
+    }
+
+    /**
+     * Gets the name of the world a player is in, or null if the player is not in a world.
+     */
+    @Nullable
+    private static String getWorldName(@Nonnull PlayerRef player) {
+        Ref<EntityStore> ref = player.getReference();
+        if (ref == null || !ref.isValid()) {
+            return null;
+        }
+        return ref.getStore().getExternalData().getWorld().getName();
+    }
+
     /**
      * Checks if chat formatting is enabled.
      */
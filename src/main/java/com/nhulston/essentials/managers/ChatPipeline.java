@@ -0,0 +1,267 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.event.events.player.PlayerChatEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.util.Diagnostics;
+import com.nhulston.essentials.util.Log;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chat processing stage that runs off the world threads.
+ * Each message is run through the chat filter, its recipients are resolved from the sender's channel and filtered,
+ * it is formatted once and grouped by the view each recipient gets,
+ * then delivered as pre-built Messages in a single fan-out pass.
+ * Runs on one dedicated thread so messages keep their order and the metrics need no locking.
+ */
+public class ChatPipeline {
+    private final ChatManager chatManager;
+    private final ChatFilterManager chatFilter;
+    private final ChannelManager channelManager;
+    private final AuditJournal auditJournal;
+    private final ExecutorService executor;
+    private final List<RecipientFilter> filters = new CopyOnWriteArrayList<>();
+    private final List<ChatView> views = new CopyOnWriteArrayList<>();
+
+    // Metrics, written only by the pipeline thread
+    private volatile long totalMessages = 0;
+    private volatile long lastLatencyNanos = 0;
+    private volatile long maxLatencyNanos = 0;
+    private volatile double averageLatencyNanos = 0;
+    private volatile long currentSecond = 0;
+    private volatile int currentSecondCount = 0;
+    private volatile int lastSecondCount = 0;
+
+    /**
+     * Decides whether a player should receive a message (channels, ignore lists, ...).
+     */
+    @FunctionalInterface
+    public interface RecipientFilter {
+        boolean shouldReceive(@Nonnull PlayerRef sender, @Nonnull String content, @Nonnull PlayerRef target);
+    }
+
+    /**
+     * Alternative rendering of a message for some recipients (e.g. mention highlighting).
+     */
+    public interface ChatView {
+        /**
+         * Returns a key naming the variant this recipient should see, or null for the shared message.
+         */
+        @Nullable
+        String viewFor(@Nonnull PlayerRef sender, @Nonnull String content, @Nonnull PlayerRef target);
+
+        /**
+         * Renders the variant for a key returned by viewFor. Called once per key per message.
+         */
+        @Nonnull
+        Message render(@Nonnull PlayerRef sender, @Nonnull String content, @Nonnull String viewKey);
+    }
+
+    private record Variant(@Nonnull ChatView view, @Nonnull String key) {}
+
+    public ChatPipeline(@Nonnull ChatManager chatManager, @Nonnull ChatFilterManager chatFilter,
+                        @Nonnull ChannelManager channelManager, @Nonnull AuditJournal auditJournal) {
+        this.chatManager = chatManager;
+        this.chatFilter = chatFilter;
+        this.channelManager = channelManager;
+        this.auditJournal = auditJournal;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "Essentials-Chat");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Diagnostics.register("chat.messages-total", () -> totalMessages);
+        Diagnostics.register("chat.messages-per-second", this::getMessagesPerSecond);
+        Diagnostics.register("chat.latency-last", () -> Diagnostics.formatMillis(lastLatencyNanos));
+        Diagnostics.register("chat.latency-avg", () -> Diagnostics.formatMillis((long) averageLatencyNanos));
+        Diagnostics.register("chat.latency-max", () -> Diagnostics.formatMillis(maxLatencyNanos));
+    }
+
+    public void addFilter(@Nonnull RecipientFilter filter) {
+        filters.add(filter);
+    }
+
+    public void addView(@Nonnull ChatView view) {
+        views.add(view);
+    }
+
+    /**
+     * Moves a chat event onto the pipeline thread and processes it there.
+     */
+    @Nonnull
+    public CompletableFuture<PlayerChatEvent> submit(@Nonnull CompletableFuture<PlayerChatEvent> future) {
+        return future.thenCompose(event -> {
+            long receivedAt = System.nanoTime();
+            return CompletableFuture.supplyAsync(() -> process(event, receivedAt), executor);
+        });
+    }
+
+    @Nonnull
+    private PlayerChatEvent process(@Nonnull PlayerChatEvent event, long receivedAt) {
+        if (event.isCancelled()) {
+            return event;
+        }
+
+        try {
+            PlayerRef sender = event.getSender();
+            String content = chatFilter.filterPlayerMessage(sender, event.getContent());
+            if (content == null) {
+                event.setCancelled(true);
+                recordMetrics(System.nanoTime() - receivedAt);
+                return event;
+            }
+            if (!content.equals(event.getContent())) {
+                event.setContent(content);
+            }
+
+            ChannelManager.Channel channel = channelManager.getChannel(sender.getUuid());
+            List<PlayerRef> recipients = channelManager.resolveRecipients(sender, channel, event.getTargets());
+            List<PlayerRef> targets = filterTargets(sender, content, recipients);
+            event.setTargets(targets);
+
+            auditJournal.record(AuditJournal.Type.CHAT, sender, null,
+                    channel == ChannelManager.Channel.GLOBAL ? content : "[" + channel.id() + "] " + content);
+
+            if (chatManager.isEnabled()) {
+                deliver(event, sender, content, targets, channelManager.getPrefix(channel));
+            }
+        } catch (Exception e) {
+            Log.error("Chat pipeline failed", e);
+        }
+
+        recordMetrics(System.nanoTime() - receivedAt);
+        return event;
+    }
+
+    @Nonnull
+    private List<PlayerRef> filterTargets(@Nonnull PlayerRef sender, @Nonnull String content,
+                                          @Nonnull List<PlayerRef> targets) {
+        if (filters.isEmpty()) {
+            return targets;
+        }
+
+        List<PlayerRef> kept = new ArrayList<>(targets.size());
+        for (PlayerRef target : targets) {
+            if (shouldReceive(sender, content, target)) {
+                kept.add(target);
+            }
+        }
+        return kept;
+    }
+
+    private boolean shouldReceive(@Nonnull PlayerRef sender, @Nonnull String content, @Nonnull PlayerRef target) {
+        for (RecipientFilter filter : filters) {
+            if (!filter.shouldReceive(sender, content, target)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void deliver(@Nonnull PlayerChatEvent event, @Nonnull PlayerRef sender, @Nonnull String content,
+                         @Nonnull List<PlayerRef> targets, @Nullable Message channelPrefix) {
+        Message shared = withPrefix(channelPrefix, chatManager.formatMessage(sender, content));
+
+        // Assign each recipient its view; most messages have no variants at all
+        Variant[] assigned = null;
+        if (!views.isEmpty()) {
+            for (int i = 0; i < targets.size(); i++) {
+                Variant variant = variantFor(sender, content, targets.get(i));
+                if (variant != null) {
+                    if (assigned == null) assigned = new Variant[targets.size()];
+                    assigned[i] = variant;
+                }
+            }
+        }
+
+        if (assigned == null) {
+            // Everyone sees the same message: let the server do the fan-out with the pre-built Message
+            event.setFormatter((ref, msg) -> shared);
+            return;
+        }
+
+        // Several views: render each once, deliver in one pass and stop the server from sending again
+        Map<Variant, Message> rendered = new HashMap<>();
+        for (int i = 0; i < targets.size(); i++) {
+            Variant variant = assigned[i];
+            Message message = variant == null
+                    ? shared
+                    : rendered.computeIfAbsent(variant,
+                            v -> withPrefix(channelPrefix, v.view().render(sender, content, v.key())));
+            targets.get(i).sendMessage(message);
+        }
+        event.setCancelled(true);
+        Log.info("[Chat] " + sender.getUsername() + ": " + content);
+    }
+
+    @Nonnull
+    private static Message withPrefix(@Nullable Message prefix, @Nonnull Message message) {
+        return prefix != null ? Message.join(prefix, message) : message;
+    }
+
+    @Nullable
+    private Variant variantFor(@Nonnull PlayerRef sender, @Nonnull String content, @Nonnull PlayerRef target) {
+        for (ChatView view : views) {
+            String key = view.viewFor(sender, content, target);
+            if (key != null) {
+                return new Variant(view, key);
+            }
+        }
+        return null;
+    }
+
+    private void recordMetrics(long latencyNanos) {
+        totalMessages++;
+        lastLatencyNanos = latencyNanos;
+        if (latencyNanos > maxLatencyNanos) {
+            maxLatencyNanos = latencyNanos;
+        }
+        // Exponential moving average over roughly the last 100 messages
+        averageLatencyNanos = averageLatencyNanos == 0
+                ? latencyNanos
+                : averageLatencyNanos + (latencyNanos - averageLatencyNanos) / 100.0;
+
+        long second = System.currentTimeMillis() / 1000;
+        if (second != currentSecond) {
+            lastSecondCount = second == currentSecond + 1 ? currentSecondCount : 0;
+            currentSecond = second;
+            currentSecondCount = 0;
+        }
+        currentSecondCount++;
+    }
+
+    /**
+     * Gets the number of messages processed during the last full second.
+     */
+    public int getMessagesPerSecond() {
+        long second = System.currentTimeMillis() / 1000;
+        return second - currentSecond > 1 ? 0 : lastSecondCount;
+    }
+
+    /**
+     * Stops the pipeline thread, letting queued messages finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(2, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Diagnostics;
+import com.nhulston.essentials.util.MessageManager;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-player token bucket shared by chat, /msg, /r and /shout.
+ * Every message costs one token; tokens refill at the player's group rate up to the burst size.
+ * Repeating the same message within the duplicate window, or running out of tokens, counts as a violation,
+ * and too many violations mute the player for a while.
+ * The check runs before any formatting and does no allocation once the player's bucket exists.
+ */
+public class FloodLimiter {
+    private static final String BYPASS_PERMISSION = "essentials.flood.bypass";
+    private static final long MICROS_PER_TOKEN = 1_000_000L;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    // Burst is clamped so the refill math below can't overflow
+    private static final int MAX_BURST = 1000;
+    // Group membership can change without an event, so buckets re-resolve their limits periodically
+    private static final long LIMITS_TTL_NANOS = 60 * NANOS_PER_SECOND;
+    private static final int DUPLICATE_HISTORY = 4;
+    private static final long HASH_MULTIPLIER = 31;
+
+    public enum Result {
+        ALLOWED,
+        RATE_LIMITED,
+        DUPLICATE,
+        MUTED
+    }
+
+    private final ConfigManager configManager;
+    private final Map<UUID, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong mutes = new AtomicLong();
+    private volatile int configVersion = 0;
+
+    public FloodLimiter(@Nonnull ConfigManager configManager) {
+        this.configManager = configManager;
+
+        Diagnostics.register("flood.dropped", dropped::get);
+        Diagnostics.register("flood.mutes", mutes::get);
+    }
+
+    /**
+     * Checks whether a player may send a message, consuming a token if so.
+     */
+    @Nonnull
+    public Result check(@Nonnull UUID playerUuid, @Nonnull String content) {
+        if (!configManager.isFloodEnabled()) {
+            return Result.ALLOWED;
+        }
+
+        Bucket bucket = buckets.computeIfAbsent(playerUuid, uuid -> new Bucket());
+        long now = System.nanoTime();
+        Result result;
+        boolean justMuted;
+
+        synchronized (bucket) {
+            if (bucket.configVersion != configVersion || now - bucket.resolvedAt > LIMITS_TTL_NANOS) {
+                resolveLimits(playerUuid, bucket, now);
+            }
+            result = bucket.bypass ? Result.ALLOWED : bucket.take(content, now, configManager);
+            justMuted = bucket.justMuted;
+        }
+
+        if (result != Result.ALLOWED) {
+            dropped.incrementAndGet();
+            if (justMuted) {
+                mutes.incrementAndGet();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks a player's message, consuming a token if allowed.
+     * Returns null if the message may be sent, or the message explaining why it was dropped.
+     */
+    @Nullable
+    public String checkMessage(@Nonnull UUID playerUuid, @Nonnull String content) {
+        Result result = check(playerUuid, content);
+        if (result == Result.ALLOWED) {
+            return null;
+        }
+
+        MessageManager messages = Essentials.getInstance().getMessageManager();
+        return switch (result) {
+            case RATE_LIMITED -> messages.get(playerUuid, "flood.rate-limited", null);
+            case DUPLICATE -> messages.get(playerUuid, "flood.duplicate", null);
+            default -> messages.get(playerUuid, "flood.muted",
+                    Map.of("seconds", String.valueOf(getMuteRemainingSeconds(playerUuid))));
+        };
+    }
+
+    /**
+     * Gets how many seconds a player stays muted, or 0 if not muted.
+     */
+    public long getMuteRemainingSeconds(@Nonnull UUID playerUuid) {
+        Bucket bucket = buckets.get(playerUuid);
+        if (bucket == null) {
+            return 0;
+        }
+        synchronized (bucket) {
+            if (!bucket.muted) {
+                return 0;
+            }
+            long remaining = bucket.mutedUntil - System.nanoTime();
+            return remaining > 0 ? (remaining + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND : 0;
+        }
+    }
+
+    /**
+     * Makes every bucket pick up new limits after a config reload.
+     */
+    public void reload() {
+        configVersion++;
+    }
+
+    /**
+     * Cleans up player data on disconnect.
+     * Buckets of muted players are kept, so reconnecting doesn't lift a mute.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        if (getMuteRemainingSeconds(playerUuid) == 0) {
+            buckets.remove(playerUuid);
+        }
+    }
+
+    private void resolveLimits(@Nonnull UUID playerUuid, @Nonnull Bucket bucket, long now) {
+        PermissionsModule permissions = PermissionsModule.get();
+        ConfigManager.FloodLimit limit = configManager.getFloodDefaultLimit();
+
+        List<ConfigManager.FloodLimit> groupLimits = configManager.getFloodGroupLimits();
+        if (!groupLimits.isEmpty()) {
+            Set<String> playerGroups = permissions.getGroupsForUser(playerUuid);
+            outer:
+            for (ConfigManager.FloodLimit groupLimit : groupLimits) {
+                for (String playerGroup : playerGroups) {
+                    if (playerGroup.equalsIgnoreCase(groupLimit.group())) {
+                        limit = groupLimit;
+                        break outer;
+                    }
+                }
+            }
+        }
+
+        boolean firstResolve = bucket.configVersion == -1;
+        bucket.burstMicros = Math.max(1, Math.min(MAX_BURST, limit.burst())) * MICROS_PER_TOKEN;
+        bucket.refillMicrosPerSecond = Math.max(0, (long) (limit.refillPerSecond() * MICROS_PER_TOKEN));
+        bucket.bypass = permissions.hasPermission(playerUuid, BYPASS_PERMISSION);
+        bucket.configVersion = configVersion;
+        bucket.resolvedAt = now;
+
+        if (firstResolve) {
+            bucket.tokensMicros = bucket.burstMicros;
+            bucket.lastRefill = now;
+        } else if (bucket.tokensMicros > bucket.burstMicros) {
+            bucket.tokensMicros = bucket.burstMicros;
+        }
+    }
+
+    /**
+     * Hashes a message ignoring case, whitespace and color codes, so trivial variations still count as duplicates.
+     */
+    private static long hashContent(@Nonnull String content) {
+        long hash = 0;
+        int length = content.length();
+        for (int i = 0; i < length; i++) {
+            char c = content.charAt(i);
+            if (c == '&' && i + 1 < length) {
+                // Skip &X codes (and the '#' of &#RRGGBB, whose digits then hash like text - harmless)
+                i++;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            hash = hash * HASH_MULTIPLIER + Character.toLowerCase(c);
+        }
+        return hash;
+    }
+
+    /**
+     * Token bucket state for one player. All fields are guarded by the bucket's monitor.
+     */
+    private static final class Bucket {
+        long tokensMicros;
+        long lastRefill;
+        long burstMicros;
+        long refillMicrosPerSecond;
+        boolean bypass;
+        int configVersion = -1;
+        long resolvedAt;
+
+        int violations;
+        boolean muted;
+        long mutedUntil;
+        boolean justMuted;
+
+        // Ring of recent message hashes and when they were sent
+        final long[] recentHashes = new long[DUPLICATE_HISTORY];
+        final long[] recentTimes = new long[DUPLICATE_HISTORY];
+        int recentIndex;
+        int recentCount;
+
+        @Nonnull
+        Result take(@Nonnull String content, long now, @Nonnull ConfigManager config) {
+            justMuted = false;
+            if (muted) {
+                if (now - mutedUntil < 0) {
+                    return Result.MUTED;
+                }
+                muted = false;
+            }
+
+            refill(now);
+
+            long hash = hashContent(content);
+            long windowNanos = config.getFloodDuplicateWindow() * NANOS_PER_SECOND;
+            for (int i = 0; i < DUPLICATE_HISTORY; i++) {
+                if (i < recentCount && recentHashes[i] == hash && now - recentTimes[i] < windowNanos) {
+                    return violation(Result.DUPLICATE, now, config);
+                }
+            }
+
+            if (tokensMicros < MICROS_PER_TOKEN) {
+                return violation(Result.RATE_LIMITED, now, config);
+            }
+
+            tokensMicros -= MICROS_PER_TOKEN;
+            recentHashes[recentIndex] = hash;
+            recentTimes[recentIndex] = now;
+            recentIndex = (recentIndex + 1) % DUPLICATE_HISTORY;
+            if (recentCount < DUPLICATE_HISTORY) recentCount++;
+            return Result.ALLOWED;
+        }
+
+        private void refill(long now) {
+            long elapsed = now - lastRefill;
+            lastRefill = now;
+            if (refillMicrosPerSecond == 0 || elapsed <= 0) {
+                return;
+            }
+
+            long missing = burstMicros - tokensMicros;
+            // Compare before multiplying: elapsed * rate only fits in a long while the bucket isn't full yet
+            if (elapsed >= missing * NANOS_PER_SECOND / refillMicrosPerSecond) {
+                tokensMicros = burstMicros;
+                // A player who waited for a full bucket has calmed down
+                violations = 0;
+            } else {
+                tokensMicros += elapsed * refillMicrosPerSecond / NANOS_PER_SECOND;
+            }
+        }
+
+        @Nonnull
+        private Result violation(@Nonnull Result result, long now, @Nonnull ConfigManager config) {
+            int muteAfter = config.getFloodMuteAfter();
+            if (muteAfter > 0 && ++violations >= muteAfter) {
+                violations = 0;
+                muted = true;
+                mutedUntil = now + config.getFloodMuteDuration() * NANOS_PER_SECOND;
+                justMuted = true;
+                return Result.MUTED;
+            }
+            return result;
+        }
+    }
+}
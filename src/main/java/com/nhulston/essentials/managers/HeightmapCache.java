@@ -0,0 +1,193 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+import com.nhulston.essentials.util.ColumnScanner;
+import com.nhulston.essentials.util.Diagnostics;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-world surface heightmap used by /top, RTP and safe-teleport resolution.
+ * For every column it remembers the highest solid block and whether there is fluid where a player would stand on it.
+ * A column is scanned the first time it is asked for; after that lookups are O(1) until a block is placed
+ * or broken at or above the surface (see {@link com.nhulston.essentials.events.HeightmapUpdateEvent}).
+ * Changes that don't fire block events (fluid flow, other plugins) are picked up when a chunk's entry expires.
+ */
+public class HeightmapCache {
+    /** Returned by {@link #getTopSolidY} for columns with no solid block. */
+    public static final int NO_GROUND = Integer.MIN_VALUE;
+
+    private static final int COLUMNS = ChunkUtil.SIZE * ChunkUtil.SIZE;
+    private static final short UNKNOWN = Short.MIN_VALUE;
+    private static final short EMPTY = Short.MIN_VALUE + 1;
+    private static final long ENTRY_TTL_NANOS = 5 * 60 * 1_000_000_000L;
+    // ~2.2KB per chunk, so the cache stays under ~10MB
+    private static final int MAX_CHUNKS = 4096;
+
+    // World name -> chunk index -> heights
+    private final Map<String, Map<Long, ChunkHeights>> worlds = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public HeightmapCache() {
+        Diagnostics.register("heightmap.chunks", this::countChunks);
+        Diagnostics.register("heightmap.memory-kb", () -> countChunks() * ChunkHeights.BYTES / 1024);
+        Diagnostics.register("heightmap.hit-rate", () -> {
+            long h = hits.sum();
+            long total = h + misses.sum();
+            return total == 0 ? "n/a" : String.format(Locale.ROOT, "%.1f%%", h * 100.0 / total);
+        });
+    }
+
+    /**
+     * Gets the Y of the highest solid block in a column.
+     * @param chunk The loaded chunk containing the column
+     * @return The Y coordinate, or {@link #NO_GROUND} if the column has no solid block
+     */
+    public int getTopSolidY(@Nonnull World world, @Nonnull WorldChunk chunk, int x, int z) {
+        ChunkHeights heights = getChunk(world.getName(), x, z);
+        int column = columnIndex(x, z);
+        synchronized (heights) {
+            ensureColumn(heights, chunk, column, x, z);
+            short top = heights.topSolid[column];
+            return top == EMPTY ? NO_GROUND : top;
+        }
+    }
+
+    /**
+     * Checks whether a column has fluid in the two blocks above its highest solid block.
+     */
+    public boolean hasFluidAboveGround(@Nonnull World world, @Nonnull WorldChunk chunk, int x, int z) {
+        ChunkHeights heights = getChunk(world.getName(), x, z);
+        int column = columnIndex(x, z);
+        synchronized (heights) {
+            ensureColumn(heights, chunk, column, x, z);
+            return (heights.fluid[column >>> 6] & (1L << column)) != 0;
+        }
+    }
+
+    /**
+     * Forgets a column after a block changed at (x, y, z), if the change can affect its surface.
+     */
+    public void onBlockChanged(@Nonnull String worldName, int x, int y, int z) {
+        Map<Long, ChunkHeights> chunks = worlds.get(worldName);
+        if (chunks == null) {
+            return;
+        }
+        ChunkHeights heights = chunks.get(ChunkUtil.indexChunkFromBlock(x, z));
+        if (heights == null) {
+            return;
+        }
+
+        int column = columnIndex(x, z);
+        synchronized (heights) {
+            short top = heights.topSolid[column];
+            // A change below the surface can't move it or touch the fluid above it
+            if (top == UNKNOWN || (top != EMPTY && y < top)) {
+                return;
+            }
+            heights.topSolid[column] = UNKNOWN;
+        }
+    }
+
+    @Nonnull
+    private ChunkHeights getChunk(@Nonnull String worldName, int x, int z) {
+        Map<Long, ChunkHeights> chunks = worlds.computeIfAbsent(worldName, _ -> new ConcurrentHashMap<>());
+        long chunkIndex = ChunkUtil.indexChunkFromBlock(x, z);
+        long now = System.nanoTime();
+
+        ChunkHeights heights = chunks.get(chunkIndex);
+        if (heights != null && now - heights.createdAt > ENTRY_TTL_NANOS) {
+            chunks.remove(chunkIndex, heights);
+            heights = null;
+        }
+        if (heights == null) {
+            if (countChunks() >= MAX_CHUNKS) {
+                evict(now);
+            }
+            heights = chunks.computeIfAbsent(chunkIndex, _ -> new ChunkHeights(now));
+        }
+        return heights;
+    }
+
+    /**
+     * Makes room by dropping expired chunks, or half of the largest world's chunks if none have expired.
+     */
+    private void evict(long now) {
+        Map<Long, ChunkHeights> largest = null;
+        boolean removed = false;
+        for (Map<Long, ChunkHeights> chunks : worlds.values()) {
+            removed |= chunks.values().removeIf(heights -> now - heights.createdAt > ENTRY_TTL_NANOS);
+            if (largest == null || chunks.size() > largest.size()) {
+                largest = chunks;
+            }
+        }
+        if (!removed && largest != null) {
+            // Drop half of the largest world, in whatever order the map iterates
+            Iterator<ChunkHeights> it = largest.values().iterator();
+            for (int i = largest.size() / 2; i > 0 && it.hasNext(); i--) {
+                it.next();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Scans a column from the top of the world down if it isn't known yet. Caller holds the chunk's lock.
+     */
+    private void ensureColumn(@Nonnull ChunkHeights heights, @Nonnull WorldChunk chunk, int column, int x, int z) {
+        if (heights.topSolid[column] != UNKNOWN) {
+            hits.increment();
+            return;
+        }
+        misses.increment();
+
+        int topY = ColumnScanner.findTopSolid(chunk, x, z);
+        short top = topY == ColumnScanner.NONE ? EMPTY : (short) topY;
+        // Fluid pools on the ground, so the feet and head blocks are the ones that matter
+        boolean fluid = topY != ColumnScanner.NONE && ColumnScanner.hasFluid(chunk, x, topY + 1, topY + 2, z);
+
+        heights.topSolid[column] = top;
+        if (fluid) {
+            heights.fluid[column >>> 6] |= 1L << column;
+        } else {
+            heights.fluid[column >>> 6] &= ~(1L << column);
+        }
+    }
+
+    private static int columnIndex(int x, int z) {
+        return (z & ChunkUtil.SIZE_MASK) * ChunkUtil.SIZE + (x & ChunkUtil.SIZE_MASK);
+    }
+
+    private int countChunks() {
+        int count = 0;
+        for (Map<Long, ChunkHeights> chunks : worlds.values()) {
+            count += chunks.size();
+        }
+        return count;
+    }
+
+    /**
+     * Heights and fluid flags for the columns of one chunk.
+     */
+    private static final class ChunkHeights {
+        static final int BYTES = COLUMNS * Short.BYTES + COLUMNS / 8 + 32;
+
+        final short[] topSolid = new short[COLUMNS];
+        final long[] fluid = new long[COLUMNS / 64];
+        final long createdAt;
+
+        ChunkHeights(long createdAt) {
+            this.createdAt = createdAt;
+            Arrays.fill(topSolid, UNKNOWN);
+        }
+    }
+}
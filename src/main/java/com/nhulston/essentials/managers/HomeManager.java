@@ -57,15 +57,16 @@ public class HomeManager {
     }
 
     @Nullable
-    public String validateHomeName(@Nonnull String name) {
+    public String validateHomeName(@Nullable UUID playerUuid, @Nonnull String name) {
         if (name.isEmpty()) {
-            return messages.get("validation.home.name-empty");
+            return messages.get(playerUuid, "validation.home.name-empty", null);
         }
         if (name.length() > MAX_NAME_LENGTH) {
-            return messages.get("validation.home.name-too-long", Map.of("max", String.valueOf(MAX_NAME_LENGTH)));
+            return messages.get(playerUuid, "validation.home.name-too-long",
+                    Map.of("max", String.valueOf(MAX_NAME_LENGTH)));
         }
         if (!VALID_NAME_PATTERN.matcher(name).matches()) {
-            return messages.get("validation.home.name-invalid");
+            return messages.get(playerUuid, "validation.home.name-invalid", null);
         }
         return null;
     }
@@ -73,7 +74,7 @@ public class HomeManager {
     @Nullable
     public String setHome(@Nonnull UUID playerUuid, @Nonnull String name, @Nonnull String world,
                           double x, double y, double z, float yaw, float pitch) {
-        String validationError = validateHomeName(name);
+        String validationError = validateHomeName(playerUuid, name);
         if (validationError != null) {
             return validationError;
         }
@@ -84,11 +85,11 @@ public class HomeManager {
         int maxHomes = getMaxHomes(playerUuid);
         if (data.getHome(lowerName) == null && data.getHomeCount() >= maxHomes) {
             if (maxHomes == 0) {
-                String msg = messages.get("validation.home.no-permission");
+                String msg = messages.get(playerUuid, "validation.home.no-permission", null);
                 msg += "\nThis is because you don't have a homes tier permission. Contact the server owner if this is a mistake.";
                 return msg;
             }
-            return messages.get("validation.home.max-reached", Map.of("max", String.valueOf(maxHomes)));
+            return messages.get(playerUuid, "validation.home.max-reached", Map.of("max", String.valueOf(maxHomes)));
         }
 
         Home home = new Home(world, x, y, z, yaw, pitch, System.currentTimeMillis());
@@ -0,0 +1,117 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.models.PlayerData;
+import com.nhulston.essentials.util.Diagnostics;
+import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.StorageManager;
+import com.nhulston.essentials.util.UuidSet;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player ignore lists. Lists are saved with the player data and, while the player is online,
+ * kept as an immutable primitive UUID set that is swapped on change, so the per-recipient check in
+ * the chat fan-out is a lock-free probe of a long array.
+ * Sets are loaded on join only; checks for offline players never touch player data.
+ */
+public class IgnoreManager implements ChatPipeline.RecipientFilter {
+    private static final String EXEMPT_PERMISSION = "essentials.ignore.exempt";
+
+    private final StorageManager storageManager;
+    private final Map<UUID, UuidSet> ignoreSets = new ConcurrentHashMap<>();
+
+    public IgnoreManager(@Nonnull StorageManager storageManager) {
+        this.storageManager = storageManager;
+
+        Diagnostics.register("ignore.loaded-sets", ignoreSets::size);
+    }
+
+    /**
+     * Checks if a player ignores another.
+     *
+     * @param playerUuid The player who may be ignoring
+     * @param senderUuid The player who may be ignored
+     */
+    public boolean isIgnoring(@Nonnull UUID playerUuid, @Nonnull UUID senderUuid) {
+        return ignoreSets.getOrDefault(playerUuid, UuidSet.EMPTY).contains(senderUuid);
+    }
+
+    @Override
+    public boolean shouldReceive(@Nonnull PlayerRef sender, @Nonnull String content, @Nonnull PlayerRef target) {
+        return !isIgnoring(target.getUuid(), sender.getUuid());
+    }
+
+    /**
+     * Checks if a player can't be ignored (staff).
+     */
+    public boolean isExempt(@Nonnull UUID playerUuid) {
+        return PermissionsModule.get().hasPermission(playerUuid, EXEMPT_PERMISSION);
+    }
+
+    /**
+     * Starts ignoring a player.
+     */
+    public void ignore(@Nonnull UUID playerUuid, @Nonnull UUID ignoredUuid, @Nonnull String ignoredName) {
+        PlayerData data = storageManager.getPlayerData(playerUuid);
+        data.addIgnored(ignoredUuid, ignoredName);
+        storageManager.savePlayerData(playerUuid);
+        ignoreSets.put(playerUuid, buildSet(data));
+    }
+
+    /**
+     * Stops ignoring a player.
+     */
+    public void unignore(@Nonnull UUID playerUuid, @Nonnull UUID ignoredUuid) {
+        PlayerData data = storageManager.getPlayerData(playerUuid);
+        data.removeIgnored(ignoredUuid);
+        storageManager.savePlayerData(playerUuid);
+        ignoreSets.put(playerUuid, buildSet(data));
+    }
+
+    /**
+     * Gets the names of the players a player ignores.
+     */
+    @Nonnull
+    public List<String> getIgnoredNames(@Nonnull UUID playerUuid) {
+        return new ArrayList<>(storageManager.getPlayerData(playerUuid).getIgnored().values());
+    }
+
+    /**
+     * Loads a joining player's ignore list.
+     */
+    public void onPlayerJoin(@Nonnull UUID playerUuid) {
+        ignoreSets.put(playerUuid, buildSet(storageManager.getPlayerData(playerUuid)));
+    }
+
+    /**
+     * Cleans up player data on disconnect.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        ignoreSets.remove(playerUuid);
+    }
+
+    @Nonnull
+    private static UuidSet buildSet(@Nonnull PlayerData data) {
+        Map<String, String> ignored = data.getIgnored();
+        if (ignored.isEmpty()) {
+            return UuidSet.EMPTY;
+        }
+
+        List<UUID> uuids = new ArrayList<>(ignored.size());
+        for (String uuid : ignored.keySet()) {
+            try {
+                uuids.add(UUID.fromString(uuid));
+            } catch (IllegalArgumentException e) {
+                Log.warning("Invalid UUID in ignore list: " + uuid);
+            }
+        }
+        return new UuidSet(uuids);
+    }
+}
@@ -7,7 +7,9 @@ import com.hypixel.hytale.server.core.inventory.Inventory;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
 import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
 import com.hypixel.hytale.server.core.inventory.transaction.ItemStackTransaction;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.Essentials;
 import com.nhulston.essentials.models.Kit;
 import com.nhulston.essentials.models.KitItem;
 import com.nhulston.essentials.models.PlayerData;
@@ -287,6 +289,7 @@ public class KitManager {
 
     /**
      * Applies a kit to the player's inventory. Overflow items are dropped on the ground.
+     * Every kit handed out (claimed, given or starter) is recorded in the audit journal.
      */
     public static void applyKit(@Nonnull Kit kit, @Nonnull Inventory inventory,
                                 @Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store) {
@@ -306,6 +309,11 @@ public class KitManager {
                 Log.warning("Kit '" + kit.getId() + "' contains invalid item: " + kitItem.itemId() + " - " + e.getMessage());
             }
         }
+
+        PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+        if (playerRef != null) {
+            Essentials.getInstance().getAuditJournal().record(AuditJournal.Type.KIT, playerRef, null, kit.getId());
+        }
     }
 
     @Nullable
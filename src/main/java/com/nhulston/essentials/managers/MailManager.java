@@ -0,0 +1,311 @@
+package com.nhulston.essentials.managers;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.nhulston.essentials.models.Mail;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Diagnostics;
+import com.nhulston.essentials.util.Log;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Offline mail. Each player has an append-only mailbox file (mail/<uuid>.jsonl, one mail per line)
+ * that is only read by /mail read. A small index (mail/index.json) keeps the mail and unread count of every
+ * mailbox, so joins and sends never touch mailbox contents.
+ * All file work, and every index change, runs in order on one mail thread.
+ */
+public class MailManager {
+    private static final Type INDEX_TYPE = new TypeToken<Map<String, Mailbox>>(){}.getType();
+
+    /**
+     * Index entry of one mailbox.
+     */
+    private record Mailbox(int total, int unread) {}
+
+    private final ConfigManager configManager;
+    private final Path mailFolder;
+    private final Gson gson;
+    private final ConcurrentHashMap<UUID, Mailbox> index = new ConcurrentHashMap<>();
+    private final AtomicBoolean indexDirty = new AtomicBoolean(false);
+    private final ExecutorService executor;
+
+    public MailManager(@Nonnull Path dataFolder, @Nonnull ConfigManager configManager) {
+        this.configManager = configManager;
+        this.mailFolder = dataFolder.resolve("mail");
+        this.gson = new GsonBuilder().create();
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "Essentials-Mail");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            Files.createDirectories(mailFolder);
+        } catch (IOException e) {
+            Log.error("Failed to create mail folder: " + e.getMessage());
+        }
+        loadIndex();
+
+        Diagnostics.register("mail.mailboxes", index::size);
+        Diagnostics.register("mail.unread", () -> {
+            long unread = 0;
+            for (Mailbox mailbox : index.values()) {
+                unread += mailbox.unread();
+            }
+            return unread;
+        });
+    }
+
+    /**
+     * Sends a mail. The mailbox and then the index are updated on the mail thread, so the index always follows
+     * the file.
+     */
+    public void send(@Nonnull UUID senderUuid, @Nonnull String senderName,
+                     @Nonnull UUID recipientUuid, @Nonnull String message) {
+        Mail mail = new Mail(senderUuid.toString(), senderName, System.currentTimeMillis(), message);
+
+        executor.execute(() -> {
+            if (!append(recipientUuid, mail)) {
+                return;
+            }
+            Mailbox mailbox = index.merge(recipientUuid, new Mailbox(1, 1),
+                    (old, added) -> new Mailbox(old.total() + 1, old.unread() + 1));
+            int maxMails = configManager.getMailMaxPerPlayer();
+            if (maxMails > 0 && mailbox.total() > maxMails) {
+                compact(recipientUuid);
+            }
+            scheduleIndexSave();
+        });
+    }
+
+    /**
+     * Gets the number of unread mails from the index, without reading the mailbox.
+     */
+    public int getUnreadCount(@Nonnull UUID playerUuid) {
+        Mailbox mailbox = index.get(playerUuid);
+        return mailbox != null ? mailbox.unread() : 0;
+    }
+
+    /**
+     * Loads a player's mail (oldest first) and marks it all read.
+     */
+    @Nonnull
+    public CompletableFuture<List<Mail>> read(@Nonnull UUID playerUuid) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (!index.containsKey(playerUuid)) {
+                return List.of();
+            }
+
+            List<Mail> mails = compact(playerUuid);
+            index.computeIfPresent(playerUuid, (uuid, mailbox) -> new Mailbox(mailbox.total(), 0));
+            scheduleIndexSave();
+            return mails;
+        }, executor);
+    }
+
+    /**
+     * Deletes a player's mailbox.
+     */
+    @Nonnull
+    public CompletableFuture<Void> clear(@Nonnull UUID playerUuid) {
+        return CompletableFuture.runAsync(() -> {
+            index.remove(playerUuid);
+            try {
+                Files.deleteIfExists(getMailboxFile(playerUuid));
+            } catch (IOException e) {
+                Log.error("Failed to delete mailbox for " + playerUuid + ": " + e.getMessage());
+            }
+            scheduleIndexSave();
+        }, executor);
+    }
+
+    /**
+     * Stops the mail thread after pending writes and saves the index.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        saveIndex();
+    }
+
+    /**
+     * @return true if the mail was written
+     */
+    private boolean append(@Nonnull UUID recipientUuid, @Nonnull Mail mail) {
+        try {
+            Files.writeString(getMailboxFile(recipientUuid), gson.toJson(mail) + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            return true;
+        } catch (IOException e) {
+            Log.error("Failed to write mail for " + recipientUuid + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reads a mailbox and applies the retention limits (age, then count), rewriting the file if anything was dropped.
+     * Runs on the mail thread.
+     */
+    @Nonnull
+    private List<Mail> compact(@Nonnull UUID playerUuid) {
+        Path file = getMailboxFile(playerUuid);
+        if (!Files.exists(file)) {
+            index.remove(playerUuid);
+            return List.of();
+        }
+
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            Log.error("Failed to read mailbox for " + playerUuid + ": " + e.getMessage());
+            return List.of();
+        }
+
+        int retentionDays = configManager.getMailRetentionDays();
+        long cutoff = retentionDays > 0
+                ? System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays)
+                : Long.MIN_VALUE;
+
+        List<Mail> mails = new ArrayList<>(lines.size());
+        boolean dropped = false;
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                Mail mail = gson.fromJson(line, Mail.class);
+                if (mail != null && mail.getSentAt() >= cutoff) {
+                    mails.add(mail);
+                } else {
+                    dropped = true;
+                }
+            } catch (JsonParseException e) {
+                Log.warning("Skipping unreadable mail for " + playerUuid + ": " + e.getMessage());
+                dropped = true;
+            }
+        }
+
+        int maxMails = configManager.getMailMaxPerPlayer();
+        if (maxMails > 0 && mails.size() > maxMails) {
+            mails = new ArrayList<>(mails.subList(mails.size() - maxMails, mails.size()));
+            dropped = true;
+        }
+
+        if (dropped) {
+            rewrite(file, mails);
+        }
+
+        int total = mails.size();
+        if (total == 0) {
+            index.remove(playerUuid);
+        } else {
+            index.compute(playerUuid, (uuid, mailbox) ->
+                    new Mailbox(total, mailbox != null ? Math.min(mailbox.unread(), total) : 0));
+        }
+        scheduleIndexSave();
+        return mails;
+    }
+
+    private void rewrite(@Nonnull Path file, @Nonnull List<Mail> mails) {
+        try {
+            if (mails.isEmpty()) {
+                Files.deleteIfExists(file);
+                return;
+            }
+
+            StringBuilder content = new StringBuilder();
+            for (Mail mail : mails) {
+                content.append(gson.toJson(mail)).append('\n');
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Log.error("Failed to rewrite mailbox " + file.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    @Nonnull
+    private Path getMailboxFile(@Nonnull UUID playerUuid) {
+        return mailFolder.resolve(playerUuid + ".jsonl");
+    }
+
+    private void loadIndex() {
+        Path file = mailFolder.resolve("index.json");
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        try {
+            Map<String, Mailbox> loaded = gson.fromJson(Files.readString(file), INDEX_TYPE);
+            if (loaded != null) {
+                for (Map.Entry<String, Mailbox> entry : loaded.entrySet()) {
+                    try {
+                        index.put(UUID.fromString(entry.getKey()), entry.getValue());
+                    } catch (IllegalArgumentException e) {
+                        Log.warning("Invalid UUID in mail index: " + entry.getKey());
+                    }
+                }
+            }
+        } catch (IOException | JsonParseException e) {
+            Log.warning("Failed to load mail index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Schedules an index save on the mail thread, coalescing changes made before it runs.
+     */
+    private void scheduleIndexSave() {
+        if (indexDirty.compareAndSet(false, true) && !executor.isShutdown()) {
+            executor.execute(() -> {
+                indexDirty.set(false);
+                saveIndex();
+            });
+        }
+    }
+
+    private void saveIndex() {
+        Map<String, Mailbox> toSave = new HashMap<>();
+        for (Map.Entry<UUID, Mailbox> entry : index.entrySet()) {
+            toSave.put(entry.getKey().toString(), entry.getValue());
+        }
+
+        try {
+            Path file = mailFolder.resolve("index.json");
+            Path temp = mailFolder.resolve("index.json.tmp");
+            Files.writeString(temp, gson.toJson(toSave, INDEX_TYPE));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Log.error("Failed to save mail index: " + e.getMessage());
+        }
+    }
+}
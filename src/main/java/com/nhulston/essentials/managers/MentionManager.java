@@ -0,0 +1,201 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.util.AhoCorasick;
+import com.nhulston.essentials.util.ColorUtil;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Diagnostics;
+import com.nhulston.essentials.util.SoundUtil;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Highlights player mentions in chat ("@Steve" or just "Steve") for the mentioned player and pings them.
+ * All online names live in one Aho-Corasick automaton, so each message is scanned once however many players are online.
+ * Plugged into the chat pipeline as a view: mentioned players get their own highlighted copy,
+ * everyone else still gets the shared message.
+ */
+public class MentionManager implements ChatPipeline.ChatView {
+
+    /**
+     * Automaton over lowercased online names; owners[patternId] is the player with that name.
+     */
+    private record Names(@Nonnull AhoCorasick automaton, @Nonnull UUID[] owners) {}
+
+    /**
+     * Mentions found in one message: the text as shown and, per mentioned player, [start, end) ranges to highlight.
+     */
+    private record Scan(@Nonnull String content, @Nonnull UUID sender, @Nonnull String text,
+                        @Nonnull Map<UUID, int[]> ranges) {}
+
+    private final ConfigManager configManager;
+    private final ChatManager chatManager;
+
+    private final Map<UUID, String> onlineNames = new ConcurrentHashMap<>();
+    private final AtomicBoolean namesChanged = new AtomicBoolean(false);
+    private volatile Names names = new Names(new AhoCorasick(List.of()), new UUID[0]);
+    private volatile ColorUtil.Style highlightStyle;
+
+    // The pipeline asks about every recipient of a message in a row, so the last scan is reused.
+    // Only touched by the chat pipeline thread.
+    private Scan lastScan;
+
+    private final AtomicLong rebuilds = new AtomicLong();
+    private final AtomicLong pings = new AtomicLong();
+
+    public MentionManager(@Nonnull ConfigManager configManager, @Nonnull ChatManager chatManager) {
+        this.configManager = configManager;
+        this.chatManager = chatManager;
+        this.highlightStyle = ColorUtil.endStyle(configManager.getMentionHighlight(), ColorUtil.Style.DEFAULT);
+
+        Diagnostics.register("mentions.names", onlineNames::size);
+        Diagnostics.register("mentions.automaton-states", () -> names.automaton().getStateCount());
+        Diagnostics.register("mentions.rebuilds", rebuilds::get);
+        Diagnostics.register("mentions.pings", pings::get);
+    }
+
+    /**
+     * Re-reads the highlight style after a config reload.
+     */
+    public void reload() {
+        highlightStyle = ColorUtil.endStyle(configManager.getMentionHighlight(), ColorUtil.Style.DEFAULT);
+    }
+
+    /**
+     * Adds a joining player's name. The automaton is rebuilt before the next message is scanned,
+     * so a burst of joins costs a single rebuild.
+     */
+    public void onPlayerJoin(@Nonnull PlayerRef player) {
+        onlineNames.put(player.getUuid(), player.getUsername().toLowerCase(Locale.ROOT));
+        namesChanged.set(true);
+    }
+
+    /**
+     * Removes a player's name. The automaton keeps the stale pattern until the next join rebuilds it;
+     * matches for players who are no longer online are ignored.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        onlineNames.remove(playerUuid);
+    }
+
+    @Nullable
+    @Override
+    public String viewFor(@Nonnull PlayerRef sender, @Nonnull String content, @Nonnull PlayerRef target) {
+        if (!configManager.isMentionsEnabled()) {
+            return null;
+        }
+
+        Scan scan = scanFor(sender, content);
+        if (!scan.ranges().containsKey(target.getUuid())) {
+            return null;
+        }
+
+        // Only recipients that actually get the message are asked about, so this is where they are pinged
+        String sound = configManager.getMentionSound();
+        if (!sound.isEmpty()) {
+            SoundUtil.playSound(target, sound);
+        }
+        pings.incrementAndGet();
+        return target.getUuid().toString();
+    }
+
+    @Nonnull
+    @Override
+    public Message render(@Nonnull PlayerRef sender, @Nonnull String content, @Nonnull String viewKey) {
+        Scan scan = scanFor(sender, content);
+        int[] ranges = scan.ranges().get(UUID.fromString(viewKey));
+        if (ranges == null) {
+            return chatManager.formatMessage(sender, content);
+        }
+        return chatManager.formatHighlighted(sender, scan.text(), ranges, highlightStyle);
+    }
+
+    @Nonnull
+    private Scan scanFor(@Nonnull PlayerRef sender, @Nonnull String content) {
+        Scan scan = lastScan;
+        if (scan != null && scan.content() == content && scan.sender().equals(sender.getUuid())) {
+            return scan;
+        }
+        scan = scan(sender, content);
+        lastScan = scan;
+        return scan;
+    }
+
+    /**
+     * Finds every online name in the message in one pass. A match counts when it is a whole word;
+     * a leading '@' is highlighted along with the name.
+     */
+    @Nonnull
+    private Scan scan(@Nonnull PlayerRef sender, @Nonnull String content) {
+        String text = chatManager.sanitizeContent(sender, content);
+        Names current = currentNames();
+        if (current.owners().length == 0) {
+            return new Scan(content, sender.getUuid(), text, Map.of());
+        }
+
+        int length = text.length();
+        char[] lower = new char[length];
+        for (int i = 0; i < length; i++) {
+            lower[i] = Character.toLowerCase(text.charAt(i));
+        }
+
+        UUID senderUuid = sender.getUuid();
+        Map<UUID, int[]> ranges = new HashMap<>();
+        current.automaton().scan(lower, length, (patternId, start, end) -> {
+            if ((start > 0 && isNameChar(lower[start - 1])) || (end < length && isNameChar(lower[end]))) {
+                return true;
+            }
+
+            UUID owner = current.owners()[patternId];
+            if (owner.equals(senderUuid) || !onlineNames.containsKey(owner)) {
+                return true;
+            }
+
+            int from = start > 0 && lower[start - 1] == '@' ? start - 1 : start;
+            // Matches arrive in order of end position and one name can't overlap itself as a whole word
+            ranges.merge(owner, new int[]{from, end}, MentionManager::append);
+            return true;
+        });
+
+        return new Scan(content, senderUuid, text, ranges.isEmpty() ? Map.of() : ranges);
+    }
+
+    @Nonnull
+    private Names currentNames() {
+        if (namesChanged.getAndSet(false)) {
+            List<String> patterns = new ArrayList<>(onlineNames.size());
+            List<UUID> owners = new ArrayList<>(onlineNames.size());
+            for (Map.Entry<UUID, String> entry : onlineNames.entrySet()) {
+                patterns.add(entry.getValue());
+                owners.add(entry.getKey());
+            }
+            names = new Names(new AhoCorasick(patterns), owners.toArray(new UUID[0]));
+            rebuilds.incrementAndGet();
+        }
+        return names;
+    }
+
+    @Nonnull
+    private static int[] append(@Nonnull int[] existing, @Nonnull int[] range) {
+        int[] merged = Arrays.copyOf(existing, existing.length + 2);
+        merged[existing.length] = range[0];
+        merged[existing.length + 1] = range[1];
+        return merged;
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
@@ -0,0 +1,238 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.util.Diagnostics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spatial hash of online players: a grid of 32x32 cells (one chunk) per world.
+ * World threads report positions every tick, but the grid is only touched when a player crosses into another cell.
+ * Other threads (chat, announcements) can then find players in a radius or a world without scanning everyone.
+ */
+public class PlayerSpatialIndex {
+    // 32 blocks per cell, the size of a chunk
+    private static final int CELL_SHIFT = 5;
+
+    /**
+     * Last known state of a tracked player. Positions are written by the player's world thread only.
+     */
+    private static final class Tracked {
+        final PlayerRef player;
+        volatile String world;
+        volatile long cell;
+        volatile double x;
+        volatile double y;
+        volatile double z;
+
+        Tracked(@Nonnull PlayerRef player) {
+            this.player = player;
+        }
+    }
+
+    /**
+     * Snapshot of a player's last known location.
+     */
+    public record Location(@Nonnull String world, double x, double y, double z) {}
+
+    private final Map<UUID, Tracked> tracked = new ConcurrentHashMap<>();
+    private final Map<String, Map<Long, Set<Tracked>>> cellsByWorld = new ConcurrentHashMap<>();
+    private final Map<String, Set<Tracked>> playersByWorld = new ConcurrentHashMap<>();
+
+    public PlayerSpatialIndex() {
+        Diagnostics.register("spatial.players", tracked::size);
+        Diagnostics.register("spatial.cells", () -> {
+            int cells = 0;
+            for (Map<Long, Set<Tracked>> worldCells : cellsByWorld.values()) {
+                cells += worldCells.size();
+            }
+            return cells;
+        });
+    }
+
+    /**
+     * Records a player's position. Called from the player's world thread every tick,
+     * so the common case (same cell as last tick) only writes the coordinates.
+     */
+    public void update(@Nonnull PlayerRef player, @Nonnull String worldName, @Nonnull Vector3d position) {
+        Tracked entry = tracked.get(player.getUuid());
+        if (entry == null) {
+            entry = tracked.computeIfAbsent(player.getUuid(), uuid -> new Tracked(player));
+        }
+
+        double x = position.getX();
+        double z = position.getZ();
+        entry.x = x;
+        entry.y = position.getY();
+        entry.z = z;
+
+        long cell = cellKey(floorToCell(x), floorToCell(z));
+        String previousWorld = entry.world;
+        if (cell == entry.cell && worldName.equals(previousWorld)) {
+            return;
+        }
+
+        // Crossed into another cell or world: move the entry
+        if (previousWorld != null) {
+            removeFromGrid(entry, previousWorld, entry.cell);
+        }
+        entry.world = worldName;
+        entry.cell = cell;
+        Tracked moved = entry;
+        // compute() so the add can't race with removeFromGrid dropping the same cell as empty
+        cellsByWorld.computeIfAbsent(worldName, w -> new ConcurrentHashMap<>()).compute(cell, (key, set) -> {
+            Set<Tracked> players = set != null ? set : ConcurrentHashMap.newKeySet();
+            players.add(moved);
+            return players;
+        });
+        playersByWorld.computeIfAbsent(worldName, w -> ConcurrentHashMap.newKeySet()).add(entry);
+    }
+
+    /**
+     * Stops tracking a player (on disconnect).
+     */
+    public void remove(@Nonnull UUID playerUuid) {
+        Tracked entry = tracked.remove(playerUuid);
+        if (entry != null && entry.world != null) {
+            removeFromGrid(entry, entry.world, entry.cell);
+        }
+    }
+
+    /**
+     * Gets a player's last known location, or null if the player isn't tracked yet.
+     */
+    @Nullable
+    public Location getLocation(@Nonnull UUID playerUuid) {
+        Tracked entry = tracked.get(playerUuid);
+        if (entry == null || entry.world == null) {
+            return null;
+        }
+        return new Location(entry.world, entry.x, entry.y, entry.z);
+    }
+
+    /**
+     * Finds players in a world within a radius of a point.
+     * Only cells overlapping the radius are visited; when the radius spans more cells than are occupied,
+     * the occupied cells are walked instead.
+     */
+    @Nonnull
+    public List<PlayerRef> findNearby(@Nonnull String worldName, double x, double y, double z, double radius) {
+        List<PlayerRef> result = new ArrayList<>();
+        Map<Long, Set<Tracked>> cells = cellsByWorld.get(worldName);
+        if (cells == null) {
+            return result;
+        }
+
+        int minX = floorToCell(x - radius);
+        int maxX = floorToCell(x + radius);
+        int minZ = floorToCell(z - radius);
+        int maxZ = floorToCell(z + radius);
+        double radiusSquared = radius * radius;
+
+        long span = (long) (maxX - minX + 1) * (maxZ - minZ + 1);
+        if (span <= cells.size()) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    Set<Tracked> cell = cells.get(cellKey(cx, cz));
+                    if (cell != null) {
+                        collectInRange(cell, worldName, x, y, z, radiusSquared, result);
+                    }
+                }
+            }
+        } else {
+            for (Map.Entry<Long, Set<Tracked>> cell : cells.entrySet()) {
+                int cx = (int) (cell.getKey() >> 32);
+                int cz = (int) (long) cell.getKey();
+                if (cx >= minX && cx <= maxX && cz >= minZ && cz <= maxZ) {
+                    collectInRange(cell.getValue(), worldName, x, y, z, radiusSquared, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets all tracked players in a world.
+     */
+    @Nonnull
+    public List<PlayerRef> getPlayersInWorld(@Nonnull String worldName) {
+        List<PlayerRef> result = new ArrayList<>();
+        Set<Tracked> players = playersByWorld.get(worldName);
+        if (players != null) {
+            for (Tracked entry : players) {
+                if (worldName.equals(entry.world) && isOnline(entry)) {
+                    result.add(entry.player);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void collectInRange(@Nonnull Set<Tracked> cell, @Nonnull String worldName,
+                                double x, double y, double z, double radiusSquared,
+                                @Nonnull List<PlayerRef> result) {
+        for (Tracked entry : cell) {
+            // The entry may have moved on since the cell was read
+            if (!worldName.equals(entry.world) || !isOnline(entry)) {
+                continue;
+            }
+            double dx = entry.x - x;
+            double dy = entry.y - y;
+            double dz = entry.z - z;
+            if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                result.add(entry.player);
+            }
+        }
+    }
+
+    private void removeFromGrid(@Nonnull Tracked entry, @Nonnull String worldName, long cell) {
+        Map<Long, Set<Tracked>> cells = cellsByWorld.get(worldName);
+        if (cells != null) {
+            // Drop empty cells so the grid only holds occupied ones
+            cells.computeIfPresent(cell, (key, set) -> {
+                set.remove(entry);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        Set<Tracked> players = playersByWorld.get(worldName);
+        if (players != null) {
+            players.remove(entry);
+        }
+    }
+
+    /**
+     * A player's world thread may tick once more after the disconnect cleanup ran, re-adding a stale entry.
+     * Such entries are skipped here and pruned once the player is gone from the server.
+     */
+    private boolean isOnline(@Nonnull Tracked entry) {
+        Ref<EntityStore> ref = entry.player.getReference();
+        if (ref != null && ref.isValid()) {
+            return true;
+        }
+        UUID uuid = entry.player.getUuid();
+        if (Universe.get().getPlayer(uuid) == null && tracked.remove(uuid, entry)) {
+            String world = entry.world;
+            if (world != null) removeFromGrid(entry, world, entry.cell);
+        }
+        return false;
+    }
+
+    private static int floorToCell(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> CELL_SHIFT;
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,244 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Diagnostics;
+import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.TeleportUtil;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps a pool of safe RTP locations ready for every world in [rtp.worlds], so /rtp rarely has to search.
+ * Once a second each pool below its size checks a few random columns, but only in chunks that are already
+ * loaded; when none of those work out, it loads at most one chunk for that world. The search itself runs on
+ * the world's thread, a few columns at a time, so a refill never stalls a tick.
+ * A location is checked again (through the heightmap cache) when it's taken, and dropped if it went stale.
+ */
+public class RtpLocationPool {
+    private static final long REFILL_INTERVAL_MILLIS = 1000;
+    // Past this a location is dropped unchecked: its chunk may have been unloaded and changed since
+    private static final long MAX_AGE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    /**
+     * A safe RTP location (feet position).
+     */
+    public record Location(double x, double y, double z) {}
+
+    private record Entry(@Nonnull Location location, long createdAt) {}
+
+    private final ConfigManager configManager;
+    private final ScheduledExecutorService scheduler;
+    // World name -> pool
+    private final Map<String, WorldPool> pools = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+
+    private ScheduledFuture<?> task;
+
+    public RtpLocationPool(@Nonnull ConfigManager configManager) {
+        this.configManager = configManager;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Essentials-RTP");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Diagnostics.register("rtp.pool.size", () -> {
+            int size = 0;
+            for (WorldPool pool : pools.values()) {
+                size += pool.entries.size();
+            }
+            return size;
+        });
+        Diagnostics.register("rtp.pool.hits", hits::sum);
+        Diagnostics.register("rtp.pool.misses", misses::sum);
+        Diagnostics.register("rtp.pool.discarded", discarded::sum);
+
+        reload();
+    }
+
+    /**
+     * Drops every pooled location and restarts the refill timer with the current config.
+     */
+    public synchronized void reload() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+        // Radii or worlds may have changed, so nothing pooled is trusted
+        pools.clear();
+
+        if (!configManager.isRtpPoolEnabled() || configManager.getRtpPoolSize() <= 0) {
+            return;
+        }
+        task = scheduler.scheduleAtFixedRate(this::refill, REFILL_INTERVAL_MILLIS, REFILL_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the refill timer.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Takes a pooled location for a world, re-checking it first. Must be called on the world's thread.
+     * @return A safe location, or null if the pool has none
+     */
+    @Nullable
+    public Location poll(@Nonnull World world) {
+        WorldPool pool = pools.get(world.getName());
+        if (pool == null) {
+            if (configManager.isRtpPoolEnabled()) {
+                misses.increment();
+            }
+            return null;
+        }
+
+        long now = System.nanoTime();
+        Entry entry;
+        while ((entry = pool.entries.pollFirst()) != null) {
+            Location location = entry.location();
+            if (now - entry.createdAt() > MAX_AGE_NANOS) {
+                discarded.increment();
+                continue;
+            }
+
+            // Loaded chunks can have changed since the location was found; the heightmap makes this O(1)
+            if (TeleportUtil.isChunkLoaded(world, location.x(), location.z())) {
+                Double safeY = TeleportUtil.findSafeRtpYIfLoaded(world, location.x(), location.z());
+                if (safeY == null) {
+                    discarded.increment();
+                    continue;
+                }
+                location = new Location(location.x(), safeY, location.z());
+            }
+
+            hits.increment();
+            return location;
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Takes a pooled location for a world from any thread. The re-check runs on the world's thread.
+     * @return A future with a safe location, or null if the pool has none
+     */
+    @Nonnull
+    public CompletableFuture<Location> take(@Nonnull World world) {
+        CompletableFuture<Location> result = new CompletableFuture<>();
+        world.execute(() -> {
+            try {
+                result.complete(poll(world));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private void refill() {
+        try {
+            int size = configManager.getRtpPoolSize();
+            for (String worldName : configManager.getRtpWorlds()) {
+                World world = Universe.get().getWorld(worldName);
+                Integer radius = configManager.getRtpRadius(worldName);
+                if (world == null || radius == null) {
+                    continue;
+                }
+                WorldPool pool = pools.computeIfAbsent(worldName, _ -> new WorldPool());
+                if (pool.entries.size() < size && pool.searching.compareAndSet(false, true)) {
+                    world.execute(() -> search(world, pool, radius, size));
+                }
+            }
+        } catch (Exception e) {
+            // An exception would cancel the fixed-rate task
+            Log.error("Failed to refill RTP pool: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks a batch of random columns in loaded chunks. Runs on the world's thread.
+     */
+    private void search(@Nonnull World world, @Nonnull WorldPool pool, int radius, int size) {
+        boolean found = false;
+        try {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int candidates = configManager.getRtpPoolRefillPerSecond();
+            for (int i = 0; i < candidates && pool.entries.size() < size; i++) {
+                double x = random.nextDouble(-radius, radius);
+                double z = random.nextDouble(-radius, radius);
+                Double safeY = TeleportUtil.findSafeRtpYIfLoaded(world, x, z);
+                if (safeY != null) {
+                    add(world, pool, new Location(x, safeY, z), size);
+                    found = true;
+                }
+            }
+        } catch (Exception e) {
+            Log.error("Failed to search for RTP locations in " + world.getName() + ": " + e.getMessage());
+        } finally {
+            pool.searching.set(false);
+        }
+
+        if (!found) {
+            loadOne(world, pool, radius, size);
+        }
+    }
+
+    /**
+     * Loads one random chunk and checks a column in it. At most one load is in flight per world.
+     */
+    private void loadOne(@Nonnull World world, @Nonnull WorldPool pool, int radius, int size) {
+        if (!pool.loading.compareAndSet(false, true)) {
+            return;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double x = random.nextDouble(-radius, radius);
+        double z = random.nextDouble(-radius, radius);
+        TeleportUtil.findSafeRtpYAsync(world, x, z).whenComplete((safeY, ex) -> {
+            pool.loading.set(false);
+            if (safeY != null) {
+                add(world, pool, new Location(x, safeY, z), size);
+            }
+        });
+    }
+
+    private void add(@Nonnull World world, @Nonnull WorldPool pool, @Nonnull Location location, int size) {
+        // The pool is replaced on reload; don't refill one that's no longer in use
+        if (pools.get(world.getName()) != pool || pool.entries.size() >= size) {
+            return;
+        }
+        pool.entries.addLast(new Entry(location, System.nanoTime()));
+    }
+
+    /**
+     * Pooled locations for one world.
+     */
+    private static final class WorldPool {
+        final Deque<Entry> entries = new ConcurrentLinkedDeque<>();
+        // A search batch is queued on the world thread
+        final AtomicBoolean searching = new AtomicBoolean();
+        // A chunk is being loaded for this pool
+        final AtomicBoolean loading = new AtomicBoolean();
+    }
+}
@@ -0,0 +1,238 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Diagnostics;
+import com.nhulston.essentials.util.TeleportUtil;
+
+import javax.annotation.Nonnull;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Searches a world for a safe RTP location by loading several candidate chunks at once.
+ * Each search keeps up to [rtp.probe] parallel candidates in flight and finishes with the first safe one;
+ * candidates still loading at that point are ignored. Loads in flight are capped across all searches, and
+ * a search that can't get a slot waits in line until a load finishes.
+ * Probe counts and time to the first safe location are recorded per world as rtp.probe.[world].*.
+ */
+public class RtpProber {
+    // Random points tried per candidate before settling for one the filter rejected
+    private static final int FILTER_TRIES = 8;
+
+    /**
+     * Decides whether a candidate column is worth loading.
+     */
+    @FunctionalInterface
+    public interface CandidateFilter {
+        boolean accept(double x, double z);
+    }
+
+    private final ConfigManager configManager;
+    // Candidate chunk loads in flight across all searches
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Search> waiting = new ConcurrentLinkedQueue<>();
+    // World name -> stats
+    private final Map<String, WorldStats> stats = new ConcurrentHashMap<>();
+
+    public RtpProber(@Nonnull ConfigManager configManager) {
+        this.configManager = configManager;
+
+        Diagnostics.register("rtp.probe.in-flight", inFlight::get);
+        Diagnostics.register("rtp.probe.waiting", waiting::size);
+    }
+
+    /**
+     * Searches for a safe location within a radius of 0,0.
+     * @param attempts The most candidates to try in total
+     * @return A future with a safe location, or null if none of the candidates were safe
+     */
+    @Nonnull
+    public CompletableFuture<RtpLocationPool.Location> findSafeLocation(@Nonnull World world, int radius, int attempts) {
+        return findSafeLocation(world, radius, attempts, (x, z) -> true);
+    }
+
+    /**
+     * Searches for a safe location within a radius of 0,0, preferring candidates the filter accepts.
+     * @param attempts The most candidates to try in total
+     * @return A future with a safe location, or null if none of the candidates were safe
+     */
+    @Nonnull
+    public CompletableFuture<RtpLocationPool.Location> findSafeLocation(@Nonnull World world, int radius, int attempts,
+                                                                        @Nonnull CandidateFilter filter) {
+        String worldName = world.getName();
+        WorldStats worldStats = stats.computeIfAbsent(worldName, WorldStats::new);
+        worldStats.searches.increment();
+
+        Search search = new Search(world, radius, attempts, configManager.getRtpProbeParallel(worldName), filter,
+                worldStats);
+        search.launch();
+        return search.result;
+    }
+
+    private boolean tryAcquire() {
+        int max = configManager.getRtpProbeMaxConcurrent();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= max) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Hands free slots to waiting searches, oldest first.
+     */
+    private void drainWaiting() {
+        Search search;
+        while (inFlight.get() < configManager.getRtpProbeMaxConcurrent() && (search = waiting.poll()) != null) {
+            search.launch();
+        }
+    }
+
+    /**
+     * One /rtp search.
+     */
+    private final class Search {
+        final CompletableFuture<RtpLocationPool.Location> result = new CompletableFuture<>();
+        private final World world;
+        private final int radius;
+        private final int attempts;
+        private final int parallel;
+        private final CandidateFilter filter;
+        private final WorldStats worldStats;
+        private final long startedAt = System.nanoTime();
+        // Guarded by this
+        private int launched = 0;
+        private int active = 0;
+
+        Search(@Nonnull World world, int radius, int attempts, int parallel, @Nonnull CandidateFilter filter,
+               @Nonnull WorldStats worldStats) {
+            this.world = world;
+            this.radius = radius;
+            this.attempts = attempts;
+            this.parallel = parallel;
+            this.filter = filter;
+            this.worldStats = worldStats;
+        }
+
+        /**
+         * Tops up this search's candidates in flight.
+         */
+        void launch() {
+            int reserved;
+            synchronized (this) {
+                reserved = reserveLocked();
+            }
+            if (reserved < 0) {
+                // A load may have finished between the failed acquire and joining the line.
+                // Done outside the lock, since draining launches other searches
+                drainWaiting();
+                return;
+            }
+            // Also started outside the lock: a candidate in a chunk that is already loaded completes inline,
+            // and its callback launches this search again and drains other searches
+            for (int i = 0; i < reserved; i++) {
+                probe();
+            }
+        }
+
+        /**
+         * Reserves load slots for this search's next candidates.
+         * @return How many candidates to start, or -1 if the search joined the waiting line
+         */
+        private int reserveLocked() {
+            int reserved = 0;
+            while (!result.isDone() && active < parallel && launched < attempts) {
+                if (!tryAcquire()) {
+                    // With candidates in flight, their completion launches the next ones
+                    if (active == 0) {
+                        waiting.add(this);
+                        return -1;
+                    }
+                    break;
+                }
+                launched++;
+                active++;
+                reserved++;
+                worldStats.probes.increment();
+            }
+
+            if (!result.isDone() && active == 0 && launched >= attempts) {
+                worldStats.failed.increment();
+                result.complete(null);
+            }
+            return reserved;
+        }
+
+        private void probe() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double x = random.nextDouble(-radius, radius);
+            double z = random.nextDouble(-radius, radius);
+            for (int i = 1; i < FILTER_TRIES && !filter.accept(x, z); i++) {
+                x = random.nextDouble(-radius, radius);
+                z = random.nextDouble(-radius, radius);
+            }
+            double candidateX = x;
+            double candidateZ = z;
+
+            TeleportUtil.findSafeRtpYAsync(world, candidateX, candidateZ).whenComplete((safeY, ex) -> {
+                inFlight.decrementAndGet();
+                synchronized (this) {
+                    active--;
+                    // A failed load counts as an unsafe candidate
+                    if (safeY != null && !result.isDone()) {
+                        worldStats.recordFound(System.nanoTime() - startedAt);
+                        result.complete(new RtpLocationPool.Location(candidateX, safeY, candidateZ));
+                    }
+                }
+                launch();
+                drainWaiting();
+            });
+        }
+    }
+
+    /**
+     * Search results for one world.
+     */
+    private static final class WorldStats {
+        final LongAdder searches = new LongAdder();
+        final LongAdder probes = new LongAdder();
+        final LongAdder found = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder foundNanos = new LongAdder();
+        final AtomicLong maxFoundNanos = new AtomicLong();
+
+        WorldStats(@Nonnull String worldName) {
+            String prefix = "rtp.probe." + worldName + ".";
+            Diagnostics.register(prefix + "searches", searches::sum);
+            Diagnostics.register(prefix + "probes-per-search", () -> {
+                long count = searches.sum();
+                return count == 0 ? "n/a" : String.format(Locale.ROOT, "%.2f", probes.sum() / (double) count);
+            });
+            Diagnostics.register(prefix + "failed", failed::sum);
+            Diagnostics.register(prefix + "time-to-safe-avg", () -> {
+                long count = found.sum();
+                return Diagnostics.formatMillis(count == 0 ? 0 : foundNanos.sum() / count);
+            });
+            Diagnostics.register(prefix + "time-to-safe-max", () -> Diagnostics.formatMillis(maxFoundNanos.get()));
+        }
+
+        void recordFound(long nanos) {
+            found.increment();
+            foundNanos.add(nanos);
+            maxFoundNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+}
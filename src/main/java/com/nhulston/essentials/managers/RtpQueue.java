@@ -0,0 +1,284 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Diagnostics;
+import com.nhulston.essentials.util.MessageManager;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.TimerWheel;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission control for /rtp searches that have to load chunks.
+ * Each world runs at most [rtp.queue] max-searches of them at once; everyone else waits in line, is told
+ * their position when they join, and again every few seconds while they wait. Searches prefer candidates
+ * at least min-spacing blocks from the world's recent destinations, so a rush of players spreads out
+ * instead of generating a block of neighbouring fresh chunks.
+ * Cooldowns are still checked by the command before a player gets here.
+ */
+public class RtpQueue {
+    private static final long POSITION_UPDATE_SECONDS = 5;
+    private static final long DESTINATION_MEMORY_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final int MAX_RECENT_DESTINATIONS = 64;
+
+    private final ConfigManager configManager;
+    private final RtpProber prober;
+    private final TimerWheel timerWheel;
+    private final MessageManager messages;
+    // World name -> queue
+    private final Map<String, WorldQueue> queues = new ConcurrentHashMap<>();
+    // Players waiting or searching, in any world, with their current request
+    private final Map<UUID, Waiter> members = new ConcurrentHashMap<>();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public RtpQueue(@Nonnull ConfigManager configManager, @Nonnull RtpProber prober, @Nonnull TimerWheel timerWheel) {
+        this.configManager = configManager;
+        this.prober = prober;
+        this.timerWheel = timerWheel;
+        this.messages = Essentials.getInstance().getMessageManager();
+
+        Diagnostics.register("rtp.queue.depth", () -> {
+            int depth = 0;
+            for (WorldQueue queue : queues.values()) {
+                synchronized (queue) {
+                    depth += queue.waiting.size();
+                }
+            }
+            return depth;
+        });
+        Diagnostics.register("rtp.queue.searching", () -> {
+            int searching = 0;
+            for (WorldQueue queue : queues.values()) {
+                synchronized (queue) {
+                    searching += queue.running;
+                }
+            }
+            return searching;
+        });
+        Diagnostics.register("rtp.queue.wait-avg", () -> {
+            long count = admitted.sum();
+            return Diagnostics.formatMillis(count == 0 ? 0 : waitNanos.sum() / count);
+        });
+        Diagnostics.register("rtp.queue.wait-max", () -> Diagnostics.formatMillis(maxWaitNanos.get()));
+    }
+
+    /**
+     * Checks whether a player is already waiting for or running an RTP search.
+     */
+    public boolean isQueued(@Nonnull UUID playerUuid) {
+        return members.containsKey(playerUuid);
+    }
+
+    /**
+     * Searches for a safe location once the world has a free search slot.
+     * @param attempts The most candidates to try
+     * @return A future with a safe location, or null if none was found. Cancelled if the player leaves first
+     */
+    @Nonnull
+    public CompletableFuture<RtpLocationPool.Location> search(@Nonnull World world, @Nonnull PlayerRef player,
+                                                            int radius, int attempts) {
+        WorldQueue queue = queues.computeIfAbsent(world.getName(), _ -> new WorldQueue());
+        Waiter waiter = new Waiter(world, player, radius, attempts);
+        members.put(player.getUuid(), waiter);
+
+        int position = 0;
+        boolean startUpdates = false;
+        synchronized (queue) {
+            if (queue.running < configManager.getRtpQueueMaxSearches() && queue.waiting.isEmpty()) {
+                queue.running++;
+            } else {
+                queue.waiting.addLast(waiter);
+                position = queue.waiting.size();
+                if (!queue.updating) {
+                    queue.updating = true;
+                    startUpdates = true;
+                }
+            }
+        }
+
+        if (position == 0) {
+            start(queue, waiter);
+        } else {
+            Msg.send(player, messages.get(player, "commands.rtp.queue.queued",
+                    Map.of("position", String.valueOf(position))));
+            if (startUpdates) {
+                schedulePositionUpdate(queue);
+            }
+        }
+        return waiter.result;
+    }
+
+    /**
+     * Takes a player out of line and cancels their request. Call this when a player disconnects.
+     * A search that is already running finishes in the background and frees its slot as usual.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        Waiter waiter = members.remove(playerUuid);
+        if (waiter == null) {
+            return;
+        }
+        WorldQueue queue = queues.get(waiter.world.getName());
+        if (queue != null) {
+            synchronized (queue) {
+                queue.waiting.remove(waiter);
+            }
+        }
+        // Cancelled outside the lock, since callers chain onto the result
+        waiter.result.cancel(false);
+    }
+
+    private void start(@Nonnull WorldQueue queue, @Nonnull Waiter waiter) {
+        long waited = System.nanoTime() - waiter.enqueuedAt;
+        admitted.increment();
+        waitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+        CompletableFuture<RtpLocationPool.Location> search;
+        try {
+            search = prober.findSafeLocation(waiter.world, waiter.radius, waiter.attempts, queue::isSpread);
+        } catch (Exception e) {
+            // The slot was taken for this search, so hand it on even though it never started
+            members.remove(waiter.player.getUuid(), waiter);
+            admitNext(queue);
+            waiter.result.completeExceptionally(e);
+            return;
+        }
+
+        search.whenComplete((location, ex) -> {
+            if (location != null) {
+                queue.recordDestination(location);
+            }
+            // Only this request: the player may have left and queued again since
+            members.remove(waiter.player.getUuid(), waiter);
+            admitNext(queue);
+
+            if (ex != null) {
+                waiter.result.completeExceptionally(ex);
+            } else {
+                waiter.result.complete(location);
+            }
+        });
+    }
+
+    /**
+     * Frees a search slot and hands it to the next player in line.
+     */
+    private void admitNext(@Nonnull WorldQueue queue) {
+        Waiter next;
+        synchronized (queue) {
+            queue.running--;
+            next = queue.waiting.pollFirst();
+            if (next == null) {
+                return;
+            }
+            queue.running++;
+        }
+        start(queue, next);
+    }
+
+    private void schedulePositionUpdate(@Nonnull WorldQueue queue) {
+        timerWheel.schedule(() -> sendPositions(queue), POSITION_UPDATE_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Tells everyone still in line where they are. Runs on the timer wheel thread.
+     */
+    private void sendPositions(@Nonnull WorldQueue queue) {
+        List<PlayerRef> players = new ArrayList<>();
+        synchronized (queue) {
+            if (queue.waiting.isEmpty()) {
+                queue.updating = false;
+                return;
+            }
+            for (Waiter waiter : queue.waiting) {
+                players.add(waiter.player);
+            }
+        }
+
+        for (int i = 0; i < players.size(); i++) {
+            PlayerRef player = players.get(i);
+            Msg.send(player, messages.get(player, "commands.rtp.queue.position",
+                    Map.of("position", String.valueOf(i + 1))));
+        }
+        schedulePositionUpdate(queue);
+    }
+
+    /**
+     * Players waiting for a search slot in one world, and where recent searches sent players.
+     */
+    private final class WorldQueue {
+        // Guarded by this
+        final Deque<Waiter> waiting = new ArrayDeque<>();
+        int running = 0;
+        boolean updating = false;
+        private final Deque<Destination> recent = new ArrayDeque<>();
+
+        synchronized boolean isSpread(double x, double z) {
+            pruneDestinations(System.nanoTime());
+            double spacing = configManager.getRtpQueueMinSpacing();
+            double spacingSquared = spacing * spacing;
+            for (Destination destination : recent) {
+                double dx = destination.x() - x;
+                double dz = destination.z() - z;
+                if (dx * dx + dz * dz < spacingSquared) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        synchronized void recordDestination(@Nonnull RtpLocationPool.Location location) {
+            long now = System.nanoTime();
+            pruneDestinations(now);
+            if (recent.size() >= MAX_RECENT_DESTINATIONS) {
+                recent.pollFirst();
+            }
+            recent.addLast(new Destination(location.x(), location.z(), now));
+        }
+
+        private void pruneDestinations(long now) {
+            Iterator<Destination> it = recent.iterator();
+            while (it.hasNext() && now - it.next().createdAt() > DESTINATION_MEMORY_NANOS) {
+                it.remove();
+            }
+        }
+    }
+
+    private record Destination(double x, double z, long createdAt) {}
+
+    /**
+     * A player waiting for a search slot.
+     */
+    private static final class Waiter {
+        final World world;
+        final PlayerRef player;
+        final int radius;
+        final int attempts;
+        final long enqueuedAt = System.nanoTime();
+        final CompletableFuture<RtpLocationPool.Location> result = new CompletableFuture<>();
+
+        Waiter(@Nonnull World world, @Nonnull PlayerRef player, int radius, int attempts) {
+            this.world = world;
+            this.player = player;
+            this.radius = radius;
+            this.attempts = attempts;
+        }
+    }
+}
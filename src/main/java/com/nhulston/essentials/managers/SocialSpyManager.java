@@ -0,0 +1,75 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.util.ColorUtil;
+import com.nhulston.essentials.util.Diagnostics;
+import com.nhulston.essentials.util.MessageManager;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Social spy: shows private messages to staff who turned it on.
+ * Spies are kept in a copy-on-write set that only changes on toggle and quit, so relaying a message
+ * is one formatted message per language sent to a handful of players, no matter how many are online.
+ */
+public class SocialSpyManager {
+    private final MessageManager messages;
+    private final Set<PlayerRef> spies = new CopyOnWriteArraySet<>();
+
+    public SocialSpyManager(@Nonnull MessageManager messages) {
+        this.messages = messages;
+
+        Diagnostics.register("socialspy.spies", spies::size);
+    }
+
+    /**
+     * Toggles social spy for a player.
+     *
+     * @return true if social spy is now on
+     */
+    public boolean toggle(@Nonnull PlayerRef playerRef) {
+        UUID playerUuid = playerRef.getUuid();
+        if (spies.removeIf(spy -> spy.getUuid().equals(playerUuid))) {
+            return false;
+        }
+
+        spies.add(playerRef);
+        return true;
+    }
+
+    /**
+     * Relays a private message to every spy except its sender and target.
+     */
+    public void relay(@Nonnull PlayerRef sender, @Nonnull PlayerRef target, @Nonnull String message) {
+        if (spies.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> placeholders = Map.of(
+                "sender", sender.getUsername(),
+                "target", target.getUsername(),
+                "message", message);
+        // Built once per language in use, then the same instance goes to every spy with that language
+        Map<String, Message> formatted = new HashMap<>(2);
+        for (PlayerRef spy : spies) {
+            if (spy == sender || spy == target) {
+                continue;
+            }
+            spy.sendMessage(formatted.computeIfAbsent(messages.getLanguage(spy.getUuid()),
+                    _ -> ColorUtil.colorize(messages.get(spy, "commands.socialspy.format", placeholders))));
+        }
+    }
+
+    /**
+     * Cleans up player data on disconnect.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        spies.removeIf(spy -> spy.getUuid().equals(playerUuid));
+    }
+}
@@ -8,23 +8,35 @@ import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.components.PendingTeleportComponent;
 import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Diagnostics;
 import com.nhulston.essentials.util.Log;
 import com.nhulston.essentials.util.MessageManager;
 import com.nhulston.essentials.util.Msg;
 import com.nhulston.essentials.util.SoundUtil;
 import com.nhulston.essentials.util.TeleportUtil;
+import com.nhulston.essentials.util.TimerWheel;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Manages delayed teleports with movement cancellation.
  * Players must stand still during the teleport delay or the teleport is canceled.
  * Teleport destinations are stored as data and executed via buffer.run() callback.
+ * Players with a pending teleport carry a {@link PendingTeleportComponent}, so only they are ticked.
+ * The countdown itself is a timer on the plugin's timer wheel that fires on the player's world thread.
+ * While it runs, the destination chunk of a coordinate teleport is loaded in the background and its safe Y
+ * resolved, so the teleport at the end of the countdown doesn't have to load the chunk on the world thread.
  */
 public class TeleportManager {
     private static final String BYPASS_PERMISSION = "essentials.teleport.bypass";
@@ -32,12 +44,33 @@ public class TeleportManager {
     private static final String TELEPORT_SOUND = "SFX_Portal_Neutral_Teleport_Local";
 
     private final ConfigManager configManager;
+    private final AuditJournal auditJournal;
+    private final TimerWheel timerWheel;
     private final MessageManager messages;
     private final ConcurrentHashMap<UUID, PendingTeleport> pendingTeleports = new ConcurrentHashMap<>();
-
-    public TeleportManager(@Nonnull ConfigManager configManager) {
+    private final LongAdder arrivals = new LongAdder();
+    private final LongAdder arrivalNanos = new LongAdder();
+    private final AtomicLong maxArrivalNanos = new AtomicLong();
+    private final LongAdder preloadsReady = new LongAdder();
+    private final LongAdder preloadsLate = new LongAdder();
+
+    public TeleportManager(@Nonnull ConfigManager configManager, @Nonnull AuditJournal auditJournal,
+                           @Nonnull TimerWheel timerWheel) {
         this.configManager = configManager;
+        this.auditJournal = auditJournal;
+        this.timerWheel = timerWheel;
         this.messages = Essentials.getInstance().getMessageManager();
+
+        Diagnostics.register("teleport.pending", pendingTeleports::size);
+        // From the end of the countdown until the teleport is applied
+        Diagnostics.register("teleport.arrival-avg", () -> {
+            long count = arrivals.sum();
+            return Diagnostics.formatMillis(count == 0 ? 0 : arrivalNanos.sum() / count);
+        });
+        Diagnostics.register("teleport.arrival-max", () -> Diagnostics.formatMillis(maxArrivalNanos.get()));
+        // Whether the destination had finished loading when the countdown ended
+        Diagnostics.register("teleport.preload-ready", preloadsReady::sum);
+        Diagnostics.register("teleport.preload-late", preloadsLate::sum);
     }
 
     /**
@@ -59,7 +92,7 @@ public class TeleportManager {
                               float yaw, float pitch, @Nullable String successMessage,
                               @Nullable Runnable onSuccess) {
         UUID playerUuid = playerRef.getUuid();
-        int delay = configManager.getTeleportDelay();
+        int delay = getTeleportDelay(store);
 
         // Check bypass permission or if delay is 0
         if (delay <= 0 || PermissionsModule.get().hasPermission(playerUuid, BYPASS_PERMISSION)) {
@@ -68,6 +101,7 @@ public class TeleportManager {
             if (error != null) {
                 Msg.send(playerRef, error);
             } else {
+                auditTeleport(playerRef, worldName, x, y, z);
                 SoundUtil.playSound(playerRef, TELEPORT_SOUND);
                 if (successMessage != null) {
                     Msg.send(playerRef, successMessage);
@@ -81,30 +115,34 @@ public class TeleportManager {
 
         // Create pending teleport and add atomically
         TeleportDestination destination = new TeleportDestination(worldName, x, y, z, yaw, pitch);
-        PendingTeleport pending = new PendingTeleport(playerRef, startPosition, destination, successMessage, delay, onSuccess);
+        PendingTeleport pending = new PendingTeleport(playerRef, startPosition, destination, successMessage, onSuccess);
         PendingTeleport existing = pendingTeleports.putIfAbsent(playerUuid, pending);
         
         if (existing != null) {
-            Msg.send(playerRef, messages.get("teleport.already-pending"));
+            Msg.send(playerRef, messages.get(playerRef, "teleport.already-pending"));
             return;
         }
 
-        Msg.send(playerRef, messages.get("teleport.countdown", Map.of("delay", String.valueOf(delay))));
+        startCountdown(pending, entityRef, store, delay);
+        pending.setPreload(TeleportUtil.preloadSafeY(worldName, x, y, z));
+        Msg.send(playerRef, messages.get(playerRef, "teleport.countdown", Map.of("delay", String.valueOf(delay))));
     }
 
     /**
      * Queues a player-to-player teleport (for TPA).
+     * The target's chunk is already loaded around them, so nothing is preloaded.
      */
     public void queueTeleportToPlayer(@Nonnull PlayerRef playerRef, @Nonnull Ref<EntityStore> entityRef,
                                       @Nonnull Store<EntityStore> store, @Nonnull Vector3d startPosition,
                                       @Nonnull PlayerRef targetPlayer, @Nullable String successMessage) {
         UUID playerUuid = playerRef.getUuid();
-        int delay = configManager.getTeleportDelay();
+        int delay = getTeleportDelay(store);
 
         // Check bypass permission or if delay is 0
         if (delay <= 0 || PermissionsModule.get().hasPermission(playerUuid, BYPASS_PERMISSION)) {
             // Execute immediately
             TeleportUtil.teleportToPlayer(playerRef, targetPlayer);
+            auditJournal.record(AuditJournal.Type.TELEPORT, playerRef, targetPlayer, "to player");
             SoundUtil.playSound(playerRef, TELEPORT_SOUND);
             if (successMessage != null) {
                 Msg.send(playerRef, successMessage);
@@ -114,25 +152,46 @@ public class TeleportManager {
 
         // Create pending teleport with target player UUID and add atomically
         PendingTeleport pending = new PendingTeleport(playerRef, startPosition, targetPlayer.getUuid(), 
-                                                       targetPlayer.getUsername(), successMessage, delay);
+                                                       targetPlayer.getUsername(), successMessage);
         PendingTeleport existing = pendingTeleports.putIfAbsent(playerUuid, pending);
         
         if (existing != null) {
-            Msg.send(playerRef, messages.get("teleport.already-pending"));
+            Msg.send(playerRef, messages.get(playerRef, "teleport.already-pending"));
             return;
         }
 
-        Msg.send(playerRef, messages.get("teleport.countdown", Map.of("delay", String.valueOf(delay))));
+        startCountdown(pending, entityRef, store, delay);
+        Msg.send(playerRef, messages.get(playerRef, "teleport.countdown", Map.of("delay", String.valueOf(delay))));
+    }
+
+    /**
+     * Tags the player so the tick system picks them up and starts the countdown timer.
+     */
+    private void startCountdown(@Nonnull PendingTeleport pending, @Nonnull Ref<EntityStore> entityRef,
+                                @Nonnull Store<EntityStore> store, int delay) {
+        store.putComponent(entityRef, PendingTeleportComponent.getComponentType(), PendingTeleportComponent.INSTANCE);
+        pending.setCountdown(timerWheel.schedule(store.getExternalData().getWorld(), pending::markReady,
+                delay, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Gets the teleport delay for the world the player is currently in.
+     */
+    private int getTeleportDelay(@Nonnull Store<EntityStore> store) {
+        String worldName = store.getExternalData().getWorld().getName();
+        return configManager.getWorldSettings(worldName).teleportDelay();
     }
 
     /**
-     * Ticks pending teleports. Called from the tick system.
+     * Ticks a pending teleport. Called from the tick system for players carrying the pending teleport component;
+     * the component is removed here once the teleport is done or gone.
      */
     public void tick(@Nonnull UUID playerUuid, @Nonnull Ref<EntityStore> currentRef,
-                     @Nonnull Vector3d currentPosition, float deltaTime,
-                     @Nonnull CommandBuffer<EntityStore> buffer) {
+                     @Nonnull Vector3d currentPosition, @Nonnull CommandBuffer<EntityStore> buffer) {
         PendingTeleport pending = pendingTeleports.get(playerUuid);
         if (pending == null) {
+            // Cancelled off the world thread (e.g. /tpacancel, disconnect): only the tag is left
+            untag(currentRef, buffer);
             return;
         }
 
@@ -141,17 +200,22 @@ public class TeleportManager {
         double maxDistanceSquared = CANCEL_DISTANCE * CANCEL_DISTANCE;
 
         if (distanceSquared > maxDistanceSquared) {
-            cancelTeleport(playerUuid, messages.get("teleport.cancelled-moved"));
+            cancelTeleport(playerUuid, messages.get(playerUuid, "teleport.cancelled-moved", null));
+            untag(currentRef, buffer);
             return;
         }
 
-        // Update elapsed time and check if ready to teleport
-        pending.addElapsedTime(deltaTime);
+        // Ready once the countdown timer has fired
         if (pending.isReady()) {
+            untag(currentRef, buffer);
             executeTeleport(playerUuid, currentRef, buffer);
         }
     }
 
+    private static void untag(@Nonnull Ref<EntityStore> ref, @Nonnull CommandBuffer<EntityStore> buffer) {
+        buffer.removeComponent(ref, PendingTeleportComponent.getComponentType());
+    }
+
     /**
      * Executes a pending teleport using buffer.run() to defer execution.
      */
@@ -161,12 +225,19 @@ public class TeleportManager {
         if (pending == null) {
             return;
         }
+        if (pending.hasPreload()) {
+            if (pending.isPreloaded()) {
+                preloadsReady.increment();
+            } else {
+                preloadsLate.increment();
+            }
+        }
 
         // Use buffer.run() to execute after the tick system finishes processing
         buffer.run(store -> {
             try {
                 if (!currentRef.isValid()) {
-                    Msg.send(pending.getPlayerRef(), messages.get("teleport.failed"));
+                    Msg.send(pending.getPlayerRef(), messages.get(pending.getPlayerRef(), "teleport.failed"));
                     return;
                 }
 
@@ -178,6 +249,10 @@ public class TeleportManager {
                         pending.getTargetPlayerUuid(),
                         () -> {
                             // Success callback
+                            recordArrival(pending);
+                            auditJournal.record(AuditJournal.Type.TELEPORT,
+                                    pending.getPlayerRef().getUuid(), pending.getPlayerRef().getUsername(),
+                                    pending.getTargetPlayerUuid(), pending.getTargetPlayerName(), "to player");
                             SoundUtil.playSound(pending.getPlayerRef(), TELEPORT_SOUND);
                             if (pending.getSuccessMessage() != null) {
                                 Msg.send(pending.getPlayerRef(), pending.getSuccessMessage());
@@ -193,35 +268,96 @@ public class TeleportManager {
                     );
                 } else {
                     // Teleport to coordinates
-                    TeleportDestination dest = pending.getDestination();
-                    String error = TeleportUtil.teleportSafe(store, currentRef, dest.worldName,
-                            dest.x, dest.y, dest.z, dest.yaw, dest.pitch);
-
-                    if (error != null) {
-                        Msg.send(pending.getPlayerRef(), error);
+                    CompletableFuture<Double> preload = pending.getPreload();
+                    if (preload == null) {
+                        // Destination world wasn't loaded when the countdown started
+                        TeleportDestination dest = pending.getDestination();
+                        finishTeleport(pending, TeleportUtil.teleportSafe(store, currentRef, dest.worldName,
+                                dest.x, dest.y, dest.z, dest.yaw, dest.pitch));
+                    } else if (preload.isDone()) {
+                        teleportPreloaded(pending, store, currentRef, preload);
                     } else {
-                        SoundUtil.playSound(pending.getPlayerRef(), TELEPORT_SOUND);
-                        if (pending.getSuccessMessage() != null) {
-                            Msg.send(pending.getPlayerRef(), pending.getSuccessMessage());
-                        }
-                        if (pending.getOnSuccess() != null) {
-                            pending.getOnSuccess().run();
-                        }
+                        // Still loading: finish on the player's world thread once the chunk is in,
+                        // rather than loading it synchronously here
+                        preload.handle((safeY, ex) -> null).thenAcceptAsync(_ -> {
+                            if (!currentRef.isValid()) {
+                                return;
+                            }
+                            try {
+                                teleportPreloaded(pending, currentRef.getStore(), currentRef, preload);
+                            } catch (Exception e) {
+                                Log.error("Failed to execute teleport for " + playerUuid + ": " + e.getMessage());
+                                Msg.send(pending.getPlayerRef(),
+                                        messages.get(pending.getPlayerRef(), "teleport.failed"));
+                            }
+                        }, store.getExternalData().getWorld());
                     }
                 }
             } catch (Exception e) {
                 Log.error("Failed to execute teleport for " + playerUuid + ": " + e.getMessage());
-                Msg.send(pending.getPlayerRef(), messages.get("teleport.failed"));
+                Msg.send(pending.getPlayerRef(), messages.get(pending.getPlayerRef(), "teleport.failed"));
             }
         });
     }
 
+    /**
+     * Teleports once the preload finished. The safe Y is checked again in the now resident chunk, so blocks
+     * placed during the countdown count; the preloaded Y is only the fallback if the chunk isn't there.
+     * A failed load falls back to the requested Y, as a synchronous lookup would for a missing chunk.
+     */
+    private void teleportPreloaded(@Nonnull PendingTeleport pending, @Nonnull Store<EntityStore> store,
+                                   @Nonnull Ref<EntityStore> ref, @Nonnull CompletableFuture<Double> preload) {
+        TeleportDestination dest = pending.getDestination();
+        double preloadedY = dest.y;
+        if (!preload.isCompletedExceptionally()) {
+            preloadedY = preload.join();
+        }
+        finishTeleport(pending, TeleportUtil.teleportResolved(store, ref, dest.worldName, dest.x, dest.y, dest.z,
+                preloadedY, dest.yaw));
+    }
+
+    /**
+     * Reports the outcome of a coordinate teleport.
+     */
+    private void finishTeleport(@Nonnull PendingTeleport pending, @Nullable String error) {
+        if (error != null) {
+            Msg.send(pending.getPlayerRef(), error);
+            return;
+        }
+        TeleportDestination dest = pending.getDestination();
+        recordArrival(pending);
+        auditTeleport(pending.getPlayerRef(), dest.worldName, dest.x, dest.y, dest.z);
+        SoundUtil.playSound(pending.getPlayerRef(), TELEPORT_SOUND);
+        if (pending.getSuccessMessage() != null) {
+            Msg.send(pending.getPlayerRef(), pending.getSuccessMessage());
+        }
+        if (pending.getOnSuccess() != null) {
+            pending.getOnSuccess().run();
+        }
+    }
+
+    private void recordArrival(@Nonnull PendingTeleport pending) {
+        long latency = System.nanoTime() - pending.getReadyAt();
+        arrivals.increment();
+        arrivalNanos.add(latency);
+        maxArrivalNanos.accumulateAndGet(latency, Math::max);
+    }
+
+    private void auditTeleport(@Nonnull PlayerRef playerRef, @Nonnull String worldName, double x, double y, double z) {
+        auditJournal.record(AuditJournal.Type.TELEPORT, playerRef, null,
+                String.format(Locale.ROOT, "%s %.1f, %.1f, %.1f", worldName, x, y, z));
+    }
+
     /**
      * Cancels a pending teleport for a player.
      */
     public void cancelTeleport(@Nonnull UUID playerUuid, @Nullable String reason) {
         PendingTeleport pending = pendingTeleports.remove(playerUuid);
-        if (pending != null && reason != null) {
+        if (pending == null) {
+            return;
+        }
+        pending.cancel();
+        if (reason != null) {
             Msg.send(pending.getPlayerRef(), reason);
         }
     }
@@ -237,13 +373,19 @@ public class TeleportManager {
      * Cleans up pending teleport for a player when they disconnect.
      */
     public void onPlayerQuit(@Nonnull UUID playerUuid) {
-        pendingTeleports.remove(playerUuid);
+        PendingTeleport pending = pendingTeleports.remove(playerUuid);
+        if (pending != null) {
+            pending.cancel();
+        }
     }
 
     /**
      * Shuts down the manager.
      */
     public void shutdown() {
+        for (PendingTeleport pending : pendingTeleports.values()) {
+            pending.cancel();
+        }
         pendingTeleports.clear();
     }
 
@@ -276,13 +418,15 @@ public class TeleportManager {
         private final String targetPlayerName;         // For player teleports
         private final String successMessage;
         private final Runnable onSuccess;
-        private final float delaySeconds;
-        private float elapsedTime;
+        private volatile TimerWheel.Timeout countdown;
+        private volatile CompletableFuture<Double> preload;
+        private volatile boolean ready;
+        private volatile long readyAt;
 
         // Constructor for coordinate teleport
         PendingTeleport(@Nonnull PlayerRef playerRef, @Nonnull Vector3d startPosition,
                         @Nonnull TeleportDestination destination, @Nullable String successMessage, 
-                        int delaySeconds, @Nullable Runnable onSuccess) {
+                        @Nullable Runnable onSuccess) {
             this.playerRef = playerRef;
             this.startPosition = startPosition.clone(); // Clone to prevent mutation
             this.destination = destination;
@@ -290,14 +434,12 @@ public class TeleportManager {
             this.targetPlayerName = null;
             this.successMessage = successMessage;
             this.onSuccess = onSuccess;
-            this.delaySeconds = delaySeconds;
-            this.elapsedTime = 0f;
         }
 
         // Constructor for player teleport
         PendingTeleport(@Nonnull PlayerRef playerRef, @Nonnull Vector3d startPosition,
                         @Nonnull UUID targetPlayerUuid, @Nonnull String targetPlayerName,
-                        @Nullable String successMessage, int delaySeconds) {
+                        @Nullable String successMessage) {
             this.playerRef = playerRef;
             this.startPosition = startPosition.clone(); // Clone to prevent mutation
             this.destination = null;
@@ -305,8 +447,6 @@ public class TeleportManager {
             this.targetPlayerName = targetPlayerName;
             this.successMessage = successMessage;
             this.onSuccess = null;
-            this.delaySeconds = delaySeconds;
-            this.elapsedTime = 0f;
         }
 
         PlayerRef getPlayerRef() {
@@ -325,6 +465,10 @@ public class TeleportManager {
             return targetPlayerUuid;
         }
 
+        String getTargetPlayerName() {
+            return targetPlayerName;
+        }
+
         boolean isPlayerTeleport() {
             return targetPlayerUuid != null;
         }
@@ -337,12 +481,54 @@ public class TeleportManager {
             return onSuccess;
         }
 
-        void addElapsedTime(float deltaTime) {
-            this.elapsedTime += deltaTime;
+        void setCountdown(@Nonnull TimerWheel.Timeout countdown) {
+            this.countdown = countdown;
+        }
+
+        void setPreload(@Nullable CompletableFuture<Double> preload) {
+            this.preload = preload;
+        }
+
+        @Nullable
+        CompletableFuture<Double> getPreload() {
+            return preload;
+        }
+
+        boolean hasPreload() {
+            return preload != null;
+        }
+
+        boolean isPreloaded() {
+            CompletableFuture<Double> future = preload;
+            return future != null && future.isDone();
+        }
+
+        /**
+         * Stops the countdown and cancels the safe-Y lookup waiting on the preload. This does not cancel the
+         * chunk load itself: a load that already started still finishes and the chunk stays loaded as usual.
+         */
+        void cancel() {
+            TimerWheel.Timeout timeout = countdown;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            CompletableFuture<Double> future = preload;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        void markReady() {
+            this.readyAt = System.nanoTime();
+            this.ready = true;
+        }
+
+        long getReadyAt() {
+            return readyAt;
         }
 
         boolean isReady() {
-            return elapsedTime >= delaySeconds;
+            return ready;
         }
 
     }
@@ -4,64 +4,98 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.nhulston.essentials.Essentials;
 import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Diagnostics;
 import com.nhulston.essentials.util.Log;
 import com.nhulston.essentials.util.MessageManager;
 import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.TimerWheel;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages teleport requests between players.
  * A target player can have multiple pending requests from different players.
+ * Requests expire through the plugin's timer wheel, so accepting one removes its timer right away.
+ * Requests are indexed both ways: each target's inbox is kept in arrival order (newest last), and each
+ * requester has the set of players they've sent requests to. Accept, deny, cancel and expiry are O(1),
+ * and a disconnect only touches the requests of the player who left.
  */
 public class TpaManager {
-    // Map of target player UUID -> Map of requester UUID -> request
-    private final ConcurrentHashMap<UUID, ConcurrentHashMap<UUID, TpaRequest>> pendingRequests = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    // Target UUID -> requester UUID -> request, in the order the requests arrived
+    private final Map<UUID, LinkedHashMap<UUID, TpaRequest>> inboxes = new HashMap<>();
+    // Requester UUID -> targets with a pending request from them
+    private final Map<UUID, Set<UUID>> outgoing = new HashMap<>();
+    private final TimerWheel timerWheel;
     private final MessageManager messages;
     private final ConfigManager configManager;
-    
-    public TpaManager(ConfigManager configManager) {
+    private int requestCount = 0;
+
+    public TpaManager(ConfigManager configManager, TimerWheel timerWheel) {
         this.messages = Essentials.getInstance().getMessageManager();
         this.configManager = configManager;
+        this.timerWheel = timerWheel;
+
+        Diagnostics.register("tpa.pending", () -> {
+            synchronized (this) {
+                return requestCount;
+            }
+        });
     }
 
     /**
-     * Creates a teleport request from one player to another.
+     * Creates a request from one player to teleport to another.
      * @param requester The player requesting to teleport
      * @param target The player being requested to accept
      * @return true if request was created, false if there's already a pending request from this requester
      */
     public boolean createRequest(@Nonnull PlayerRef requester, @Nonnull PlayerRef target) {
+        return createRequest(requester, target, RequestType.TO_TARGET);
+    }
+
+    /**
+     * Creates a teleport request.
+     * @param requester The player sending the request
+     * @param target The player being requested to accept
+     * @param type Who teleports to whom once the request is accepted
+     * @return true if request was created, false if there's already a pending request from this requester
+     */
+    public boolean createRequest(@Nonnull PlayerRef requester, @Nonnull PlayerRef target, @Nonnull RequestType type) {
         UUID targetUuid = target.getUuid();
         UUID requesterUuid = requester.getUuid();
-        
-        // Get or create the map of requests for this target
-        ConcurrentHashMap<UUID, TpaRequest> targetRequests = pendingRequests.computeIfAbsent(
-            targetUuid, _ -> new ConcurrentHashMap<>()
-        );
-        
-        // Check if there's already a pending request from this requester
-        if (targetRequests.containsKey(requesterUuid)) {
-            return false;
-        }
-        
-        // Create new request
-        TpaRequest request = new TpaRequest(requesterUuid, requester.getUsername(), target.getUsername());
-        targetRequests.put(requesterUuid, request);
-        
-        // Schedule expiration
-        long expirationSeconds = configManager.getTpaExpiration();
-        ScheduledFuture<?> future = scheduler.schedule(() -> {
-            expireRequest(targetUuid, requesterUuid);
-        }, expirationSeconds, TimeUnit.SECONDS);
-        request.setExpirationFuture(future);
-        
-        Log.info("TPA request created: " + requester.getUsername() + " -> " + target.getUsername());
+        TpaRequest request = new TpaRequest(requesterUuid, requester.getUsername(), targetUuid,
+                target.getUsername(), type);
+
+        synchronized (this) {
+            LinkedHashMap<UUID, TpaRequest> inbox = inboxes.computeIfAbsent(targetUuid, _ -> new LinkedHashMap<>());
+
+            // One pending request per requester and target
+            if (inbox.containsKey(requesterUuid)) {
+                return false;
+            }
+
+            inbox.put(requesterUuid, request);
+            outgoing.computeIfAbsent(requesterUuid, _ -> new LinkedHashSet<>()).add(targetUuid);
+            requestCount++;
+
+            // Scheduled under the lock so a concurrent accept can't miss the timer it has to cancel.
+            // Expiry only touches these maps and sends a message, so it runs on the wheel thread
+            long expirationSeconds = configManager.getTpaExpiration();
+            request.setExpiration(timerWheel.schedule(() -> expireRequest(request),
+                    expirationSeconds, TimeUnit.SECONDS));
+        }
+
+        Log.info("TPA request created: " + requester.getUsername() + " -> " + target.getUsername()
+                + (type == RequestType.TO_REQUESTER ? " (here)" : ""));
         return true;
     }
 
@@ -72,93 +106,87 @@ public class TpaManager {
      */
     @Nullable
     public TpaRequest acceptMostRecentRequest(@Nonnull PlayerRef target) {
-        return acceptRequestInternal(target, null);
+        TpaRequest request = removeMostRecent(target.getUuid());
+        logAccepted(request, target);
+        return request;
     }
 
     /**
      * Accepts a teleport request from a specific player.
      * @param target The player accepting the request
-     * @param requesterName The name of the requester
+     * @param requesterUuid The UUID of the requester
      * @return The TpaRequest if found and valid, null otherwise
      */
     @Nullable
-    public TpaRequest acceptRequest(@Nonnull PlayerRef target, @Nonnull String requesterName) {
-        return acceptRequestInternal(target, requesterName);
+    public TpaRequest acceptRequest(@Nonnull PlayerRef target, @Nonnull UUID requesterUuid) {
+        TpaRequest request = remove(target.getUuid(), requesterUuid);
+        logAccepted(request, target);
+        return request;
     }
 
-    @Nullable
-    private TpaRequest acceptRequestInternal(@Nonnull PlayerRef target, @Nullable String requesterName) {
-        UUID targetUuid = target.getUuid();
-        ConcurrentHashMap<UUID, TpaRequest> targetRequests = pendingRequests.get(targetUuid);
-        
-        if (targetRequests == null || targetRequests.isEmpty()) {
-            return null;
-        }
-        
-        TpaRequest foundRequest = null;
-        UUID foundRequesterUuid = null;
-        
-        if (requesterName == null) {
-            // Find the most recent request by timestamp
-            long mostRecentTimestamp = 0;
-            
-            for (Map.Entry<UUID, TpaRequest> entry : targetRequests.entrySet()) {
-                TpaRequest request = entry.getValue();
-                if (request.getTimestamp() > mostRecentTimestamp) {
-                    foundRequest = request;
-                    foundRequesterUuid = entry.getKey();
-                    mostRecentTimestamp = request.getTimestamp();
-                }
-            }
-        } else {
-            // Find the request by requester name (case-insensitive)
-            for (Map.Entry<UUID, TpaRequest> entry : targetRequests.entrySet()) {
-                if (entry.getValue().getRequesterName().equalsIgnoreCase(requesterName)) {
-                    foundRequest = entry.getValue();
-                    foundRequesterUuid = entry.getKey();
-                    break;
-                }
-            }
-        }
-        
-        if (foundRequest == null) {
-            return null;
+    private static void logAccepted(@Nullable TpaRequest request, @Nonnull PlayerRef target) {
+        if (request != null) {
+            Log.info("TPA request accepted: " + request.getRequesterName() + " -> " + target.getUsername());
         }
-        
-        // Remove the request and cancel its expiration
-        targetRequests.remove(foundRequesterUuid);
-        foundRequest.cancel();
-        
-        // Clean up empty maps
-        if (targetRequests.isEmpty()) {
-            pendingRequests.remove(targetUuid);
+    }
+
+    /**
+     * Denies the most recent teleport request.
+     * @return The denied request, or null if there was none
+     */
+    @Nullable
+    public TpaRequest denyMostRecentRequest(@Nonnull PlayerRef target) {
+        return removeMostRecent(target.getUuid());
+    }
+
+    /**
+     * Denies a teleport request from a specific player.
+     * @return The denied request, or null if there was none
+     */
+    @Nullable
+    public TpaRequest denyRequest(@Nonnull PlayerRef target, @Nonnull UUID requesterUuid) {
+        return remove(target.getUuid(), requesterUuid);
+    }
+
+    /**
+     * Cancels a request the player sent to a specific target.
+     * @return The cancelled request, or null if there was none
+     */
+    @Nullable
+    public TpaRequest cancelRequest(@Nonnull PlayerRef requester, @Nonnull UUID targetUuid) {
+        return remove(targetUuid, requester.getUuid());
+    }
+
+    /**
+     * Cancels every request the player has sent.
+     * @return The cancelled requests
+     */
+    @Nonnull
+    public List<TpaRequest> cancelAllRequests(@Nonnull PlayerRef requester) {
+        List<TpaRequest> cancelled = new ArrayList<>();
+        synchronized (this) {
+            removeOutgoing(requester.getUuid(), cancelled);
         }
-        
-        Log.info("TPA request accepted: " + foundRequest.getRequesterName() + " -> " + target.getUsername());
-        return foundRequest;
+        return cancelled;
     }
 
     /**
      * Expires a request and notifies the requester.
      */
-    private void expireRequest(UUID targetUuid, UUID requesterUuid) {
-        ConcurrentHashMap<UUID, TpaRequest> targetRequests = pendingRequests.get(targetUuid);
-        if (targetRequests == null) {
-            return;
-        }
-        
-        TpaRequest request = targetRequests.remove(requesterUuid);
-        if (request != null) {
-            // Clean up empty maps
-            if (targetRequests.isEmpty()) {
-                pendingRequests.remove(targetUuid);
-            }
-            
-            // Notify the requester that their request expired
-            PlayerRef requester = Universe.get().getPlayer(requesterUuid);
-            if (requester != null) {
-                Msg.send(requester, messages.get("tpa.request-expired", Map.of("player", request.getTargetName())));
+    private void expireRequest(@Nonnull TpaRequest request) {
+        synchronized (this) {
+            LinkedHashMap<UUID, TpaRequest> inbox = inboxes.get(request.getTargetUuid());
+            // Already accepted, denied or replaced
+            if (inbox == null || inbox.get(request.getRequesterUuid()) != request) {
+                return;
             }
+            remove(request.getTargetUuid(), request.getRequesterUuid());
+        }
+
+        // Notify the requester that their request expired
+        PlayerRef requester = Universe.get().getPlayer(request.getRequesterUuid());
+        if (requester != null) {
+            Msg.send(requester, messages.get(requester, "tpa.request-expired", Map.of("player", request.getTargetName())));
         }
     }
 
@@ -167,33 +195,110 @@ public class TpaManager {
      * Call this when a player disconnects.
      */
     public void onPlayerQuit(@Nonnull UUID playerUuid) {
-        // Remove all requests where this player is the target
-        ConcurrentHashMap<UUID, TpaRequest> targetRequests = pendingRequests.remove(playerUuid);
-        if (targetRequests != null) {
-            // Cancel all expiration futures
-            for (TpaRequest request : targetRequests.values()) {
+        synchronized (this) {
+            // Requests sent to this player
+            LinkedHashMap<UUID, TpaRequest> inbox = inboxes.remove(playerUuid);
+            if (inbox != null) {
+                for (TpaRequest request : inbox.values()) {
+                    unlinkOutgoing(request.getRequesterUuid(), playerUuid);
+                    request.cancel();
+                }
+                requestCount -= inbox.size();
+            }
+
+            // Requests this player sent
+            removeOutgoing(playerUuid, new ArrayList<>());
+        }
+    }
+
+    /**
+     * Shuts down the manager and cancels all pending requests.
+     */
+    public synchronized void shutdown() {
+        // The timer wheel itself is shut down by the plugin
+        for (LinkedHashMap<UUID, TpaRequest> inbox : inboxes.values()) {
+            for (TpaRequest request : inbox.values()) {
                 request.cancel();
             }
         }
+        inboxes.clear();
+        outgoing.clear();
+        requestCount = 0;
+    }
+
+    @Nullable
+    private synchronized TpaRequest removeMostRecent(@Nonnull UUID targetUuid) {
+        LinkedHashMap<UUID, TpaRequest> inbox = inboxes.get(targetUuid);
+        if (inbox == null || inbox.isEmpty()) {
+            return null;
+        }
+        return remove(targetUuid, inbox.lastEntry().getKey());
+    }
+
+    /**
+     * Removes one request from both indexes and cancels its expiry.
+     */
+    @Nullable
+    private synchronized TpaRequest remove(@Nonnull UUID targetUuid, @Nonnull UUID requesterUuid) {
+        LinkedHashMap<UUID, TpaRequest> inbox = inboxes.get(targetUuid);
+        if (inbox == null) {
+            return null;
+        }
+
+        TpaRequest request = inbox.remove(requesterUuid);
+        if (request == null) {
+            return null;
+        }
+        if (inbox.isEmpty()) {
+            inboxes.remove(targetUuid);
+        }
+        unlinkOutgoing(requesterUuid, targetUuid);
+        requestCount--;
+        request.cancel();
+        return request;
+    }
 
-        // Remove all requests where this player is the requester
-        for (ConcurrentHashMap<UUID, TpaRequest> requests : pendingRequests.values()) {
-            TpaRequest request = requests.remove(playerUuid);
+    /**
+     * Removes every request a player sent. Caller holds the lock.
+     */
+    private void removeOutgoing(@Nonnull UUID requesterUuid, @Nonnull List<TpaRequest> removed) {
+        Set<UUID> targets = outgoing.remove(requesterUuid);
+        if (targets == null) {
+            return;
+        }
+
+        for (UUID targetUuid : targets) {
+            LinkedHashMap<UUID, TpaRequest> inbox = inboxes.get(targetUuid);
+            if (inbox == null) {
+                continue;
+            }
+            TpaRequest request = inbox.remove(requesterUuid);
             if (request != null) {
                 request.cancel();
+                removed.add(request);
+                requestCount--;
+            }
+            if (inbox.isEmpty()) {
+                inboxes.remove(targetUuid);
             }
         }
+    }
 
-        // Clean up any empty maps
-        pendingRequests.entrySet().removeIf(entry -> entry.getValue().isEmpty());
+    private void unlinkOutgoing(@Nonnull UUID requesterUuid, @Nonnull UUID targetUuid) {
+        Set<UUID> targets = outgoing.get(requesterUuid);
+        if (targets != null && targets.remove(targetUuid) && targets.isEmpty()) {
+            outgoing.remove(requesterUuid);
+        }
     }
 
     /**
-     * Shuts down the manager and cancels all pending requests.
+     * Who teleports once a request is accepted.
      */
-    public void shutdown() {
-        scheduler.shutdownNow();
-        pendingRequests.clear();
+    public enum RequestType {
+        // /tpa: the requester teleports to the target
+        TO_TARGET,
+        // /tpahere: the target teleports to the requester
+        TO_REQUESTER
     }
 
     /**
@@ -202,14 +307,19 @@ public class TpaManager {
     public static class TpaRequest {
         private final UUID requesterUuid;
         private final String requesterName;
+        private final UUID targetUuid;
         private final String targetName;
+        private final RequestType type;
         private final long timestamp;
-        private ScheduledFuture<?> expirationFuture;
+        private TimerWheel.Timeout expiration;
 
-        public TpaRequest(UUID requesterUuid, String requesterName, String targetName) {
+        public TpaRequest(UUID requesterUuid, String requesterName, UUID targetUuid, String targetName,
+                          RequestType type) {
             this.requesterUuid = requesterUuid;
             this.requesterName = requesterName;
+            this.targetUuid = targetUuid;
             this.targetName = targetName;
+            this.type = type;
             this.timestamp = System.currentTimeMillis();
         }
 
@@ -221,21 +331,29 @@ public class TpaManager {
             return requesterName;
         }
 
+        public UUID getTargetUuid() {
+            return targetUuid;
+        }
+
         public String getTargetName() {
             return targetName;
         }
 
+        public RequestType getType() {
+            return type;
+        }
+
         public long getTimestamp() {
             return timestamp;
         }
 
-        void setExpirationFuture(ScheduledFuture<?> future) {
-            this.expirationFuture = future;
+        void setExpiration(TimerWheel.Timeout expiration) {
+            this.expiration = expiration;
         }
 
         void cancel() {
-            if (expirationFuture != null) {
-                expirationFuture.cancel(false);
+            if (expiration != null) {
+                expiration.cancel();
             }
         }
     }
@@ -8,6 +8,7 @@ import com.nhulston.essentials.util.StorageManager;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Map;
+import java.util.UUID;
 import java.util.regex.Pattern;
 
 public class WarpManager {
@@ -23,23 +24,24 @@ public class WarpManager {
     }
 
     @Nullable
-    public String validateWarpName(@Nonnull String name) {
+    public String validateWarpName(@Nullable UUID playerUuid, @Nonnull String name) {
         if (name.isEmpty()) {
-            return messages.get("validation.warp.name-empty");
+            return messages.get(playerUuid, "validation.warp.name-empty", null);
         }
         if (name.length() > MAX_NAME_LENGTH) {
-            return messages.get("validation.warp.name-too-long", Map.of("max", String.valueOf(MAX_NAME_LENGTH)));
+            return messages.get(playerUuid, "validation.warp.name-too-long",
+                    Map.of("max", String.valueOf(MAX_NAME_LENGTH)));
         }
         if (!VALID_NAME_PATTERN.matcher(name).matches()) {
-            return messages.get("validation.warp.name-invalid");
+            return messages.get(playerUuid, "validation.warp.name-invalid", null);
         }
         return null;
     }
 
     @Nullable
-    public String setWarp(@Nonnull String name, @Nonnull String world,
+    public String setWarp(@Nullable UUID playerUuid, @Nonnull String name, @Nonnull String world,
                           double x, double y, double z, float yaw, float pitch) {
-        String validationError = validateWarpName(name);
+        String validationError = validateWarpName(playerUuid, name);
         if (validationError != null) {
             return validationError;
         }
@@ -0,0 +1,31 @@
+package com.nhulston.essentials.models;
+
+public class Mail {
+    private final String sender;      // Sender UUID
+    private final String senderName;
+    private final long sentAt;
+    private final String message;
+
+    public Mail(String sender, String senderName, long sentAt, String message) {
+        this.sender = sender;
+        this.senderName = senderName;
+        this.sentAt = sentAt;
+        this.message = message;
+    }
+
+    public String getSender() {
+        return sender;
+    }
+
+    public String getSenderName() {
+        return senderName;
+    }
+
+    public long getSentAt() {
+        return sentAt;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -4,16 +4,20 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 public class PlayerData {
     private Map<String, Home> homes;
     private Map<String, Long> kitCooldowns;  // kitId -> lastUsedTimestamp
     private Long lastRepairTime;
     private Long lastRtpTime;
+    private Map<String, String> ignored;  // ignored player UUID -> name when ignored
+    private String language;  // messages/<language>.toml, null = default messages
 
     public PlayerData() {
         this.homes = new HashMap<>();
         this.kitCooldowns = new HashMap<>();
+        this.ignored = new HashMap<>();
     }
 
     // Ensure maps are initialized after Gson deserialization
@@ -24,6 +28,9 @@ public class PlayerData {
         if (kitCooldowns == null) {
             kitCooldowns = new HashMap<>();
         }
+        if (ignored == null) {
+            ignored = new HashMap<>();
+        }
     }
 
     // Home methods
@@ -88,4 +95,33 @@ public class PlayerData {
         this.lastRtpTime = timestamp;
     }
 
+    // Ignore list methods
+
+    @Nonnull
+    public Map<String, String> getIgnored() {
+        ensureInitialized();
+        return ignored;
+    }
+
+    public void addIgnored(@Nonnull UUID playerUuid, @Nonnull String playerName) {
+        ensureInitialized();
+        ignored.put(playerUuid.toString(), playerName);
+    }
+
+    public void removeIgnored(@Nonnull UUID playerUuid) {
+        ensureInitialized();
+        ignored.remove(playerUuid.toString());
+    }
+
+    // Language methods
+
+    @Nullable
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(@Nullable String language) {
+        this.language = language;
+    }
+
 }
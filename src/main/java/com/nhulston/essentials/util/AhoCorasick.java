@@ -0,0 +1,207 @@
+package com.nhulston.essentials.util;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton for finding many patterns in one linear pass over a text.
+ * Immutable once built, so one instance can be shared by any number of threads.
+ * Patterns and texts are matched char by char; callers normalize both the same way beforehand.
+ */
+public final class AhoCorasick {
+    private static final int ROOT = 0;
+    // Dense transition table for ASCII at the root, where most lookups start over
+    private static final int ROOT_TABLE_SIZE = 128;
+
+    /**
+     * Receives each match found by {@link #scan}.
+     */
+    @FunctionalInterface
+    public interface MatchHandler {
+        /**
+         * Called for every occurrence of a pattern.
+         * Return false to stop scanning.
+         *
+         * @param patternId Index of the pattern in the list given to the constructor
+         * @param start     Index of the first matched char
+         * @param end       Index after the last matched char
+         */
+        boolean onMatch(int patternId, int start, int end);
+    }
+
+    // Children of all states in one flat array (CSR layout): state s owns edges [edgeStart[s], edgeStart[s + 1])
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] rootTable;
+
+    private final int[] fail;
+    // Pattern ending exactly at this state, or -1
+    private final int[] output;
+    // Nearest state along the failure chain that has an output, or -1
+    private final int[] outputLink;
+    private final int[] patternLengths;
+
+    /**
+     * Builds the automaton. Empty patterns are ignored; for duplicate patterns the first id wins.
+     */
+    public AhoCorasick(@Nonnull List<String> patterns) {
+        // Build the trie with sorted maps, then flatten it into arrays
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        children.add(new TreeMap<>());
+        outputs.add(-1);
+
+        patternLengths = new int[patterns.size()];
+        for (int id = 0; id < patterns.size(); id++) {
+            String pattern = patterns.get(id);
+            patternLengths[id] = pattern.length();
+            if (pattern.isEmpty()) {
+                continue;
+            }
+
+            int state = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer next = children.get(state).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    outputs.add(-1);
+                    children.get(state).put(c, next);
+                }
+                state = next;
+            }
+            if (outputs.get(state) == -1) {
+                outputs.set(state, id);
+            }
+        }
+
+        int stateCount = children.size();
+        edgeStart = new int[stateCount + 1];
+        int edgeCount = 0;
+        for (int s = 0; s < stateCount; s++) {
+            edgeStart[s] = edgeCount;
+            edgeCount += children.get(s).size();
+        }
+        edgeStart[stateCount] = edgeCount;
+
+        edgeChars = new char[edgeCount];
+        edgeTargets = new int[edgeCount];
+        for (int s = 0; s < stateCount; s++) {
+            int e = edgeStart[s];
+            for (Map.Entry<Character, Integer> edge : children.get(s).entrySet()) {
+                edgeChars[e] = edge.getKey();
+                edgeTargets[e] = edge.getValue();
+                e++;
+            }
+        }
+
+        rootTable = new int[ROOT_TABLE_SIZE];
+        Arrays.fill(rootTable, -1);
+        for (Map.Entry<Character, Integer> edge : children.getFirst().entrySet()) {
+            if (edge.getKey() < ROOT_TABLE_SIZE) {
+                rootTable[edge.getKey()] = edge.getValue();
+            }
+        }
+
+        output = new int[stateCount];
+        for (int s = 0; s < stateCount; s++) {
+            output[s] = outputs.get(s);
+        }
+
+        // Failure and output links, breadth first so parents are done before children
+        fail = new int[stateCount];
+        outputLink = new int[stateCount];
+        Arrays.fill(outputLink, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int e = edgeStart[ROOT]; e < edgeStart[ROOT + 1]; e++) {
+            fail[edgeTargets[e]] = ROOT;
+            queue.add(edgeTargets[e]);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int e = edgeStart[state]; e < edgeStart[state + 1]; e++) {
+                int child = edgeTargets[e];
+                int f = transition(fail[state], edgeChars[e]);
+                fail[child] = f;
+                outputLink[child] = output[f] != -1 ? f : outputLink[f];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Scans text[0, length) and reports every pattern occurrence, in order of end position.
+     */
+    public void scan(@Nonnull char[] text, int length, @Nonnull MatchHandler handler) {
+        int state = ROOT;
+        for (int i = 0; i < length; i++) {
+            state = transition(state, text[i]);
+
+            int s = output[state] != -1 ? state : outputLink[state];
+            while (s != -1) {
+                int id = output[s];
+                if (!handler.onMatch(id, i + 1 - patternLengths[id], i + 1)) {
+                    return;
+                }
+                s = outputLink[s];
+            }
+        }
+    }
+
+    /**
+     * Gets the number of states, a rough measure of memory use.
+     */
+    public int getStateCount() {
+        return output.length;
+    }
+
+    private int transition(int state, char c) {
+        while (true) {
+            int next = child(state, c);
+            if (next != -1) {
+                return next;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = fail[state];
+        }
+    }
+
+    private int child(int state, char c) {
+        if (state == ROOT && c < ROOT_TABLE_SIZE) {
+            return rootTable[c];
+        }
+
+        // Edges are sorted by char; most states have only a handful, so scan small ranges linearly
+        int low = edgeStart[state];
+        int high = edgeStart[state + 1] - 1;
+        if (high - low < 8) {
+            for (int e = low; e <= high; e++) {
+                if (edgeChars[e] == c) {
+                    return edgeTargets[e];
+                }
+            }
+            return -1;
+        }
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = edgeChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+}
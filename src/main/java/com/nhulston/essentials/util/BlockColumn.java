@@ -0,0 +1,92 @@
+package com.nhulston.essentials.util;
+
+/**
+ * One column of blocks, as seen by the column scans in {@link ColumnScanner}.
+ * Kept free of server types so the scans can run over a stub in tests.
+ */
+interface BlockColumn {
+    /** Returned when no matching Y exists. */
+    int NONE = Integer.MIN_VALUE;
+
+    /**
+     * Gets the number of blocks in the column, from Y 0 up.
+     */
+    int height();
+
+    /**
+     * Gets the number of blocks per section. Must be a power of two.
+     */
+    int sectionSize();
+
+    /**
+     * Checks whether the section holding y is known to be all air.
+     */
+    boolean isAirSection(int y);
+
+    /**
+     * Checks if the block at y is solid.
+     */
+    boolean isSolid(int y);
+
+    /**
+     * Finds the highest solid block at or below fromY, skipping air sections in one step.
+     * @return The Y coordinate, or {@link #NONE} if there is none
+     */
+    default int findTopSolid(int fromY) {
+        int sectionMask = sectionSize() - 1;
+        int y = Math.min(fromY, height() - 1);
+        boolean sectionStart = true;
+        while (y >= 0) {
+            if (sectionStart && isAirSection(y)) {
+                // Continue from the top of the section below
+                y = (y & ~sectionMask) - 1;
+                continue;
+            }
+            if (isSolid(y)) {
+                return y;
+            }
+            y--;
+            sectionStart = (y & sectionMask) == sectionMask;
+        }
+        return NONE;
+    }
+
+    /**
+     * Finds the lowest Y at or above fromY where a player of the given height fits (no solid blocks).
+     * Above the top of the world counts as open. Each block is read at most once.
+     * @param maxSearch How many starting positions to try
+     * @return The Y coordinate, or {@link #NONE} if no position within range fits
+     */
+    default int findFit(int fromY, int height, int maxSearch) {
+        int sectionMask = sectionSize() - 1;
+        int worldHeight = height();
+        int limit = fromY + maxSearch;
+        int y = fromY;
+        int run = 0;
+        boolean sectionStart = true;
+
+        // The window is [y - run, y): run open blocks ending just below y
+        while (y - run < limit) {
+            if (y < 0 || y >= worldHeight) {
+                run++;
+                y++;
+            } else if (sectionStart && isAirSection(y)) {
+                int next = (y | sectionMask) + 1;
+                run += next - y;
+                y = next;
+            } else if (isSolid(y)) {
+                run = 0;
+                y++;
+            } else {
+                run++;
+                y++;
+            }
+            sectionStart = (y & sectionMask) == 0;
+
+            if (run >= height) {
+                return y - run;
+            }
+        }
+        return NONE;
+    }
+}
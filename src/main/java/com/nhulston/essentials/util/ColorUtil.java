@@ -4,6 +4,7 @@ import com.hypixel.hytale.protocol.MaybeBool;
 import com.hypixel.hytale.server.core.Message;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -47,6 +48,15 @@ public final class ColorUtil {
 
     private ColorUtil() {}
 
+    /**
+     * Text style in effect at some point of a colorized string.
+     * Lets callers colorize a string in pieces (e.g. a cached chat prefix and the player's text)
+     * while keeping the colors of one piece flowing into the next.
+     */
+    public record Style(@Nonnull String color, boolean bold) {
+        public static final Style DEFAULT = new Style(DEFAULT_COLOR, false);
+    }
+
     /**
      * Tracks the current text style state during parsing.
      */
@@ -54,10 +64,19 @@ public final class ColorUtil {
         String color = DEFAULT_COLOR;
         boolean bold = false;
 
+        TextStyle(@Nonnull Style start) {
+            color = start.color();
+            bold = start.bold();
+        }
+
         void reset() {
             color = DEFAULT_COLOR;
             bold = false;
         }
+
+        Style toStyle() {
+            return new Style(color, bold);
+        }
     }
 
     /**
@@ -66,14 +85,47 @@ public final class ColorUtil {
      */
     @Nonnull
     public static Message colorize(@Nonnull String text) {
+        return colorize(text, Style.DEFAULT);
+    }
+
+    /**
+     * Parses color and formatting codes, starting from the given style instead of plain white.
+     */
+    @Nonnull
+    public static Message colorize(@Nonnull String text, @Nonnull Style startStyle) {
         List<Message> parts = new ArrayList<>();
-        TextStyle currentStyle = new TextStyle();
+        parse(text, startStyle, parts);
+
+        if (parts.isEmpty()) {
+            return Message.raw(text);
+        } else if (parts.size() == 1) {
+            return parts.getFirst();
+        } else {
+            return Message.join(parts.toArray(new Message[0]));
+        }
+    }
+
+    /**
+     * Gets the style in effect at the end of the text, starting from the given style.
+     */
+    @Nonnull
+    public static Style endStyle(@Nonnull String text, @Nonnull Style startStyle) {
+        return parse(text, startStyle, null);
+    }
+
+    /**
+     * Walks the formatting tokens of the text, adding styled segments to parts (if not null).
+     * Returns the style in effect after the last token.
+     */
+    @Nonnull
+    private static Style parse(@Nonnull String text, @Nonnull Style startStyle, @Nullable List<Message> parts) {
+        TextStyle currentStyle = new TextStyle(startStyle);
         Matcher matcher = TOKEN_PATTERN.matcher(text);
         int lastEnd = 0;
 
         while (matcher.find()) {
             // Add text before this token with current style
-            if (matcher.start() > lastEnd) {
+            if (parts != null && matcher.start() > lastEnd) {
                 String segment = text.substring(lastEnd, matcher.start());
                 if (!segment.isEmpty()) {
                     parts.add(createStyledMessage(segment, currentStyle));
@@ -106,20 +158,14 @@ public final class ColorUtil {
         }
 
         // Add remaining text
-        if (lastEnd < text.length()) {
+        if (parts != null && lastEnd < text.length()) {
             String segment = text.substring(lastEnd);
             if (!segment.isEmpty()) {
                 parts.add(createStyledMessage(segment, currentStyle));
             }
         }
 
-        if (parts.isEmpty()) {
-            return Message.raw(text);
-        } else if (parts.size() == 1) {
-            return parts.getFirst();
-        } else {
-            return Message.join(parts.toArray(new Message[0]));
-        }
+        return currentStyle.toStyle();
     }
 
     /**
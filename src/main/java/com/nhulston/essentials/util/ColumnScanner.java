@@ -0,0 +1,137 @@
+package com.nhulston.essentials.util;
+
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.protocol.BlockMaterial;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.universe.world.chunk.BlockChunk;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+import com.hypixel.hytale.server.core.universe.world.chunk.section.BlockSection;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+/**
+ * Column scans shared by /top, RTP and safe-teleport resolution.
+ * Sections that are all air are skipped in one step, and block IDs are classified through a table
+ * filled once per ID instead of looking up the block type and material at every Y.
+ * Player fit is checked with a sliding window, so each block in the column is read at most once.
+ * The scans themselves live in {@link BlockColumn}; this class adapts loaded chunks to it.
+ */
+public final class ColumnScanner {
+    /** Returned when no matching Y exists. */
+    public static final int NONE = BlockColumn.NONE;
+
+    private static final byte UNRESOLVED = 0;
+    private static final byte PASSABLE = 1;
+    private static final byte SOLID = 2;
+
+    // Block ID -> kind. Grown on demand; a lost race only means resolving an ID twice
+    private static volatile byte[] kinds = new byte[256];
+
+    private ColumnScanner() {}
+
+    /**
+     * Finds the highest solid block in a column.
+     * @return The Y coordinate, or {@link #NONE} if the column has no solid block
+     */
+    public static int findTopSolid(@Nonnull WorldChunk chunk, int x, int z) {
+        return findTopSolid(chunk, x, ChunkUtil.HEIGHT - 1, z);
+    }
+
+    /**
+     * Finds the highest solid block at or below fromY.
+     * @return The Y coordinate, or {@link #NONE} if there is none
+     */
+    public static int findTopSolid(@Nonnull WorldChunk chunk, int x, int fromY, int z) {
+        return new ChunkColumn(chunk, x, z).findTopSolid(fromY);
+    }
+
+    /**
+     * Finds the lowest Y at or above fromY where a player of the given height fits (no solid blocks).
+     * Above the top of the world counts as open.
+     * @param maxSearch How many starting positions to try
+     * @return The Y coordinate, or {@link #NONE} if no position within range fits
+     */
+    public static int findFit(@Nonnull WorldChunk chunk, int x, int fromY, int z, int height, int maxSearch) {
+        return new ChunkColumn(chunk, x, z).findFit(fromY, height, maxSearch);
+    }
+
+    /**
+     * Checks whether any block from fromY to toY (inclusive) holds fluid.
+     */
+    @SuppressWarnings("removal")
+    public static boolean hasFluid(@Nonnull WorldChunk chunk, int x, int fromY, int toY, int z) {
+        // Fluids are stored separately from blocks in Hytale, so block sections can't be skipped here.
+        // TODO: Update when Hytale provides non-deprecated fluid API.
+        for (int y = Math.max(fromY, 0); y <= toY && y < ChunkUtil.HEIGHT; y++) {
+            if (chunk.getFluidId(x, y, z) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a block is solid.
+     */
+    public static boolean isSolid(@Nonnull WorldChunk chunk, int x, int y, int z) {
+        int id = chunk.getBlock(x, y, z);
+        if (id <= 0) {
+            return false;
+        }
+
+        byte[] table = kinds;
+        byte kind = id < table.length ? table[id] : UNRESOLVED;
+        if (kind == UNRESOLVED) {
+            kind = resolve(id);
+        }
+        return kind == SOLID;
+    }
+
+    private static byte resolve(int id) {
+        BlockType blockType = BlockType.getAssetMap().getAsset(id);
+        byte kind = blockType != null && blockType.getMaterial() == BlockMaterial.Solid ? SOLID : PASSABLE;
+
+        byte[] table = kinds;
+        if (id >= table.length) {
+            table = Arrays.copyOf(table, Math.max(table.length * 2, Integer.highestOneBit(id) << 1));
+        }
+        table[id] = kind;
+        kinds = table;
+        return kind;
+    }
+
+    private static boolean isAirSection(@Nonnull WorldChunk chunk, int y) {
+        BlockChunk blockChunk = chunk.getBlockChunk();
+        if (blockChunk == null) {
+            return false;
+        }
+        BlockSection section = blockChunk.getSectionAtBlockY(y);
+        return section != null && section.isSolidAir();
+    }
+
+    /**
+     * A column of a loaded chunk.
+     */
+    private record ChunkColumn(@Nonnull WorldChunk chunk, int x, int z) implements BlockColumn {
+        @Override
+        public int height() {
+            return ChunkUtil.HEIGHT;
+        }
+
+        @Override
+        public int sectionSize() {
+            return ChunkUtil.SIZE_MASK + 1;
+        }
+
+        @Override
+        public boolean isAirSection(int y) {
+            return ColumnScanner.isAirSection(chunk, y);
+        }
+
+        @Override
+        public boolean isSolid(int y) {
+            return ColumnScanner.isSolid(chunk, x, y, z);
+        }
+    }
+}
@@ -9,8 +9,11 @@ import javax.annotation.Nullable;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class ConfigManager {
@@ -25,6 +28,17 @@ public class ConfigManager {
      */
     public record ChatFormat(@Nonnull String group, @Nonnull String format) {}
 
+    /**
+     * Flood limiter settings for a permission group: bucket size and tokens regained per second.
+     */
+    public record FloodLimit(@Nonnull String group, int burst, double refillPerSecond) {}
+
+    /**
+     * A rotating announcement: its raw text and who receives it (empty worlds/permission = everyone).
+     */
+    public record Announcement(@Nonnull String name, @Nonnull String text,
+                               @Nonnull List<String> worlds, @Nonnull String permission) {}
+
     private final Path configPath;
 
     // Home limits by permission tier (e.g., essentials.homes.default -> 5)
@@ -69,6 +83,14 @@ public class ConfigManager {
     private volatile int rtpCooldown = DEFAULT_RTP_COOLDOWN;
     private volatile String rtpDefaultWorld = "default";
     private final ConcurrentHashMap<String, Integer> rtpWorlds = new ConcurrentHashMap<>();
+    private volatile boolean rtpPoolEnabled = true;
+    private volatile int rtpPoolSize = 10;
+    private volatile int rtpPoolRefillPerSecond = 4;
+    private volatile int rtpProbeParallel = 3;
+    private volatile int rtpProbeMaxConcurrent = 12;
+    private final ConcurrentHashMap<String, Integer> rtpProbeWorlds = new ConcurrentHashMap<>();
+    private volatile int rtpQueueMaxSearches = 2;
+    private volatile int rtpQueueMinSpacing = 256;
 
     // MOTD settings
     private volatile boolean motdEnabled = true;
@@ -105,6 +127,46 @@ public class ConfigManager {
     private volatile boolean creativeModeSpawnBlockEnabled = false;
     private volatile List<String> creativeModeSpawnBlockWorlds = List.of();
 
+    // Flood limiter settings
+    private volatile boolean floodEnabled = true;
+    private volatile FloodLimit floodDefaultLimit = new FloodLimit("default", 5, 1.0);
+    private volatile List<FloodLimit> floodGroupLimits = List.of();
+    private volatile int floodDuplicateWindow = 10;
+    private volatile int floodMuteAfter = 5;
+    private volatile int floodMuteDuration = 60;
+
+    // Chat channel settings
+    private volatile boolean channelsEnabled = true;
+    private volatile String channelDefault = "global";
+    private volatile double channelLocalRadius = 100;
+    private volatile Map<String, String> channelPrefixes = Map.of();
+
+    // Mention settings
+    private volatile boolean mentionsEnabled = true;
+    private volatile String mentionHighlight = "&e&l";
+    private volatile String mentionSound = "SFX_Alchemy_Bench_Close";
+
+    // Audit journal settings
+    private volatile boolean auditEnabled = true;
+    private volatile int auditBufferSize = 8192;
+    private volatile int auditSegmentSizeMb = 4;
+    private volatile int auditSegmentMinutes = 60;
+    private volatile int auditRetentionDays = 30;
+
+    // Mail settings
+    private volatile int mailMaxPerPlayer = 50;
+    private volatile int mailRetentionDays = 30;
+
+    // Announcement settings
+    private volatile boolean announcementsEnabled = false;
+    private volatile int announcementsInterval = 300;
+    private volatile boolean announcementsUseShoutPrefix = true;
+    private volatile List<Announcement> announcements = List.of();
+
+    // Per-world overrides ([worlds.<name>]) and their resolved views, keyed by world name
+    private volatile Map<String, TomlTable> worldOverrides = Map.of();
+    private volatile ConcurrentHashMap<String, WorldSettings> resolvedWorldSettings = new ConcurrentHashMap<>();
+
     public ConfigManager(@Nonnull Path dataFolder) {
         this.configPath = dataFolder.resolve("config.toml");
         load();
@@ -205,6 +267,31 @@ public class ConfigManager {
             String defaultWorld = config.getString("rtp.default-world");
             rtpDefaultWorld = defaultWorld != null ? defaultWorld : "default";
 
+            rtpPoolEnabled = config.getBoolean("rtp.pool.enabled", () -> true);
+            rtpPoolSize = Math.max(0, getIntSafe(config, "rtp.pool.size", 10));
+            rtpPoolRefillPerSecond = Math.max(1, getIntSafe(config, "rtp.pool.refill-per-second", 4));
+
+            rtpProbeParallel = Math.max(1, getIntSafe(config, "rtp.probe.parallel", 3));
+            rtpProbeMaxConcurrent = Math.max(1, getIntSafe(config, "rtp.probe.max-concurrent", 12));
+            rtpProbeWorlds.clear();
+            TomlTable rtpProbeWorldsTable = config.getTable("rtp.probe.worlds");
+            if (rtpProbeWorldsTable != null) {
+                for (String worldName : rtpProbeWorldsTable.keySet()) {
+                    // The key is a literal world name, which may contain dots
+                    try {
+                        Long parallel = rtpProbeWorldsTable.getLong(List.of(worldName));
+                        if (parallel != null && parallel > 0) {
+                            rtpProbeWorlds.put(worldName, Math.toIntExact(parallel));
+                        }
+                    } catch (Exception e) {
+                        Log.warning("Invalid value for rtp.probe.worlds '" + worldName + "': " + e.getMessage());
+                    }
+                }
+            }
+
+            rtpQueueMaxSearches = Math.max(1, getIntSafe(config, "rtp.queue.max-searches", 2));
+            rtpQueueMinSpacing = Math.max(0, getIntSafe(config, "rtp.queue.min-spacing", 256));
+
             // MOTD config
             motdEnabled = config.getBoolean("motd.enabled", () -> true);
             motdMessage = config.getString("motd.message", () -> "&6Welcome to the server, &e%player%&6!");
@@ -251,6 +338,114 @@ public class ConfigManager {
             }
             creativeModeSpawnBlockWorlds = List.copyOf(worlds);
 
+            // Flood limiter config
+            floodEnabled = config.getBoolean("flood.enabled", () -> true);
+            floodDefaultLimit = new FloodLimit("default",
+                    getIntSafe(config, "flood.burst", 5),
+                    getDoubleSafe(config, "flood.refill-per-second", 1.0));
+            floodDuplicateWindow = getIntSafe(config, "flood.duplicate-window", 10);
+            floodMuteAfter = getIntSafe(config, "flood.mute-after", 5);
+            floodMuteDuration = getIntSafe(config, "flood.mute-duration", 60);
+
+            // Per-group flood limits (preserve order for priority, like chat formats)
+            List<FloodLimit> floodLimits = new ArrayList<>();
+            TomlTable floodGroupsTable = config.getTable("flood.groups");
+            if (floodGroupsTable != null) {
+                for (String group : floodGroupsTable.keySet()) {
+                    TomlTable groupTable = floodGroupsTable.getTable(List.of(group));
+                    if (groupTable != null) {
+                        Long burst = groupTable.getLong(List.of("burst"));
+                        Object refill = groupTable.get(List.of("refill-per-second"));
+                        floodLimits.add(new FloodLimit(group.toLowerCase(),
+                                burst != null ? Math.toIntExact(burst) : floodDefaultLimit.burst(),
+                                refill instanceof Number n ? n.doubleValue() : floodDefaultLimit.refillPerSecond()));
+                    }
+                }
+            }
+            floodGroupLimits = List.copyOf(floodLimits);
+
+            // Chat channel config
+            channelsEnabled = config.getBoolean("channels.enabled", () -> true);
+            channelDefault = config.getString("channels.default", () -> "global");
+            channelLocalRadius = getDoubleSafe(config, "channels.local-radius", 100);
+
+            Map<String, String> prefixes = new HashMap<>();
+            TomlTable prefixesTable = config.getTable("channels.prefixes");
+            if (prefixesTable != null) {
+                for (String channel : prefixesTable.keySet()) {
+                    String prefix = prefixesTable.getString(List.of(channel));
+                    if (prefix != null) {
+                        prefixes.put(channel.toLowerCase(), prefix);
+                    }
+                }
+            }
+            channelPrefixes = Map.copyOf(prefixes);
+
+            // Mention config
+            mentionsEnabled = config.getBoolean("mentions.enabled", () -> true);
+            mentionHighlight = config.getString("mentions.highlight", () -> "&e&l");
+            mentionSound = config.getString("mentions.sound", () -> "SFX_Alchemy_Bench_Close");
+
+            // Audit journal config
+            auditEnabled = config.getBoolean("audit.enabled", () -> true);
+            auditBufferSize = Math.max(64, getIntSafe(config, "audit.buffer-size", 8192));
+            auditSegmentSizeMb = Math.max(1, getIntSafe(config, "audit.segment-size-mb", 4));
+            auditSegmentMinutes = Math.max(1, getIntSafe(config, "audit.segment-minutes", 60));
+            auditRetentionDays = getIntSafe(config, "audit.retention-days", 30);
+
+            // Mail config
+            mailMaxPerPlayer = getIntSafe(config, "mail.max-per-player", 50);
+            mailRetentionDays = getIntSafe(config, "mail.retention-days", 30);
+
+            // Announcement config (preserve order, announcements rotate in file order)
+            announcementsEnabled = config.getBoolean("announcements.enabled", () -> false);
+            announcementsInterval = Math.max(1, getIntSafe(config, "announcements.interval", 300));
+            announcementsUseShoutPrefix = config.getBoolean("announcements.use-shout-prefix", () -> true);
+
+            List<Announcement> loadedAnnouncements = new ArrayList<>();
+            TomlTable announcementsTable = config.getTable("announcements.messages");
+            if (announcementsTable != null) {
+                for (String name : announcementsTable.keySet()) {
+                    TomlTable announcementTable = announcementsTable.getTable(List.of(name));
+                    if (announcementTable == null) {
+                        continue;
+                    }
+                    String text = announcementTable.getString(List.of("text"));
+                    if (text == null || text.isBlank()) {
+                        Log.warning("Announcement '" + name + "' has no text, skipping.");
+                        continue;
+                    }
+
+                    List<String> worlds = new ArrayList<>();
+                    org.tomlj.TomlArray worldsArray = announcementTable.getArray(List.of("worlds"));
+                    if (worldsArray != null) {
+                        for (int i = 0; i < worldsArray.size(); i++) {
+                            worlds.add(worldsArray.getString(i));
+                        }
+                    }
+                    String permission = announcementTable.getString(List.of("permission"));
+                    loadedAnnouncements.add(new Announcement(name, text, List.copyOf(worlds),
+                            permission != null ? permission : ""));
+                }
+            }
+            announcements = List.copyOf(loadedAnnouncements);
+
+            // Per-world overrides
+            Map<String, TomlTable> overrides = new HashMap<>();
+            TomlTable worldsTable = config.getTable("worlds");
+            if (worldsTable != null) {
+                for (String worldName : worldsTable.keySet()) {
+                    TomlTable worldTable = worldsTable.getTable(List.of(worldName));
+                    if (worldTable != null) {
+                        overrides.put(worldName, worldTable);
+                    }
+                }
+            }
+            worldOverrides = Map.copyOf(overrides);
+
+            // Drop resolved views so they are rebuilt from the new values
+            resolvedWorldSettings = new ConcurrentHashMap<>();
+
             Log.info("Config loaded!");
         } catch (Exception e) {
             Log.error("Failed to load config: " + e.getClass().getSimpleName() + " - " + e.getMessage());
@@ -282,6 +477,15 @@ public class ConfigManager {
         }
     }
 
+    /**
+     * Reads a number that may be written as an integer or a float, falling back to the default otherwise.
+     */
+    private double getDoubleSafe(@Nonnull TomlParseResult config, @Nonnull String key, double defaultValue) {
+        // Accept both 2 and 2.0, TOML treats them as different types
+        Object value = config.get(key);
+        return value instanceof Number number ? number.doubleValue() : defaultValue;
+    }
+
     /**
      * Loads a list of strings from a TOML array.
      */
@@ -420,7 +624,65 @@ public class ConfigManager {
      */
     @Nullable
     public Integer getRtpRadius(@Nonnull String worldName) {
-        return rtpWorlds.get(worldName);
+        return getWorldSettings(worldName).rtpRadius();
+    }
+
+    /**
+     * Gets the names of the worlds with RTP enabled, from [rtp.worlds] and any [worlds.<name>] rtp-radius.
+     */
+    @Nonnull
+    public Set<String> getRtpWorlds() {
+        Set<String> worlds = new HashSet<>(rtpWorlds.keySet());
+        worlds.addAll(worldOverrides.keySet());
+        // An override can also disable a legacy world, so go by the resolved radius
+        worlds.removeIf(worldName -> getRtpRadius(worldName) == null);
+        return worlds;
+    }
+
+    public boolean isRtpPoolEnabled() {
+        return rtpPoolEnabled;
+    }
+
+    /**
+     * Gets the number of safe locations kept ready per RTP world.
+     */
+    public int getRtpPoolSize() {
+        return rtpPoolSize;
+    }
+
+    /**
+     * Gets the candidate columns checked per second per world while refilling the RTP pool.
+     */
+    public int getRtpPoolRefillPerSecond() {
+        return rtpPoolRefillPerSecond;
+    }
+
+    /**
+     * Gets how many candidate chunks an RTP search in a world loads at once.
+     */
+    public int getRtpProbeParallel(@Nonnull String worldName) {
+        return rtpProbeWorlds.getOrDefault(worldName, rtpProbeParallel);
+    }
+
+    /**
+     * Gets the limit on RTP candidate chunk loads in flight across all searches.
+     */
+    public int getRtpProbeMaxConcurrent() {
+        return rtpProbeMaxConcurrent;
+    }
+
+    /**
+     * Gets how many chunk-loading RTP searches may run at once per world.
+     */
+    public int getRtpQueueMaxSearches() {
+        return rtpQueueMaxSearches;
+    }
+
+    /**
+     * Gets the minimum distance in blocks between recent RTP destinations in a world.
+     */
+    public int getRtpQueueMinSpacing() {
+        return rtpQueueMinSpacing;
     }
 
     public boolean isMotdEnabled() {
@@ -498,4 +760,222 @@ public class ConfigManager {
     public List<String> getCreativeModeSpawnBlockWorlds() {
         return creativeModeSpawnBlockWorlds;
     }
+
+    public boolean isFloodEnabled() {
+        return floodEnabled;
+    }
+
+    @Nonnull
+    public FloodLimit getFloodDefaultLimit() {
+        return floodDefaultLimit;
+    }
+
+    @Nonnull
+    public List<FloodLimit> getFloodGroupLimits() {
+        return floodGroupLimits;
+    }
+
+    public int getFloodDuplicateWindow() {
+        return floodDuplicateWindow;
+    }
+
+    public int getFloodMuteAfter() {
+        return floodMuteAfter;
+    }
+
+    public int getFloodMuteDuration() {
+        return floodMuteDuration;
+    }
+
+    public boolean isChannelsEnabled() {
+        return channelsEnabled;
+    }
+
+    @Nonnull
+    public String getChannelDefault() {
+        return channelDefault;
+    }
+
+    public double getChannelLocalRadius() {
+        return channelLocalRadius;
+    }
+
+    /**
+     * Gets the chat prefix for a channel, or an empty string if it has none.
+     */
+    @Nonnull
+    public String getChannelPrefix(@Nonnull String channel) {
+        return channelPrefixes.getOrDefault(channel, "");
+    }
+
+    public boolean isMentionsEnabled() {
+        return mentionsEnabled;
+    }
+
+    @Nonnull
+    public String getMentionHighlight() {
+        return mentionHighlight;
+    }
+
+    /**
+     * Gets the sound played to mentioned players, or an empty string for none.
+     */
+    @Nonnull
+    public String getMentionSound() {
+        return mentionSound;
+    }
+
+    public boolean isAuditEnabled() {
+        return auditEnabled;
+    }
+
+    public int getAuditBufferSize() {
+        return auditBufferSize;
+    }
+
+    public int getAuditSegmentSizeMb() {
+        return auditSegmentSizeMb;
+    }
+
+    public int getAuditSegmentMinutes() {
+        return auditSegmentMinutes;
+    }
+
+    /**
+     * Gets how many days audit segments are kept (0 or less = forever).
+     */
+    public int getAuditRetentionDays() {
+        return auditRetentionDays;
+    }
+
+    /**
+     * Gets how many mails a mailbox keeps; the oldest are dropped first (0 or less = unlimited).
+     */
+    public int getMailMaxPerPlayer() {
+        return mailMaxPerPlayer;
+    }
+
+    /**
+     * Gets how many days mail is kept (0 or less = forever).
+     */
+    public int getMailRetentionDays() {
+        return mailRetentionDays;
+    }
+
+    public boolean isAnnouncementsEnabled() {
+        return announcementsEnabled;
+    }
+
+    /**
+     * Gets the seconds between announcements.
+     */
+    public int getAnnouncementsInterval() {
+        return announcementsInterval;
+    }
+
+    /**
+     * Checks if announcements are prefixed with the /shout prefix.
+     */
+    public boolean isAnnouncementsUseShoutPrefix() {
+        return announcementsUseShoutPrefix;
+    }
+
+    /**
+     * Gets the announcements in rotation order.
+     */
+    @Nonnull
+    public List<Announcement> getAnnouncements() {
+        return announcements;
+    }
+
+    /**
+     * Gets the resolved settings for a world: global defaults layered with its [worlds.<name>] overrides.
+     * Resolved once per world and cached until the next reload.
+     */
+    @Nonnull
+    public WorldSettings getWorldSettings(@Nonnull String worldName) {
+        ConcurrentHashMap<String, WorldSettings> resolved = resolvedWorldSettings;
+        WorldSettings settings = resolved.get(worldName);
+        if (settings == null) {
+            settings = resolved.computeIfAbsent(worldName, this::resolveWorldSettings);
+        }
+        return settings;
+    }
+
+    /**
+     * Builds the flat settings view for a world.
+     * The legacy per-world lists (creative-only-worlds, blocked-worlds, rtp.worlds, creative-mode-spawn-block.worlds)
+     * provide the defaults, and keys in [worlds.<name>] take precedence.
+     */
+    @Nonnull
+    private WorldSettings resolveWorldSettings(@Nonnull String worldName) {
+        TomlTable override = worldOverrides.get(worldName);
+
+        boolean spawnBlockDefault = creativeModeSpawnBlockEnabled
+                && (creativeModeSpawnBlockWorlds.isEmpty() || creativeModeSpawnBlockWorlds.contains(worldName));
+        Integer rtpRadius = rtpWorlds.get(worldName);
+
+        if (override == null) {
+            return new WorldSettings(
+                    disableBuilding,
+                    creativeOnlyWorlds.contains(worldName),
+                    itemPickupBlockedWorlds.contains(worldName),
+                    spawnBlockDefault,
+                    rtpRadius,
+                    teleportDelay,
+                    sleepPercentage,
+                    null
+            );
+        }
+
+        Long rtpOverride = getLongOverride(override, "rtp-radius");
+        if (rtpOverride != null) {
+            // A radius of 0 or less disables RTP in this world
+            rtpRadius = rtpOverride > 0 ? Math.toIntExact(rtpOverride) : null;
+        }
+
+        Long delayOverride = getLongOverride(override, "teleport-delay");
+        Long sleepOverride = getLongOverride(override, "sleep-percentage");
+
+        return new WorldSettings(
+                getBooleanOverride(override, "disable-building", disableBuilding),
+                getBooleanOverride(override, "creative-only", creativeOnlyWorlds.contains(worldName)),
+                getBooleanOverride(override, "item-pickup-blocked", itemPickupBlockedWorlds.contains(worldName)),
+                getBooleanOverride(override, "creative-mode-spawn-block", spawnBlockDefault),
+                rtpRadius,
+                delayOverride != null ? Math.toIntExact(delayOverride) : teleportDelay,
+                sleepOverride != null ? Math.toIntExact(sleepOverride) : sleepPercentage,
+                getStringOverride(override, "chat-format")
+        );
+    }
+
+    private boolean getBooleanOverride(@Nonnull TomlTable table, @Nonnull String key, boolean defaultValue) {
+        try {
+            Boolean value = table.getBoolean(List.of(key));
+            return value != null ? value : defaultValue;
+        } catch (Exception e) {
+            Log.warning("Invalid value for world setting '" + key + "': " + e.getMessage());
+            return defaultValue;
+        }
+    }
+
+    @Nullable
+    private Long getLongOverride(@Nonnull TomlTable table, @Nonnull String key) {
+        try {
+            return table.getLong(List.of(key));
+        } catch (Exception e) {
+            Log.warning("Invalid value for world setting '" + key + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Nullable
+    private String getStringOverride(@Nonnull TomlTable table, @Nonnull String key) {
+        try {
+            return table.getString(List.of(key));
+        } catch (Exception e) {
+            Log.warning("Invalid value for world setting '" + key + "': " + e.getMessage());
+            return null;
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package com.nhulston.essentials.util;
+
+import javax.annotation.Nonnull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * Registry of runtime metrics shown by /essentials stats.
+ * Managers register a named supplier once; values are only computed when someone asks for them.
+ */
+public final class Diagnostics {
+    // Sorted by name so related metrics (chat.*, rtp.*) are listed together
+    private static final Map<String, Supplier<Object>> SOURCES = new ConcurrentSkipListMap<>();
+
+    private Diagnostics() {}
+
+    /**
+     * Registers (or replaces) a metric.
+     */
+    public static void register(@Nonnull String name, @Nonnull Supplier<Object> source) {
+        SOURCES.put(name, source);
+    }
+
+    /**
+     * Removes a metric.
+     */
+    public static void unregister(@Nonnull String name) {
+        SOURCES.remove(name);
+    }
+
+    /**
+     * Computes the current value of every registered metric.
+     */
+    @Nonnull
+    public static Map<String, String> snapshot() {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Supplier<Object>> entry : SOURCES.entrySet()) {
+            String value;
+            try {
+                value = String.valueOf(entry.getValue().get());
+            } catch (Exception e) {
+                value = "error: " + e.getMessage();
+            }
+            values.put(entry.getKey(), value);
+        }
+        return values;
+    }
+
+    /**
+     * Formats nanoseconds as milliseconds with two decimals.
+     */
+    @Nonnull
+    public static String formatMillis(long nanos) {
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+}
@@ -1,22 +1,64 @@
 package com.nhulston.essentials.util;
 
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
 import org.tomlj.Toml;
 import org.tomlj.TomlParseResult;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 
+/**
+ * Loads messages.toml (the default bundle) and per-language bundles from messages/<language>.toml.
+ * Language bundles are compiled the first time a player using them needs a message and are shared by
+ * every player with that language. A key missing from a language bundle falls back to the default bundle.
+ */
 public class MessageManager {
+    private static final Pattern LANGUAGE_PATTERN = Pattern.compile("[a-zA-Z0-9_-]{1,16}");
+    // Stands for "no language set" in the player language cache, which can't hold null
+    private static final String DEFAULT_LANGUAGE = "";
+
     private final Path messagesPath;
-    private final Map<String, String> messages = new HashMap<>();
+    private final Path languagesFolder;
+    // Messages are compiled once at load; get() only renders
+    private volatile Map<String, PlaceholderEngine.Template> messages = Map.of();
+    private final Map<String, Map<String, PlaceholderEngine.Template>> bundles = new ConcurrentHashMap<>();
+    private final Map<UUID, String> playerLanguages = new ConcurrentHashMap<>();
+    private volatile Set<String> availableLanguages = Set.of();
+    private volatile Function<UUID, String> languageSource = _ -> null;
 
     public MessageManager(@Nonnull Path dataFolder) {
         this.messagesPath = dataFolder.resolve("messages.toml");
+        this.languagesFolder = dataFolder.resolve("messages");
         load();
+
+        Diagnostics.register("messages.bundles", () -> bundles.size() + 1);
+        Diagnostics.register("messages.resident-keys", () -> {
+            int keys = messages.size();
+            for (Map<String, PlaceholderEngine.Template> bundle : bundles.values()) {
+                keys += bundle.size();
+            }
+            return keys;
+        });
+        Diagnostics.register("messages.resident-kb", () -> {
+            long chars = countChars(messages);
+            for (Map<String, PlaceholderEngine.Template> bundle : bundles.values()) {
+                chars += countChars(bundle);
+            }
+            return chars * 2 / 1024;
+        });
     }
 
     private void load() {
@@ -26,59 +68,92 @@ public class MessageManager {
             TomlMigrationHelper.migrateToml(messagesPath, "messages.toml");
         }
 
+        Map<String, PlaceholderEngine.Template> loaded = loadBundle(messagesPath);
+        if (loaded != null) {
+            messages = loaded;
+            Log.info("Messages loaded!");
+        }
+
+        availableLanguages = findLanguages();
+    }
+
+    /**
+     * Parses and compiles a bundle file, or returns null if it can't be read.
+     */
+    @Nullable
+    private Map<String, PlaceholderEngine.Template> loadBundle(@Nonnull Path path) {
         try {
-            String content = TomlMigrationHelper.readWithBom(messagesPath);
+            String content = TomlMigrationHelper.readWithBom(path);
             TomlParseResult toml = Toml.parse(content);
-            
+
             if (toml.hasErrors()) {
-                toml.errors().forEach(error -> Log.error("Messages error: " + error.toString()));
-                return;
+                toml.errors().forEach(error -> Log.error("Messages error in " + path.getFileName() + ": " + error));
+                return null;
             }
 
-            loadMessagesRecursive(toml, "");
-            Log.info("Messages loaded!");
+            Map<String, PlaceholderEngine.Template> bundle = new HashMap<>();
+            loadMessagesRecursive(toml, "", bundle);
+            return bundle;
         } catch (Exception e) {
-            Log.error("Failed to load messages: " + e.getMessage());
+            Log.error("Failed to load messages from " + path.getFileName() + ": " + e.getMessage());
+            return null;
         }
     }
 
-    private void loadMessagesRecursive(@Nonnull TomlParseResult toml, @Nonnull String prefix) {
+    private void loadMessagesRecursive(@Nonnull TomlParseResult toml, @Nonnull String prefix,
+                                       @Nonnull Map<String, PlaceholderEngine.Template> bundle) {
         for (String key : toml.keySet()) {
             String fullKey = prefix.isEmpty() ? key : prefix + "." + key;
             if (toml.isTable(key)) {
                 var table = toml.getTable(key);
-                if (table != null) loadMessagesFromTable(table, fullKey);
+                if (table != null) loadMessagesFromTable(table, fullKey, bundle);
             } else {
                 String value = toml.getString(key);
-                if (value != null) messages.put(fullKey, value);
+                if (value != null) bundle.put(fullKey, PlaceholderEngine.compile(value));
             }
         }
     }
 
-    private void loadMessagesFromTable(@Nonnull org.tomlj.TomlTable table, @Nonnull String prefix) {
+    private void loadMessagesFromTable(@Nonnull org.tomlj.TomlTable table, @Nonnull String prefix,
+                                       @Nonnull Map<String, PlaceholderEngine.Template> bundle) {
         for (String key : table.keySet()) {
             String fullKey = prefix + "." + key;
             if (table.isTable(key)) {
                 var nested = table.getTable(key);
-                if (nested != null) loadMessagesFromTable(nested, fullKey);
+                if (nested != null) loadMessagesFromTable(nested, fullKey, bundle);
             } else {
                 String value = table.getString(key);
-                if (value != null) messages.put(fullKey, value);
+                if (value != null) bundle.put(fullKey, PlaceholderEngine.compile(value));
             }
         }
     }
 
+    /**
+     * Lists the languages in the messages folder (file names without .toml). Bundles aren't read here.
+     */
     @Nonnull
-    public String get(@Nonnull String key, @Nullable Map<String, String> placeholders) {
-        String message = messages.getOrDefault(key, "");
-        if (message.isEmpty()) return "";
-        
-        if (placeholders != null) {
-            for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-                message = message.replace("{" + entry.getKey() + "}", entry.getValue());
+    private Set<String> findLanguages() {
+        Set<String> languages = new TreeSet<>();
+        try {
+            Files.createDirectories(languagesFolder);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(languagesFolder, "*.toml")) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    String language = name.substring(0, name.length() - ".toml".length()).toLowerCase();
+                    if (LANGUAGE_PATTERN.matcher(language).matches()) {
+                        languages.add(language);
+                    }
+                }
             }
+        } catch (IOException e) {
+            Log.warning("Failed to list message languages: " + e.getMessage());
         }
-        return message;
+        return Set.copyOf(languages);
+    }
+
+    @Nonnull
+    public String get(@Nonnull String key, @Nullable Map<String, String> placeholders) {
+        return render(messages, key, placeholders);
     }
 
     @Nonnull
@@ -86,9 +161,139 @@ public class MessageManager {
         return get(key, null);
     }
 
+    /**
+     * Gets a message in a player's language.
+     */
+    @Nonnull
+    public String get(@Nullable UUID playerUuid, @Nonnull String key, @Nullable Map<String, String> placeholders) {
+        if (playerUuid == null) {
+            return get(key, placeholders);
+        }
+        return render(getBundle(playerUuid), key, placeholders);
+    }
+
+    @Nonnull
+    public String get(@Nonnull PlayerRef player, @Nonnull String key, @Nullable Map<String, String> placeholders) {
+        return get(player.getUuid(), key, placeholders);
+    }
+
+    @Nonnull
+    public String get(@Nonnull PlayerRef player, @Nonnull String key) {
+        return get(player.getUuid(), key, null);
+    }
+
+    /**
+     * Gets a message in the command sender's language (the default language for the console).
+     */
+    @Nonnull
+    public String get(@Nonnull CommandContext context, @Nonnull String key, @Nullable Map<String, String> placeholders) {
+        return get(context.isPlayer() ? context.sender().getUuid() : null, key, placeholders);
+    }
+
+    @Nonnull
+    public String get(@Nonnull CommandContext context, @Nonnull String key) {
+        return get(context, key, null);
+    }
+
+    @Nonnull
+    private String render(@Nonnull Map<String, PlaceholderEngine.Template> bundle, @Nonnull String key,
+                          @Nullable Map<String, String> placeholders) {
+        PlaceholderEngine.Template message = bundle.get(key);
+        if (message == null && bundle != messages) {
+            // Not translated: fall back to the default bundle for this key
+            message = messages.get(key);
+        }
+        if (message == null) return "";
+
+        // Values are substituted in one pass, so a value containing {key} is never expanded again
+        return message.render(null, placeholders);
+    }
+
+    /**
+     * Gets the language a player's messages are rendered in, or an empty string for the default messages.
+     * Players with the same language get the same text, so a message can be rendered once per language.
+     */
+    @Nonnull
+    public String getLanguage(@Nonnull UUID playerUuid) {
+        return playerLanguages.computeIfAbsent(playerUuid, uuid -> {
+            String saved = languageSource.apply(uuid);
+            return saved != null && availableLanguages.contains(saved) ? saved : DEFAULT_LANGUAGE;
+        });
+    }
+
+    /**
+     * Gets the bundle for a player's language, loading it on first use.
+     */
+    @Nonnull
+    private Map<String, PlaceholderEngine.Template> getBundle(@Nonnull UUID playerUuid) {
+        String language = getLanguage(playerUuid);
+        if (language.isEmpty()) {
+            return messages;
+        }
+
+        Map<String, PlaceholderEngine.Template> bundle = bundles.get(language);
+        if (bundle == null) {
+            bundle = bundles.computeIfAbsent(language, this::loadLanguage);
+        }
+        return bundle;
+    }
+
+    @Nonnull
+    private Map<String, PlaceholderEngine.Template> loadLanguage(@Nonnull String language) {
+        long start = System.nanoTime();
+        Map<String, PlaceholderEngine.Template> bundle = loadBundle(languagesFolder.resolve(language + ".toml"));
+        if (bundle == null) {
+            // Broken file: every key falls back to the default bundle
+            return Map.of();
+        }
+        Log.info("Loaded messages for language '" + language + "' (" + bundle.size() + " keys) in "
+                + (System.nanoTime() - start) / 1_000_000 + "ms");
+        return bundle;
+    }
+
+    /**
+     * Sets where a player's saved language is read from the first time they need a message.
+     */
+    public void setLanguageSource(@Nonnull Function<UUID, String> languageSource) {
+        this.languageSource = languageSource;
+    }
+
+    /**
+     * Gets the languages players can choose, besides the default messages.
+     */
+    @Nonnull
+    public Set<String> getAvailableLanguages() {
+        return availableLanguages;
+    }
+
+    /**
+     * Switches a player's language for this session. Pass null for the default messages.
+     * Saving the choice is up to the caller.
+     */
+    public void setPlayerLanguage(@Nonnull UUID playerUuid, @Nullable String language) {
+        playerLanguages.put(playerUuid, language != null ? language : DEFAULT_LANGUAGE);
+    }
+
+    /**
+     * Cleans up player data on disconnect.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        playerLanguages.remove(playerUuid);
+    }
+
     public void reload() {
         Log.info("Reloading messages...");
-        messages.clear();
+        // Language bundles load again when next needed
+        bundles.clear();
+        playerLanguages.clear();
         load();
     }
+
+    private static long countChars(@Nonnull Map<String, PlaceholderEngine.Template> bundle) {
+        long chars = 0;
+        for (Map.Entry<String, PlaceholderEngine.Template> entry : bundle.entrySet()) {
+            chars += entry.getKey().length() + entry.getValue().getSource().length();
+        }
+        return chars;
+    }
 }
@@ -0,0 +1,274 @@
+package com.nhulston.essentials.util;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared placeholder resolution for config formats and messages.
+ * Placeholders are written %name% or {name}. Templates are parsed once into literal text and call-sites bound
+ * to the named resolver, so rendering is a walk over precomputed parts into a reused builder. A placeholder
+ * used several times in one template is resolved once per render.
+ * Values passed to render (e.g. {message}) win over registered resolvers; anything unresolved is left as written.
+ * Other plugins can add their own placeholders with {@link #register}.
+ */
+public final class PlaceholderEngine {
+    /**
+     * Resolves a placeholder for a player.
+     */
+    @FunctionalInterface
+    public interface Resolver {
+        /**
+         * @param player The player the text is rendered for, or null if there is none (e.g. console messages)
+         * @return The value, or null to leave the placeholder as written
+         */
+        @Nullable
+        String resolve(@Nullable PlayerRef player);
+    }
+
+    /**
+     * A named resolver slot. Templates hold the binding, not the resolver, so registering later
+     * (or replacing a resolver) takes effect in templates that were already compiled.
+     */
+    private static final class Binding {
+        private volatile Resolver resolver;
+    }
+
+    private static final int MAX_CACHED_TEMPLATES = 1024;
+    private static final int MAX_BUILDER_CAPACITY = 8192;
+
+    private static final Map<String, Binding> bindings = new ConcurrentHashMap<>();
+    private static final Map<String, Template> templates = new ConcurrentHashMap<>();
+    private static final ThreadLocal<StringBuilder> builders = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    static {
+        register("player", player -> player != null ? player.getUsername() : null);
+        register("world", PlaceholderEngine::getWorldName);
+        register("online", player -> String.valueOf(Universe.get().getPlayers().size()));
+    }
+
+    private PlaceholderEngine() {}
+
+    /**
+     * Registers (or replaces) the resolver for a placeholder. Names are case-insensitive.
+     */
+    public static void register(@Nonnull String name, @Nonnull Resolver resolver) {
+        getBinding(name).resolver = resolver;
+    }
+
+    /**
+     * Removes the resolver for a placeholder; it is left as written from then on.
+     */
+    public static void unregister(@Nonnull String name) {
+        Binding binding = bindings.get(name.toLowerCase(Locale.ROOT));
+        if (binding != null) {
+            binding.resolver = null;
+        }
+    }
+
+    /**
+     * Compiles a template, reusing the compiled form of text seen before.
+     * Meant for text from config files, not for arbitrary player input.
+     */
+    @Nonnull
+    public static Template compile(@Nonnull String source) {
+        Template template = templates.get(source);
+        if (template == null) {
+            if (templates.size() >= MAX_CACHED_TEMPLATES) {
+                templates.clear();
+            }
+            template = templates.computeIfAbsent(source, Template::new);
+        }
+        return template;
+    }
+
+    /**
+     * Renders text for a player in one call.
+     */
+    @Nonnull
+    public static String render(@Nonnull String source, @Nullable PlayerRef player) {
+        return compile(source).render(player, null);
+    }
+
+    @Nonnull
+    private static Binding getBinding(@Nonnull String name) {
+        return bindings.computeIfAbsent(name.toLowerCase(Locale.ROOT), _ -> new Binding());
+    }
+
+    @Nullable
+    private static String getWorldName(@Nullable PlayerRef player) {
+        if (player == null) {
+            return null;
+        }
+        Ref<EntityStore> ref = player.getReference();
+        if (ref == null || !ref.isValid()) {
+            return null;
+        }
+        return ref.getStore().getExternalData().getWorld().getName();
+    }
+
+    /**
+     * A compiled template: literals[i] is followed by the value of slot slots[i], with one more literal at the end.
+     */
+    public static final class Template {
+        private final String source;
+        private final String[] literals;
+        private final int[] slots;
+        // Per slot: placeholder name (for render values), binding, and the text as written (when unresolved)
+        private final String[] names;
+        private final Binding[] slotBindings;
+        private final String[] tokens;
+
+        private Template(@Nonnull String source) {
+            this.source = source;
+
+            List<String> literalList = new ArrayList<>();
+            List<Integer> slotList = new ArrayList<>();
+            List<String> nameList = new ArrayList<>();
+            List<String> tokenList = new ArrayList<>();
+            Map<String, Integer> slotByName = new HashMap<>();
+
+            StringBuilder literal = new StringBuilder();
+            int i = 0;
+            while (i < source.length()) {
+                char c = source.charAt(i);
+                int end = c == '%' ? findEnd(source, i, '%') : c == '{' ? findEnd(source, i, '}') : -1;
+                if (end < 0) {
+                    literal.append(c);
+                    i++;
+                    continue;
+                }
+
+                String name = source.substring(i + 1, end).toLowerCase(Locale.ROOT);
+                Integer slot = slotByName.get(name);
+                if (slot == null) {
+                    slot = nameList.size();
+                    slotByName.put(name, slot);
+                    nameList.add(name);
+                    tokenList.add(source.substring(i, end + 1));
+                }
+                literalList.add(literal.toString());
+                literal.setLength(0);
+                slotList.add(slot);
+                i = end + 1;
+            }
+            literalList.add(literal.toString());
+
+            this.literals = literalList.toArray(new String[0]);
+            this.slots = slotList.stream().mapToInt(Integer::intValue).toArray();
+            this.names = nameList.toArray(new String[0]);
+            this.tokens = tokenList.toArray(new String[0]);
+            this.slotBindings = new Binding[names.length];
+            for (int slot = 0; slot < names.length; slot++) {
+                slotBindings[slot] = getBinding(names[slot]);
+            }
+        }
+
+        /**
+         * Gets the text the template was compiled from.
+         */
+        @Nonnull
+        public String getSource() {
+            return source;
+        }
+
+        /**
+         * Checks if the template has any placeholders.
+         */
+        public boolean hasPlaceholders() {
+            return slots.length > 0;
+        }
+
+        /**
+         * Gets the names of the template's placeholders, lowercase and each once.
+         */
+        @Nonnull
+        public List<String> getPlaceholderNames() {
+            return List.of(names);
+        }
+
+        @Nonnull
+        public String render(@Nullable PlayerRef player) {
+            return render(player, null);
+        }
+
+        /**
+         * Renders the template.
+         *
+         * @param player The player to resolve player placeholders for, or null
+         * @param values Values for placeholders by name, used before registered resolvers
+         */
+        @Nonnull
+        public String render(@Nullable PlayerRef player, @Nullable Map<String, String> values) {
+            return render(player, values, true);
+        }
+
+        /**
+         * Renders only the given values, leaving every other placeholder as written for a later render.
+         */
+        @Nonnull
+        public String renderValues(@Nonnull Map<String, String> values) {
+            return render(null, values, false);
+        }
+
+        @Nonnull
+        private String render(@Nullable PlayerRef player, @Nullable Map<String, String> values,
+                              boolean useResolvers) {
+            if (slots.length == 0) {
+                return source;
+            }
+
+            // Resolve every slot before touching the builder: a resolver may render a template itself
+            String[] resolved = new String[names.length];
+            for (int slot = 0; slot < names.length; slot++) {
+                String value = values != null ? values.get(names[slot]) : null;
+                if (value == null && useResolvers) {
+                    Resolver resolver = slotBindings[slot].resolver;
+                    value = resolver != null ? resolver.resolve(player) : null;
+                }
+                resolved[slot] = value != null ? value : tokens[slot];
+            }
+
+            StringBuilder builder = builders.get();
+            builder.setLength(0);
+            for (int part = 0; part < slots.length; part++) {
+                builder.append(literals[part]).append(resolved[slots[part]]);
+            }
+            builder.append(literals[slots.length]);
+
+            String result = builder.toString();
+            if (builder.capacity() > MAX_BUILDER_CAPACITY) {
+                // Don't keep a huge buffer alive for the thread after one long render
+                builders.remove();
+            }
+            return result;
+        }
+
+        /**
+         * Finds the closing delimiter of a placeholder starting at start, or -1 if it isn't one.
+         * Names are letters, digits, '_', '-' and '.'.
+         */
+        private static int findEnd(@Nonnull String source, int start, char close) {
+            for (int i = start + 1; i < source.length(); i++) {
+                char c = source.charAt(i);
+                if (c == close) {
+                    return i > start + 1 ? i : -1;
+                }
+                if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+    }
+}
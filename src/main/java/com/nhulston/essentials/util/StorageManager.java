@@ -13,7 +13,9 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -234,6 +236,14 @@ public class StorageManager {
         return usernameToUuid.get(username.toLowerCase());
     }
 
+    /**
+     * Gets the UUIDs of every player who has joined before.
+     */
+    @Nonnull
+    public Set<UUID> getKnownPlayers() {
+        return new HashSet<>(usernameToUuid.values());
+    }
+
     private void loadUuidIndex() {
         Path file = dataFolder.resolve("uuids.json");
         if (Files.exists(file)) {
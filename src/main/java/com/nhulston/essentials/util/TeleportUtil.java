@@ -6,8 +6,6 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.util.ChunkUtil;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.math.vector.Vector3f;
-import com.hypixel.hytale.protocol.BlockMaterial;
-import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import com.hypixel.hytale.server.core.modules.entity.teleport.Teleport;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
@@ -17,12 +15,20 @@ import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.managers.HeightmapCache;
 import com.nhulston.essentials.models.Spawn;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class TeleportUtil {
 
@@ -32,6 +38,18 @@ public final class TeleportUtil {
     /** Player height in blocks (need 2 air blocks for player to fit) */
     private static final int PLAYER_HEIGHT = 2;
 
+    /** Players a source world teleports per tick in a batch */
+    private static final int BATCH_PER_TICK = 20;
+
+    /** Delay between the slices of a batch (one server tick) */
+    private static final long BATCH_TICK_MILLIS = 50;
+
+    /** How far a batch spot's safe Y may be from the destination's before the spot is left out */
+    private static final int BATCH_MAX_Y_DRIFT = 3;
+
+    /** Batch spots: the destination and two rings around it, 2 blocks apart (25 spots) */
+    private static final int[][] BATCH_OFFSETS = buildBatchOffsets(2, 2);
+
     // Cardinal direction yaw values (in radians)
     private static final float YAW_NORTH = 0f;
     private static final float YAW_EAST = (float) Math.toRadians(-90);   // -π/2
@@ -135,13 +153,13 @@ public final class TeleportUtil {
                                              @Nonnull com.hypixel.hytale.server.core.command.system.CommandContext context,
                                              @Nonnull Runnable action) {
         if (targetPlayer == null) {
-            Msg.send(context, Essentials.getInstance().getMessageManager().get("commands.spawn.player-not-found"));
+            Msg.send(context, Essentials.getInstance().getMessageManager().get(context, "commands.spawn.player-not-found"));
             return;
         }
 
         Ref<EntityStore> ref = targetPlayer.getReference();
         if (ref == null || !ref.isValid()) {
-            Msg.send(context, Essentials.getInstance().getMessageManager().get("commands.spawn.player-not-found"));
+            Msg.send(context, Essentials.getInstance().getMessageManager().get(context, "commands.spawn.player-not-found"));
             return;
         }
 
@@ -200,8 +218,7 @@ public final class TeleportUtil {
                                       float yaw, float pitch) {
         World targetWorld = Universe.get().getWorld(worldName);
         if (targetWorld == null) {
-            MessageManager messages = Essentials.getInstance().getMessageManager();
-            return messages.get("teleport.world-not-loaded", Map.of("world", worldName));
+            return worldNotLoaded(store, ref, worldName);
         }
         double safeY = findSafeY(targetWorld, x, y, z);
         
@@ -213,6 +230,46 @@ public final class TeleportUtil {
         return null;
     }
 
+    /**
+     * Teleports an entity to a location that was preloaded (see {@link #preloadSafeY}), never loading a chunk here.
+     * The safe Y is found again in the resident chunk, so blocks placed since the preload are taken into account;
+     * the preloaded Y is only used if the chunk isn't loaded.
+     * @param preloadedY The safe Y resolved by the preload
+     * @return null if successful, error message if failed
+     */
+    @Nullable
+    public static String teleportResolved(@Nonnull Store<EntityStore> store, @Nonnull Ref<EntityStore> ref,
+                                          @Nonnull String worldName, double x, double y, double z,
+                                          double preloadedY, float yaw) {
+        World targetWorld = Universe.get().getWorld(worldName);
+        if (targetWorld == null) {
+            return worldNotLoaded(store, ref, worldName);
+        }
+
+        int blockX = (int) Math.floor(x);
+        int blockZ = (int) Math.floor(z);
+        WorldChunk chunk = targetWorld.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(blockX, blockZ));
+        double safeY = chunk != null
+                ? findSafeYInChunk(targetWorld, chunk, blockX, (int) Math.floor(y), blockZ, y)
+                : preloadedY;
+
+        Vector3d position = new Vector3d(x, safeY, z);
+        Vector3f rotation = new Vector3f(0, roundToCardinalYaw(yaw), 0);
+        store.putComponent(ref, Teleport.getComponentType(), new Teleport(targetWorld, position, rotation));
+        return null;
+    }
+
+    /**
+     * Gets the world-not-loaded error in the language of the entity being teleported.
+     */
+    @Nonnull
+    private static String worldNotLoaded(@Nonnull Store<EntityStore> store, @Nonnull Ref<EntityStore> ref,
+                                         @Nonnull String worldName) {
+        PlayerRef player = store.getComponent(ref, PlayerRef.getComponentType());
+        return Essentials.getInstance().getMessageManager().get(player != null ? player.getUuid() : null,
+                "teleport.world-not-loaded", Map.of("world", worldName));
+    }
+
     /**
      * Teleports one player to another player's location.
      * THREAD-SAFE: Handles cross-world teleports correctly.
@@ -342,52 +399,48 @@ public final class TeleportUtil {
             return y;
         }
 
-        // Search upward for a safe position (2 air blocks for player to fit)
-        for (int offsetY = 0; offsetY < MAX_SAFE_SEARCH; offsetY++) {
-            int checkY = blockY + offsetY;
-            
-            if (hasSpaceForPlayer(chunk, blockX, checkY, blockZ)) {
-                // Found safe position
-                return checkY;
-            }
-        }
-
-        // No safe position found, return original
-        return y;
+        return findSafeYInChunk(world, chunk, blockX, blockY, blockZ, y);
     }
 
     /**
-     * Checks if there's enough space for a player (2 blocks tall) at the given position.
+     * Starts loading the chunk at a destination and resolves a safe Y there, without blocking.
+     * Used during teleport countdowns so the teleport itself runs against a resident chunk.
+     *
+     * @return A future with the safe Y (or the original Y if none was found), or null if the world isn't loaded
      */
-    private static boolean hasSpaceForPlayer(@Nonnull WorldChunk chunk, int x, int y, int z) {
-        for (int i = 0; i < PLAYER_HEIGHT; i++) {
-            if (isSolidBlock(chunk, x, y + i, z)) {
-                return false;
-            }
+    @Nullable
+    public static CompletableFuture<Double> preloadSafeY(@Nonnull String worldName, double x, double y, double z) {
+        World world = Universe.get().getWorld(worldName);
+        if (world == null) {
+            return null;
         }
-        return true;
+
+        int blockX = (int) Math.floor(x);
+        int blockY = (int) Math.floor(y);
+        int blockZ = (int) Math.floor(z);
+        long chunkIndex = ChunkUtil.indexChunkFromBlock(blockX, blockZ);
+
+        return world.getChunkAsync(chunkIndex).thenApply(chunk -> {
+            if (chunk == null) {
+                return y;
+            }
+            return findSafeYInChunk(world, chunk, blockX, blockY, blockZ, y);
+        });
     }
 
-    /**
-     * Checks if a block at the given position is solid.
-     */
-    private static boolean isSolidBlock(@Nonnull WorldChunk chunk, int x, int y, int z) {
-        BlockType blockType = chunk.getBlockType(x, y, z);
-        if (blockType == null) {
-            return false; // No block = air = not solid
+    private static double findSafeYInChunk(@Nonnull World world, @Nonnull WorldChunk chunk,
+                                           int blockX, int blockY, int blockZ, double y) {
+        // Nothing solid above the surface, so from there up the player always fits
+        int topSolidY = Essentials.getInstance().getHeightmapCache().getTopSolidY(world, chunk, blockX, blockZ);
+        if (blockY > topSolidY) {
+            return blockY;
         }
-        BlockMaterial material = blockType.getMaterial();
-        return material == BlockMaterial.Solid;
-    }
 
-    /**
-     * Checks if a position contains fluid (water or lava).
-     * Fluids are stored separately from blocks in Hytale.
-     * TODO: Update when Hytale provides non-deprecated fluid API.
-     */
-    @SuppressWarnings("removal")
-    private static boolean hasFluid(@Nonnull WorldChunk chunk, int x, int y, int z) {
-        return chunk.getFluidId(x, y, z) > 0;
+        // Search upward for a safe position (2 air blocks for player to fit)
+        int safeY = ColumnScanner.findFit(chunk, blockX, blockY, blockZ, PLAYER_HEIGHT, MAX_SAFE_SEARCH);
+
+        // No safe position found, return original
+        return safeY != ColumnScanner.NONE ? safeY : y;
     }
 
     /**
@@ -411,7 +464,32 @@ public final class TeleportUtil {
             return null; // Chunk not loaded
         }
 
-        return findSafeRtpYFromChunk(chunk, blockX, blockZ);
+        return findSafeRtpYFromChunk(world, chunk, blockX, blockZ);
+    }
+
+    /**
+     * Finds a safe Y position for RTP only if the chunk is already loaded; never loads or generates it.
+     *
+     * @return Safe Y coordinate (one above ground), or null if unsafe or the chunk isn't loaded
+     */
+    @Nullable
+    public static Double findSafeRtpYIfLoaded(@Nonnull World world, double x, double z) {
+        int blockX = (int) Math.floor(x);
+        int blockZ = (int) Math.floor(z);
+
+        WorldChunk chunk = world.getChunkIfLoaded(ChunkUtil.indexChunkFromBlock(blockX, blockZ));
+        if (chunk == null) {
+            return null;
+        }
+        return findSafeRtpYFromChunk(world, chunk, blockX, blockZ);
+    }
+
+    /**
+     * Checks whether the chunk containing a position is loaded.
+     */
+    public static boolean isChunkLoaded(@Nonnull World world, double x, double z) {
+        long chunkIndex = ChunkUtil.indexChunkFromBlock((int) Math.floor(x), (int) Math.floor(z));
+        return world.getChunkIfLoaded(chunkIndex) != null;
     }
 
     /**
@@ -434,48 +512,30 @@ public final class TeleportUtil {
             if (chunk == null) {
                 return null; // Chunk not loaded
             }
-            return findSafeRtpYFromChunk(chunk, blockX, blockZ);
+            return findSafeRtpYFromChunk(world, chunk, blockX, blockZ);
         });
     }
 
     /**
      * Finds a safe Y position using an already-loaded chunk.
      * Internal helper for both sync and async methods.
+     * The highest solid block always has open space above it, so the column is safe unless it has
+     * no ground or there is water/lava anywhere above the ground.
      */
     @Nullable
-    private static Double findSafeRtpYFromChunk(@Nonnull WorldChunk chunk, int blockX, int blockZ) {
-        // Search from top down to find first solid block
-        int startY = 200;
-        int minY = 0;
-        
-        for (int checkY = startY; checkY >= minY; checkY--) {
-            // Check for fluid at this level - if found, abort this location
-            if (hasFluid(chunk, blockX, checkY, blockZ)) {
-                return null; // Hit water/lava, this location is no good
-            }
-            
-            // Check if this block is solid (ground)
-            if (isSolidBlock(chunk, blockX, checkY, blockZ)) {
-                // Found ground! Player spawns at checkY + 1
-                int spawnY = checkY + 1;
-                
-                // Verify there's space for player (2 blocks) and no fluid
-                if (hasFluid(chunk, blockX, spawnY, blockZ) || 
-                    hasFluid(chunk, blockX, spawnY + 1, blockZ)) {
-                    return null; // Fluid above ground
-                }
-                
-                // Make sure head space isn't blocked
-                if (isSolidBlock(chunk, blockX, spawnY + 1, blockZ)) {
-                    // Only 1 block of space, keep searching down
-                    continue;
-                }
-                
-                return (double) spawnY;
-            }
+    private static Double findSafeRtpYFromChunk(@Nonnull World world, @Nonnull WorldChunk chunk,
+                                                int blockX, int blockZ) {
+        HeightmapCache heightmap = Essentials.getInstance().getHeightmapCache();
+        int topSolidY = heightmap.getTopSolidY(world, chunk, blockX, blockZ);
+        if (topSolidY == HeightmapCache.NO_GROUND) {
+            return null; // No solid ground found
+        }
+        if (heightmap.hasFluidAboveGround(world, chunk, blockX, blockZ)) {
+            return null; // Hit water/lava, this location is no good
         }
 
-        return null; // No solid ground found
+        // Player spawns one block above the ground
+        return (double) (topSolidY + 1);
     }
 
     /**
@@ -565,4 +625,220 @@ public final class TeleportUtil {
         Teleport teleport = new Teleport(targetWorld, position, rotation);
         store.putComponent(playerRef, Teleport.getComponentType(), teleport);
     }
+
+    /**
+     * Teleports many players to one destination.
+     * The destination chunks are loaded asynchronously and the safe Y of a small ring of spots around the
+     * destination is resolved once for the whole batch; players are spread across those spots. Teleports are
+     * then applied on each source world's thread, {@value #BATCH_PER_TICK} players per tick per world.
+     * Like every teleport here, only the yaw is applied (rounded to a cardinal direction).
+     *
+     * @param players The players to teleport
+     * @param world The destination world
+     * @param backManager Saves each player's location for /back before they're moved, if not null
+     * @param onTeleported Called on the player's world thread after each teleport, if not null
+     * @return A future with the batch result, completed once every player has been handled
+     */
+    @Nonnull
+    public static CompletableFuture<BatchResult> teleportBatch(@Nonnull Collection<PlayerRef> players,
+                                                               @Nonnull World world, double x, double y, double z,
+                                                               float yaw,
+                                                               @Nullable com.nhulston.essentials.managers.BackManager backManager,
+                                                               @Nullable java.util.function.Consumer<PlayerRef> onTeleported) {
+        long start = System.nanoTime();
+        float roundedYaw = roundToCardinalYaw(yaw);
+
+        return resolveBatchSpots(world, x, y, z).thenCompose(spots -> {
+            long resolveNanos = System.nanoTime() - start;
+
+            // Each world applies the teleports of the players standing in it
+            Map<World, List<PlayerRef>> bySourceWorld = new HashMap<>();
+            for (PlayerRef player : players) {
+                Ref<EntityStore> ref = player.getReference();
+                if (ref != null && ref.isValid()) {
+                    bySourceWorld.computeIfAbsent(ref.getStore().getExternalData().getWorld(), _ -> new ArrayList<>())
+                            .add(player);
+                }
+            }
+
+            AtomicInteger teleported = new AtomicInteger();
+            List<CompletableFuture<Void>> groups = new ArrayList<>();
+            int ticks = 0;
+            int spotIndex = 0;
+            for (Map.Entry<World, List<PlayerRef>> entry : bySourceWorld.entrySet()) {
+                List<PlayerRef> group = entry.getValue();
+                List<Vector3d> positions = new ArrayList<>(group.size());
+                for (int i = 0; i < group.size(); i++) {
+                    positions.add(spots.get(spotIndex++ % spots.size()));
+                }
+
+                BatchGroup batchGroup = new BatchGroup(entry.getKey(), world, group, positions, roundedYaw,
+                        backManager, onTeleported, teleported);
+                batchGroup.applyFrom(0);
+                groups.add(batchGroup.done);
+                ticks = Math.max(ticks, (group.size() + BATCH_PER_TICK - 1) / BATCH_PER_TICK);
+            }
+
+            int worlds = bySourceWorld.size();
+            int batchTicks = ticks;
+            return CompletableFuture.allOf(groups.toArray(new CompletableFuture[0])).thenApply(v -> {
+                BatchResult result = new BatchResult(teleported.get(), players.size() - teleported.get(),
+                        worlds, spots.size(), batchTicks, resolveNanos, System.nanoTime() - start);
+                Log.info(String.format(Locale.ROOT,
+                        "Batch teleport to %s %.1f, %.1f, %.1f: %d players from %d worlds (%d skipped), "
+                                + "%d spots, resolved in %s, done in %s over %d ticks",
+                        world.getName(), x, y, z, result.teleported(), worlds, result.skipped(), spots.size(),
+                        Diagnostics.formatMillis(resolveNanos), Diagnostics.formatMillis(result.totalNanos()),
+                        batchTicks));
+                return result;
+            });
+        });
+    }
+
+    /**
+     * Loads the chunks around a batch destination and resolves the safe spots players are spread over.
+     * Spots whose safe Y is far from the destination's (inside a wall, over a drop) are left out.
+     */
+    @Nonnull
+    private static CompletableFuture<List<Vector3d>> resolveBatchSpots(@Nonnull World world,
+                                                                       double x, double y, double z) {
+        int blockX = (int) Math.floor(x);
+        int blockY = (int) Math.floor(y);
+        int blockZ = (int) Math.floor(z);
+
+        // Each chunk is requested once, however many spots fall in it
+        Map<Long, CompletableFuture<WorldChunk>> chunks = new HashMap<>();
+        for (int[] offset : BATCH_OFFSETS) {
+            long chunkIndex = ChunkUtil.indexChunkFromBlock(blockX + offset[0], blockZ + offset[1]);
+            chunks.computeIfAbsent(chunkIndex, world::getChunkAsync);
+        }
+
+        return CompletableFuture.allOf(chunks.values().toArray(new CompletableFuture[0])).thenApply(v -> {
+            List<Vector3d> spots = new ArrayList<>();
+            for (int[] offset : BATCH_OFFSETS) {
+                int spotX = blockX + offset[0];
+                int spotZ = blockZ + offset[1];
+                WorldChunk chunk = chunks.get(ChunkUtil.indexChunkFromBlock(spotX, spotZ)).join();
+                if (chunk == null) {
+                    continue;
+                }
+                double safeY = findSafeYInChunk(world, chunk, spotX, blockY, spotZ, y);
+                if (Math.abs(safeY - y) <= BATCH_MAX_Y_DRIFT) {
+                    spots.add(new Vector3d(x + offset[0], safeY, z + offset[1]));
+                }
+            }
+            if (spots.isEmpty()) {
+                spots.add(new Vector3d(x, y, z));
+            }
+            return spots;
+        });
+    }
+
+    /**
+     * Offsets of the center and the square rings around it, nearest first.
+     */
+    @Nonnull
+    private static int[][] buildBatchOffsets(int rings, int spacing) {
+        List<int[]> offsets = new ArrayList<>();
+        for (int ring = 0; ring <= rings; ring++) {
+            for (int dx = -ring; dx <= ring; dx++) {
+                for (int dz = -ring; dz <= ring; dz++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dz)) == ring) {
+                        offsets.add(new int[]{dx * spacing, dz * spacing});
+                    }
+                }
+            }
+        }
+        return offsets.toArray(new int[0][]);
+    }
+
+    /**
+     * Outcome of a batch teleport.
+     *
+     * @param teleported Players that were moved
+     * @param skipped Players that went offline or were unavailable
+     * @param worlds Source worlds the players were in
+     * @param spots Safe spots the players were spread over
+     * @param ticks Most ticks any source world spent applying its share
+     * @param resolveNanos Time spent loading the destination and resolving spots
+     * @param totalNanos Time from the call until the last teleport was applied
+     */
+    public record BatchResult(int teleported, int skipped, int worlds, int spots, int ticks,
+                              long resolveNanos, long totalNanos) {}
+
+    /**
+     * The players of one source world in a batch, applied a slice per tick.
+     */
+    private static final class BatchGroup {
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final World sourceWorld;
+        private final World destination;
+        private final List<PlayerRef> players;
+        private final List<Vector3d> positions;
+        private final float yaw;
+        private final com.nhulston.essentials.managers.BackManager backManager;
+        private final java.util.function.Consumer<PlayerRef> onTeleported;
+        private final AtomicInteger teleported;
+
+        BatchGroup(@Nonnull World sourceWorld, @Nonnull World destination, @Nonnull List<PlayerRef> players,
+                   @Nonnull List<Vector3d> positions, float yaw,
+                   @Nullable com.nhulston.essentials.managers.BackManager backManager,
+                   @Nullable java.util.function.Consumer<PlayerRef> onTeleported,
+                   @Nonnull AtomicInteger teleported) {
+            this.sourceWorld = sourceWorld;
+            this.destination = destination;
+            this.players = players;
+            this.positions = positions;
+            this.yaw = yaw;
+            this.backManager = backManager;
+            this.onTeleported = onTeleported;
+            this.teleported = teleported;
+        }
+
+        void applyFrom(int from) {
+            sourceWorld.execute(() -> {
+                try {
+                    int end = Math.min(from + BATCH_PER_TICK, players.size());
+                    for (int i = from; i < end; i++) {
+                        PlayerRef player = players.get(i);
+                        // One bad player must not strand the rest of the batch
+                        try {
+                            apply(player, positions.get(i));
+                        } catch (Exception e) {
+                            Log.error("Batch teleport failed for " + player.getUsername() + ": " + e.getMessage());
+                        }
+                    }
+                    if (end >= players.size()) {
+                        done.complete(null);
+                        return;
+                    }
+                    // The rest on a later tick
+                    Essentials.getInstance().getTimerWheel().schedule(() -> applyFrom(end),
+                            BATCH_TICK_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (Exception e) {
+                    Log.error("Batch teleport failed in " + sourceWorld.getName() + ": " + e.getMessage());
+                    done.complete(null);
+                }
+            });
+        }
+
+        private void apply(@Nonnull PlayerRef player, @Nonnull Vector3d position) {
+            Ref<EntityStore> ref = player.getReference();
+            // Gone, or moved to another world since the batch was grouped
+            if (ref == null || !ref.isValid() || ref.getStore().getExternalData().getWorld() != sourceWorld) {
+                return;
+            }
+
+            if (backManager != null) {
+                saveBackLocation(player, backManager);
+            }
+            Teleport teleport = new Teleport(destination, position.clone(), new Vector3f(0, yaw, 0));
+            ref.getStore().putComponent(ref, Teleport.getComponentType(), teleport);
+            teleported.incrementAndGet();
+
+            if (onTeleported != null) {
+                onTeleported.accept(player);
+            }
+        }
+    }
 }
@@ -0,0 +1,265 @@
+package com.nhulston.essentials.util;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timer wheel shared by the plugin for short timers (teleport countdowns, TPA expiry).
+ * One thread advances the wheel every tick and expires a whole bucket at once.
+ * Scheduling and cancelling are O(1): new timers reach the wheel thread through a queue, and a cancelled
+ * timer is unlinked from its bucket on the next tick instead of sitting there until its deadline.
+ */
+public final class TimerWheel {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    // Power of two so the bucket is a mask away; one revolution is 25.6 seconds
+    private static final int WHEEL_SIZE = 512;
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    private static final int STATE_PENDING = 0;
+    private static final int STATE_CANCELLED = 1;
+    private static final int STATE_EXPIRED = 2;
+
+    private final Bucket[] wheel = new Bucket[WHEEL_SIZE];
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder lagNanos = new LongAdder();
+    private final long startTime = System.nanoTime();
+    private final Thread thread;
+    private volatile long maxLagNanos = 0;
+    private volatile boolean running = true;
+    // Only touched by the wheel thread
+    private long tick = 0;
+
+    public TimerWheel() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new Bucket();
+        }
+
+        thread = new Thread(this::run, "Essentials-Timer");
+        thread.setDaemon(true);
+        thread.start();
+
+        Diagnostics.register("timers.pending", pending::get);
+        Diagnostics.register("timers.expired", expired::sum);
+        Diagnostics.register("timers.lag-avg", () -> {
+            long count = expired.sum();
+            return Diagnostics.formatMillis(count == 0 ? 0 : lagNanos.sum() / count);
+        });
+        Diagnostics.register("timers.lag-max", () -> Diagnostics.formatMillis(maxLagNanos));
+    }
+
+    /**
+     * Schedules a task to run on the wheel thread. Keep it short: it holds up every other timer.
+     */
+    @Nonnull
+    public Timeout schedule(@Nonnull Runnable task, long delay, @Nonnull TimeUnit unit) {
+        return schedule(null, task, delay, unit);
+    }
+
+    /**
+     * Schedules a task to be handed to an executor (usually the world the timer belongs to) once it's due.
+     * @param executor Where the task runs, or null to run it on the wheel thread
+     */
+    @Nonnull
+    public Timeout schedule(@Nullable Executor executor, @Nonnull Runnable task, long delay, @Nonnull TimeUnit unit) {
+        long deadline = System.nanoTime() - startTime + Math.max(0, unit.toNanos(delay));
+        Timeout timeout = new Timeout(this, executor, task, deadline);
+        if (!running) {
+            // Shut down: the timer never fires
+            timeout.state.set(STATE_CANCELLED);
+            return timeout;
+        }
+        pending.incrementAndGet();
+        added.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Gets the number of timers that are scheduled and neither expired nor cancelled.
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the wheel thread. Timers that haven't fired are dropped.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    private void run() {
+        while (running) {
+            long wait = (tick + 1) * TICK_NANOS - (System.nanoTime() - startTime);
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+
+            unlinkCancelled();
+            transferAdded();
+            wheel[(int) (tick & MASK)].expire(System.nanoTime() - startTime);
+            tick++;
+        }
+
+        added.clear();
+        cancelled.clear();
+        pending.set(0);
+    }
+
+    private void unlinkCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferAdded() {
+        Timeout timeout;
+        while ((timeout = added.poll()) != null) {
+            if (timeout.state.get() != STATE_PENDING) {
+                // Cancelled before it reached the wheel
+                continue;
+            }
+            long due = timeout.deadline / TICK_NANOS;
+            timeout.remainingRounds = (due - tick) / WHEEL_SIZE;
+            // Anything already overdue goes in the current bucket, which is expired right after this
+            long slot = Math.max(due, tick);
+            wheel[(int) (slot & MASK)].add(timeout);
+        }
+    }
+
+    private void fire(@Nonnull Timeout timeout, long now) {
+        if (!timeout.state.compareAndSet(STATE_PENDING, STATE_EXPIRED)) {
+            return;
+        }
+        pending.decrementAndGet();
+        expired.increment();
+
+        long lag = now - timeout.deadline;
+        lagNanos.add(lag);
+        if (lag > maxLagNanos) {
+            maxLagNanos = lag;
+        }
+
+        try {
+            if (timeout.executor != null) {
+                timeout.executor.execute(timeout.task);
+            } else {
+                timeout.task.run();
+            }
+        } catch (Exception e) {
+            Log.error("Timer task failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A scheduled timer.
+     */
+    public static final class Timeout {
+        private final TimerWheel owner;
+        private final Executor executor;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+        // Only touched by the wheel thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(@Nonnull TimerWheel owner, @Nullable Executor executor, @Nonnull Runnable task, long deadline) {
+            this.owner = owner;
+            this.executor = executor;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the timer.
+         * @return true if it was cancelled, false if it already fired or was cancelled before
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+                return false;
+            }
+            owner.pending.decrementAndGet();
+            owner.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == STATE_EXPIRED;
+        }
+    }
+
+    /**
+     * Doubly linked list of the timers in one slot, so a cancelled timer can be unlinked directly.
+     */
+    private final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(@Nonnull Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(@Nonnull Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        void expire(long now) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    fire(timeout, now);
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+}
@@ -4,25 +4,42 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Helper for TOML file migration - adds missing sections from default resource.
+ * A content-hash stamp (default resource hash + user file hash) is kept per file,
+ * so the section diff only runs when either side changed since the last startup.
  */
 public class TomlMigrationHelper {
     private static final Pattern SECTION_PATTERN = Pattern.compile("^\\[([a-zA-Z0-9_.-]+)]\\s*$");
+    private static final String STAMP_FILE = ".migration-stamps";
+    private static final Object STAMP_LOCK = new Object();
 
     public static void migrateToml(@Nonnull Path userPath, @Nonnull String resourceName) {
-        String defaultContent = loadFromResources(resourceName);
-        if (defaultContent == null) return;
+        byte[] defaultBytes = loadBytesFromResources(resourceName);
+        if (defaultBytes == null) return;
 
         try {
-            String userContent = readWithBom(userPath);
+            byte[] userBytes = Files.readAllBytes(userPath);
+            Path stampPath = userPath.resolveSibling(STAMP_FILE);
+            String stampKey = userPath.getFileName().toString();
+            String stamp = hash(defaultBytes) + ":" + hash(userBytes);
+
+            // Fast path: neither the bundled defaults nor the user's file changed
+            if (stamp.equals(readStamps(stampPath).getProperty(stampKey))) return;
+
+            String defaultContent = new String(defaultBytes, StandardCharsets.UTF_8);
+            String userContent = decodeWithBom(userBytes);
             Set<String> userSections = findSections(userContent);
             Map<String, String> defaultSections = extractSections(defaultContent);
             
@@ -31,7 +48,10 @@ public class TomlMigrationHelper {
                 if (!userSections.contains(section)) missing.add(section);
             }
             
-            if (missing.isEmpty()) return;
+            if (missing.isEmpty()) {
+                writeStamp(stampPath, stampKey, stamp);
+                return;
+            }
             
             StringBuilder newContent = new StringBuilder(userContent);
             if (!userContent.endsWith("\n")) newContent.append("\n");
@@ -43,6 +63,8 @@ public class TomlMigrationHelper {
             
             Files.writeString(userPath, newContent.toString(), StandardCharsets.UTF_8);
             Log.info("Migrated " + userPath.getFileName() + " with " + missing.size() + " new section(s).");
+
+            writeStamp(stampPath, stampKey, hash(defaultBytes) + ":" + hash(Files.readAllBytes(userPath)));
         } catch (Exception e) {
             Log.warning("Migration skipped for " + userPath.getFileName() + ": " + e.getMessage());
         }
@@ -64,22 +86,64 @@ public class TomlMigrationHelper {
 
     @Nonnull
     public static String readWithBom(@Nonnull Path path) throws IOException {
-        byte[] bytes = Files.readAllBytes(path);
+        return decodeWithBom(Files.readAllBytes(path));
+    }
+
+    @Nonnull
+    private static String decodeWithBom(@Nonnull byte[] bytes) {
         return (bytes.length >= 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF)
             ? new String(bytes, 3, bytes.length - 3, StandardCharsets.UTF_8)
             : new String(bytes, StandardCharsets.UTF_8);
     }
 
     @Nullable
-    private static String loadFromResources(@Nonnull String resourceName) {
+    private static byte[] loadBytesFromResources(@Nonnull String resourceName) {
         try (InputStream is = TomlMigrationHelper.class.getClassLoader().getResourceAsStream(resourceName)) {
             if (is == null) return null;
-            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+            return is.readAllBytes();
         } catch (IOException e) {
             return null;
         }
     }
 
+    @Nonnull
+    private static String hash(@Nonnull byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is required on every JVM, fall back to a weaker hash just in case
+            return Integer.toHexString(Arrays.hashCode(bytes));
+        }
+    }
+
+    @Nonnull
+    private static Properties readStamps(@Nonnull Path stampPath) {
+        Properties stamps = new Properties();
+        synchronized (STAMP_LOCK) {
+            if (Files.exists(stampPath)) {
+                try (Reader reader = Files.newBufferedReader(stampPath, StandardCharsets.UTF_8)) {
+                    stamps.load(reader);
+                } catch (IOException e) {
+                    Log.warning("Failed to read " + STAMP_FILE + ": " + e.getMessage());
+                }
+            }
+        }
+        return stamps;
+    }
+
+    private static void writeStamp(@Nonnull Path stampPath, @Nonnull String key, @Nonnull String stamp) {
+        // Config and messages may migrate concurrently during startup, so read-modify-write under one lock
+        synchronized (STAMP_LOCK) {
+            Properties stamps = readStamps(stampPath);
+            stamps.setProperty(key, stamp);
+            try (Writer writer = Files.newBufferedWriter(stampPath, StandardCharsets.UTF_8)) {
+                stamps.store(writer, "Essentials migration stamps - delete to force a migration check");
+            } catch (IOException e) {
+                Log.warning("Failed to write " + STAMP_FILE + ": " + e.getMessage());
+            }
+        }
+    }
+
     private static Set<String> findSections(@Nonnull String content) {
         Set<String> sections = new LinkedHashSet<>();
         for (String line : content.split("\n")) {
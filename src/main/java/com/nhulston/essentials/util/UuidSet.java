@@ -0,0 +1,105 @@
+package com.nhulston.essentials.util;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable hash set of UUIDs stored as raw longs with open addressing.
+ * Lookups hash the two halves of the UUID directly: no boxing, no entry objects, no pointer chasing.
+ * Meant for small sets read far more often than they change; to change one, build a new set.
+ */
+public final class UuidSet {
+    public static final UuidSet EMPTY = new UuidSet(List.of());
+
+    // Slot i holds (keys[2i], keys[2i + 1]); (0, 0) marks an empty slot
+    private final long[] keys;
+    private final int mask;
+    private final int size;
+    // The all-zero UUID can't be stored in a slot since it marks empty ones
+    private final boolean containsZero;
+
+    public UuidSet(@Nonnull Collection<UUID> uuids) {
+        // Keep the table at most half full so probe sequences stay short
+        int capacity = Integer.highestOneBit(Math.max(4, uuids.size() * 2) - 1) << 1;
+        keys = new long[capacity * 2];
+        mask = capacity - 1;
+
+        int count = 0;
+        boolean zero = false;
+        for (UUID uuid : uuids) {
+            long most = uuid.getMostSignificantBits();
+            long least = uuid.getLeastSignificantBits();
+            if (most == 0 && least == 0) {
+                if (!zero) {
+                    zero = true;
+                    count++;
+                }
+                continue;
+            }
+            if (insert(most, least)) {
+                count++;
+            }
+        }
+        size = count;
+        containsZero = zero;
+    }
+
+    public boolean contains(@Nonnull UUID uuid) {
+        return contains(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    public boolean contains(long most, long least) {
+        if (most == 0 && least == 0) {
+            return containsZero;
+        }
+        if (size == 0) {
+            return false;
+        }
+
+        int slot = hash(most, least) & mask;
+        while (true) {
+            long slotMost = keys[slot * 2];
+            long slotLeast = keys[slot * 2 + 1];
+            if (slotMost == most && slotLeast == least) {
+                return true;
+            }
+            if (slotMost == 0 && slotLeast == 0) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private boolean insert(long most, long least) {
+        int slot = hash(most, least) & mask;
+        while (true) {
+            long slotMost = keys[slot * 2];
+            long slotLeast = keys[slot * 2 + 1];
+            if (slotMost == most && slotLeast == least) {
+                return false;
+            }
+            if (slotMost == 0 && slotLeast == 0) {
+                keys[slot * 2] = most;
+                keys[slot * 2 + 1] = least;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static int hash(long most, long least) {
+        // Random UUIDs are already well mixed; fold both halves and spread the high bits down
+        long h = most ^ (least * 0x9E3779B97F4A7C15L);
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,34 @@
+package com.nhulston.essentials.util;
+
+import javax.annotation.Nullable;
+
+/**
+ * Flat, fully resolved view of the per-world settings.
+ * Built once per world by ConfigManager from the global defaults plus any [worlds.<name>] overrides,
+ * so hot paths (block events, teleports, chat) can answer with a single field read.
+ *
+ * @param buildingDisabled        Block breaking/placing is disabled in this world
+ * @param creativeOnlyBreaking    Players must be in Creative mode to break blocks
+ * @param itemPickupBlocked       Item pickup is blocked in this world
+ * @param creativeModeSpawnBlocked /spawn is blocked for players in Creative mode
+ * @param rtpRadius               RTP radius from 0,0, or null if RTP is not enabled in this world
+ * @param teleportDelay           Teleport countdown in seconds
+ * @param sleepPercentage         Percentage of sleeping players needed to skip the night
+ * @param chatFormat              Chat format overriding the rank formats, or null to use [chat.formats]
+ */
+public record WorldSettings(boolean buildingDisabled,
+                            boolean creativeOnlyBreaking,
+                            boolean itemPickupBlocked,
+                            boolean creativeModeSpawnBlocked,
+                            @Nullable Integer rtpRadius,
+                            int teleportDelay,
+                            int sleepPercentage,
+                            @Nullable String chatFormat) {
+
+    /**
+     * Checks if RTP is enabled in this world.
+     */
+    public boolean isRtpEnabled() {
+        return rtpRadius != null;
+    }
+}
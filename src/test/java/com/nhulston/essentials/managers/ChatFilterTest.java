@@ -0,0 +1,136 @@
+package com.nhulston.essentials.managers;
+
+import com.nhulston.essentials.managers.ChatFilterManager.Action;
+import com.nhulston.essentials.managers.ChatFilterManager.Result;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatFilterTest {
+    // The default link patterns from filter.toml
+    private static final List<String> LINKS =
+            List.of("*://*", "*www.*", "*.com", "*.net", "*.org", "*.gg", "*.io", "*.me");
+
+    private static ChatFilter words(Action action, String... entries) {
+        ChatFilter.Builder builder = new ChatFilter.Builder();
+        for (String entry : entries) {
+            assertTrue(builder.addWord(entry, action), entry);
+        }
+        return builder.build('*');
+    }
+
+    private static ChatFilter links() {
+        ChatFilter.Builder builder = new ChatFilter.Builder();
+        for (String entry : LINKS) {
+            assertTrue(builder.addLink(entry, Action.BLOCK), entry);
+        }
+        return builder.build('*');
+    }
+
+    @Test
+    void blocksWordsSplitByPunctuation() {
+        ChatFilter filter = words(Action.BLOCK, "bad");
+
+        assertTrue(filter.filter("bad").blocked());
+        assertTrue(filter.filter("b.a.d").blocked());
+        assertTrue(filter.filter("b.a-d").blocked());
+        assertTrue(filter.filter("so b:a/d!").blocked());
+        assertTrue(filter.filter("b&ca&#ff0000d").blocked());
+    }
+
+    @Test
+    void matchesWholeWordsOnlyUnlessWildcarded() {
+        assertFalse(words(Action.BLOCK, "ass").filter("class").blocked());
+        assertTrue(words(Action.BLOCK, "*ass*").filter("class").blocked());
+        assertTrue(words(Action.BLOCK, "go away").filter("GO   away now").blocked());
+    }
+
+    @Test
+    void foldsLeetspeakInWords() {
+        ChatFilter filter = words(Action.BLOCK, "bad", "hello", "shit");
+
+        assertTrue(filter.filter("b4d").blocked());
+        assertTrue(filter.filter("H3LL0 there").blocked());
+        assertTrue(filter.filter("$h1t").blocked());
+    }
+
+    @Test
+    void leavesPlainNumbersAlone() {
+        ChatFilter filter = words(Action.REPLACE, "ass", "bob");
+
+        assertEquals("I have 455 coins", filter.filter("I have 455 coins").text());
+        assertEquals("call 808", filter.filter("call 808").text());
+        assertEquals("v3.10 is out", filter.filter("v3.10 is out").text());
+        assertEquals("*** and ***", filter.filter("4ss and b0b").text());
+    }
+
+    @Test
+    void masksOnlyTheMatchedLettersAndDigits() {
+        ChatFilter filter = words(Action.REPLACE, "bad");
+
+        Result result = filter.filter("so b.a.d, really");
+        assertEquals("so *.*.*, really", result.text());
+        assertFalse(result.blocked());
+        assertEquals("not b4d!", words(Action.REPLACE, "good").filter("not b4d!").text());
+        assertEquals("not ***!", filter.filter("not b4d!").text());
+    }
+
+    @Test
+    void returnsTheSameTextWhenNothingMatches() {
+        String text = "nothing to see here";
+
+        assertSame(text, words(Action.REPLACE, "bad").filter(text).text());
+        assertSame(text, words(Action.FLAG, "see").filter(text).text());
+        assertTrue(words(Action.FLAG, "see").filter(text).flagged());
+    }
+
+    @Test
+    void blocksLinks() {
+        ChatFilter filter = links();
+
+        assertTrue(filter.filter("join example.com").blocked());
+        assertTrue(filter.filter("google.c0m").blocked());
+        assertTrue(filter.filter("see https://site.xyz/page").blocked());
+        assertTrue(filter.filter("www.something.xyz").blocked());
+        assertTrue(filter.filter("discord.gg/abc").blocked());
+    }
+
+    @Test
+    void doesNotTreatNumbersAsLinks() {
+        ChatFilter filter = links();
+
+        assertFalse(filter.filter("v3.10").blocked());
+        assertFalse(filter.filter("update 1.10 is here").blocked());
+        assertFalse(filter.filter("it costs 3.50").blocked());
+        assertFalse(filter.filter("the community is great").blocked());
+        assertFalse(filter.filter("time is 10:10").blocked());
+    }
+
+    @Test
+    void keepsWordAndLinkRulesApart() {
+        ChatFilter.Builder builder = new ChatFilter.Builder();
+        builder.addWord("bad", Action.BLOCK);
+        builder.addLink("*.com", Action.FLAG);
+        ChatFilter filter = builder.build('*');
+
+        // Link separators don't split words for the word pass
+        assertTrue(filter.filter("b.a.d").blocked());
+        // And words are still found next to links
+        Result result = filter.filter("visit bad.com");
+        assertTrue(result.blocked());
+    }
+
+    @Test
+    void ignoresEntriesWithNothingLeft() {
+        ChatFilter.Builder builder = new ChatFilter.Builder();
+
+        assertFalse(builder.addWord("*", Action.BLOCK));
+        assertFalse(builder.addWord(" .-! ", Action.BLOCK));
+        assertTrue(builder.build('*').isEmpty());
+    }
+}
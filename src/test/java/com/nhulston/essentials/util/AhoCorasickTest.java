@@ -0,0 +1,171 @@
+package com.nhulston.essentials.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AhoCorasickTest {
+
+    private record Match(int patternId, int start, int end) {}
+
+    private static List<Match> scan(AhoCorasick automaton, String text) {
+        List<Match> matches = new ArrayList<>();
+        automaton.scan(text.toCharArray(), text.length(), (id, start, end) -> {
+            matches.add(new Match(id, start, end));
+            return true;
+        });
+        return matches;
+    }
+
+    /**
+     * Every occurrence of every non-empty pattern, ordered like the automaton reports them:
+     * by end position, then longest first.
+     */
+    private static List<Match> naiveScan(List<String> patterns, String text) {
+        List<Match> matches = new ArrayList<>();
+        for (int end = 1; end <= text.length(); end++) {
+            Set<String> seen = new HashSet<>();
+            for (int start = 0; start < end; start++) {
+                String candidate = text.substring(start, end);
+                int id = patterns.indexOf(candidate);
+                if (id != -1 && seen.add(candidate)) {
+                    matches.add(new Match(id, start, end));
+                }
+            }
+        }
+        return matches;
+    }
+
+    @Test
+    void findsOverlappingMatches() {
+        AhoCorasick automaton = new AhoCorasick(List.of("he", "she", "his", "hers"));
+
+        assertEquals(List.of(new Match(1, 1, 4), new Match(0, 2, 4), new Match(3, 2, 6)),
+                scan(automaton, "ushers"));
+    }
+
+    @Test
+    void findsRepeatedAndNestedMatches() {
+        AhoCorasick automaton = new AhoCorasick(List.of("a", "aa", "aaa"));
+
+        assertEquals(naiveScan(List.of("a", "aa", "aaa"), "aaaa"), scan(automaton, "aaaa"));
+        assertEquals(9, scan(automaton, "aaaa").size());
+    }
+
+    @Test
+    void duplicatePatternsReportFirstId() {
+        AhoCorasick automaton = new AhoCorasick(List.of("bad", "worse", "bad"));
+
+        assertEquals(List.of(new Match(0, 4, 7)), scan(automaton, "not bad"));
+    }
+
+    @Test
+    void emptyPatternsAreIgnoredButKeepTheirIds() {
+        AhoCorasick automaton = new AhoCorasick(List.of("", "x"));
+
+        assertEquals(List.of(new Match(1, 0, 1), new Match(1, 2, 3)), scan(automaton, "xyx"));
+        assertEquals(List.of(), scan(new AhoCorasick(List.of()), "anything"));
+    }
+
+    @Test
+    void scansOnlyTheGivenLength() {
+        AhoCorasick automaton = new AhoCorasick(List.of("end"));
+        char[] text = "no end".toCharArray();
+        List<Match> matches = new ArrayList<>();
+
+        automaton.scan(text, 5, (id, start, end) -> matches.add(new Match(id, start, end)));
+
+        assertEquals(List.of(), matches);
+    }
+
+    @Test
+    void stopsWhenHandlerReturnsFalse() {
+        AhoCorasick automaton = new AhoCorasick(List.of("a"));
+        int[] calls = {0};
+
+        automaton.scan("aaaa".toCharArray(), 4, (id, start, end) -> ++calls[0] < 2);
+
+        assertEquals(2, calls[0]);
+    }
+
+    @Test
+    void matchesOnlyIdenticalCharsSoCallersNormalize() {
+        AhoCorasick automaton = new AhoCorasick(List.of("bad"));
+
+        // No folding inside the automaton
+        assertEquals(List.of(), scan(automaton, "BAD"));
+        // Normalizing text and patterns the same way is what makes them match
+        assertEquals(List.of(new Match(0, 0, 3)), scan(automaton, "BAD".toLowerCase(Locale.ROOT)));
+    }
+
+    @Test
+    void matchesNonAsciiPatterns() {
+        List<String> patterns = List.of("über", "grüße", "日本");
+        AhoCorasick automaton = new AhoCorasick(patterns);
+        String text = "grüße über 日本語";
+
+        assertEquals(naiveScan(patterns, text), scan(automaton, text));
+        assertEquals(3, scan(automaton, text).size());
+    }
+
+    @Test
+    void matchesNaiveSearchOnRandomInput() {
+        // A small alphabet forces shared prefixes, long failure chains and states with many edges
+        String alphabet = "abcdefghijklmnoé日";
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            List<String> patterns = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                patterns.add(randomString(random, alphabet, 1 + random.nextInt(4)));
+            }
+            String text = randomString(random, alphabet, 200);
+
+            assertEquals(naiveScan(patterns, text), scan(new AhoCorasick(patterns), text), "round " + round);
+        }
+    }
+
+    @Test
+    void scansTenThousandPatternsQuickly() {
+        Random random = new Random(7);
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            patterns.add(randomString(random, "abcdefghijklmnopqrstuvwxyz", 4 + random.nextInt(6)));
+        }
+        AhoCorasick automaton = new AhoCorasick(patterns);
+
+        // 10k chat-length messages
+        List<char[]> messages = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            messages.add(randomString(random, "abcdefghijklmnopqrstuvwxyz ", 100).toCharArray());
+        }
+
+        long[] matches = {0};
+        assertTimeout(Duration.ofSeconds(5), () -> {
+            for (char[] message : messages) {
+                automaton.scan(message, message.length, (id, start, end) -> {
+                    matches[0]++;
+                    return true;
+                });
+            }
+        });
+        assertTrue(matches[0] > 0);
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
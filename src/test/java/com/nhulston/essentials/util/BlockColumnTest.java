@@ -0,0 +1,238 @@
+package com.nhulston.essentials.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockColumnTest {
+    private static final int HEIGHT = 128;
+    private static final int SECTION_SIZE = 16;
+
+    /**
+     * A column backed by an array, counting how often each block is read.
+     */
+    private static final class StubColumn implements BlockColumn {
+        final boolean[] solid = new boolean[HEIGHT];
+        final boolean[] airSections = new boolean[HEIGHT / SECTION_SIZE];
+        final int[] reads = new int[HEIGHT];
+
+        StubColumn solid(int fromY, int toY) {
+            for (int y = fromY; y <= toY; y++) {
+                solid[y] = true;
+            }
+            return this;
+        }
+
+        /**
+         * Flags every section without a solid block as air, like a fully loaded chunk would.
+         */
+        StubColumn markAirSections() {
+            for (int section = 0; section < airSections.length; section++) {
+                airSections[section] = isAllAir(section);
+            }
+            return this;
+        }
+
+        boolean isAllAir(int section) {
+            for (int y = section * SECTION_SIZE; y < (section + 1) * SECTION_SIZE; y++) {
+                if (solid[y]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int maxReads() {
+            int max = 0;
+            for (int count : reads) {
+                max = Math.max(max, count);
+            }
+            return max;
+        }
+
+        int totalReads() {
+            int total = 0;
+            for (int count : reads) {
+                total += count;
+            }
+            return total;
+        }
+
+        @Override
+        public int height() {
+            return HEIGHT;
+        }
+
+        @Override
+        public int sectionSize() {
+            return SECTION_SIZE;
+        }
+
+        @Override
+        public boolean isAirSection(int y) {
+            return airSections[y / SECTION_SIZE];
+        }
+
+        @Override
+        public boolean isSolid(int y) {
+            reads[y]++;
+            return solid[y];
+        }
+    }
+
+    private static int naiveTopSolid(StubColumn column, int fromY) {
+        for (int y = Math.min(fromY, HEIGHT - 1); y >= 0; y--) {
+            if (column.solid[y]) {
+                return y;
+            }
+        }
+        return BlockColumn.NONE;
+    }
+
+    private static int naiveFit(StubColumn column, int fromY, int height, int maxSearch) {
+        for (int start = fromY; start < fromY + maxSearch; start++) {
+            boolean fits = true;
+            for (int y = start; y < start + height; y++) {
+                if (y >= 0 && y < HEIGHT && column.solid[y]) {
+                    fits = false;
+                    break;
+                }
+            }
+            if (fits) {
+                return start;
+            }
+        }
+        return BlockColumn.NONE;
+    }
+
+    @Test
+    void findsTopSolidBelowOpenSky() {
+        StubColumn column = new StubColumn().solid(0, 40).markAirSections();
+
+        assertEquals(40, column.findTopSolid(HEIGHT - 1));
+        assertEquals(20, column.findTopSolid(20));
+        // Everything above the ground is air, so only the ground's section is read
+        assertTrue(column.totalReads() <= SECTION_SIZE * 2);
+    }
+
+    @Test
+    void findsNoTopSolidInAnEmptyColumn() {
+        StubColumn column = new StubColumn().markAirSections();
+
+        assertEquals(BlockColumn.NONE, column.findTopSolid(HEIGHT - 1));
+        assertEquals(0, column.totalReads());
+    }
+
+    @Test
+    void findsFitAboveGround() {
+        StubColumn column = new StubColumn().solid(0, 40).markAirSections();
+
+        assertEquals(41, column.findFit(10, 2, 128));
+        assertEquals(45, column.findFit(45, 2, 128));
+    }
+
+    @Test
+    void findsFitInACave() {
+        // Ground to 60 with a two block gap at 30-31
+        StubColumn column = new StubColumn().solid(0, 29).solid(32, 60).markAirSections();
+
+        assertEquals(30, column.findFit(20, 2, 128));
+        // Three blocks don't fit in the gap
+        assertEquals(61, column.findFit(20, 3, 128));
+    }
+
+    @Test
+    void treatsAboveTheWorldAsOpen() {
+        StubColumn column = new StubColumn().solid(0, HEIGHT - 1).markAirSections();
+
+        assertEquals(HEIGHT, column.findFit(HEIGHT - 5, 2, 10));
+    }
+
+    @Test
+    void givesUpAfterMaxSearch() {
+        StubColumn column = new StubColumn().solid(0, 80).markAirSections();
+
+        assertEquals(BlockColumn.NONE, column.findFit(10, 2, 50));
+        assertEquals(81, column.findFit(10, 2, 72));
+    }
+
+    @Test
+    void matchesNaiveScanOnRandomColumns() {
+        Random random = new Random(42);
+        for (int round = 0; round < 2000; round++) {
+            StubColumn column = randomColumn(random);
+            int fromY = random.nextInt(HEIGHT + 20) - 10;
+            int height = 1 + random.nextInt(4);
+            int maxSearch = 1 + random.nextInt(HEIGHT);
+
+            assertEquals(naiveTopSolid(column, fromY), column.findTopSolid(fromY), "round " + round);
+            assertEquals(naiveFit(column, fromY, height, maxSearch), column.findFit(fromY, height, maxSearch),
+                    "round " + round);
+        }
+    }
+
+    @Test
+    void readsEachBlockAtMostOnce() {
+        Random random = new Random(7);
+        for (int round = 0; round < 500; round++) {
+            StubColumn column = randomColumn(random);
+            column.findFit(random.nextInt(HEIGHT), 1 + random.nextInt(4), HEIGHT);
+            assertTrue(column.maxReads() <= 1, "findFit, round " + round);
+
+            column = randomColumn(random);
+            column.findTopSolid(random.nextInt(HEIGHT));
+            assertTrue(column.maxReads() <= 1, "findTopSolid, round " + round);
+        }
+    }
+
+    @Test
+    void scansFasterThanNaiveOnSurfaceColumns() {
+        // Typical overworld: solid up to a surface, open sky above
+        Random random = new Random(3);
+        List<StubColumn> columns = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            columns.add(new StubColumn().solid(0, 30 + random.nextInt(40)).markAirSections());
+        }
+
+        int naiveReads = 0;
+        for (StubColumn column : columns) {
+            // A per-Y scan reads every block from the top down to the surface
+            naiveReads += HEIGHT - 1 - naiveTopSolid(column, HEIGHT - 1) + 1;
+            column.findTopSolid(HEIGHT - 1);
+        }
+        int reads = 0;
+        for (StubColumn column : columns) {
+            reads += column.totalReads();
+        }
+        assertTrue(reads * 2 < naiveReads, reads + " reads vs " + naiveReads + " naive");
+
+        assertTimeout(Duration.ofSeconds(2), () -> {
+            for (int i = 0; i < 200; i++) {
+                for (StubColumn column : columns) {
+                    column.findFit(column.findTopSolid(HEIGHT - 1) + 1, 2, HEIGHT);
+                }
+            }
+        });
+    }
+
+    private static StubColumn randomColumn(Random random) {
+        StubColumn column = new StubColumn();
+        int ground = random.nextInt(HEIGHT);
+        double density = random.nextDouble();
+        for (int y = 0; y < HEIGHT; y++) {
+            column.solid[y] = y < ground && random.nextDouble() < density;
+        }
+        // A chunk doesn't have to flag every all-air section, so only some are
+        for (int section = 0; section < column.airSections.length; section++) {
+            column.airSections[section] = column.isAllAir(section) && random.nextBoolean();
+        }
+        return column;
+    }
+}